@@ -1,17 +1,49 @@
 package me.summykai.timetuner;
 
+import me.summykai.timetuner.api.DefaultTimeTunerService;
+import me.summykai.timetuner.api.TimeFormat;
+import me.summykai.timetuner.api.TimeTunerService;
+import me.summykai.timetuner.cluster.ClusterManager;
 import me.summykai.timetuner.commands.CommandManager;
+import me.summykai.timetuner.control.AdminSocket;
+import me.summykai.timetuner.control.ControlQueue;
+import me.summykai.timetuner.history.HistoryRecorder;
 import me.summykai.timetuner.commands.TimeTunerCommandExecutor;
 import me.summykai.timetuner.listeners.PlayerListener;
+import me.summykai.timetuner.listeners.RegionListener;
+import me.summykai.timetuner.listeners.WorldListener;
+import me.summykai.timetuner.players.PersonalClock;
+import me.summykai.timetuner.players.PersonalClockManager;
+import me.summykai.timetuner.regions.RegionIndex;
+import me.summykai.timetuner.replay.InputRecorder;
+import me.summykai.timetuner.regions.TimeRegion;
+import me.summykai.timetuner.scheduler.TaskScheduler;
+import me.summykai.timetuner.state.RuntimeOverlay;
+import me.summykai.timetuner.scheduler.TaskSchedulers;
+import me.summykai.timetuner.schedule.ScheduleManager;
+import me.summykai.timetuner.time.ExternalChangePolicy;
+import me.summykai.timetuner.time.OverflowStrategy;
+import me.summykai.timetuner.time.SeasonCycle;
+import me.summykai.timetuner.time.SpeedCurve;
+import me.summykai.timetuner.time.Time;
+import me.summykai.timetuner.time.TimeAdjuster;
+import me.summykai.timetuner.time.TimeTrigger;
+import me.summykai.timetuner.time.TriggerIndex;
 import me.summykai.timetuner.time.WorldTimeManager;
+import me.summykai.timetuner.utils.ErrorHandler;
 import me.summykai.timetuner.utils.MessageManager;
+import me.summykai.timetuner.utils.WorldNameIndex;
 import org.bukkit.GameRule;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,6 +51,10 @@ import java.util.concurrent.ConcurrentHashMap;
 public class TimeTuner extends JavaPlugin {
     private final Map<UUID, WorldTimeManager> worldManagers;
     private final Map<String, WorldConfig> worldConfigs;
+    private final Map<String, SpeedProfile> profiles;
+    private final Map<String, List<String>> worldGroups;
+    private final Map<String, TimeFormat> timeFormats;
+    private final WorldNameIndex worldNameIndex;
     private double daySpeed;
     private double nightSpeed;
     private boolean debugMode;
@@ -27,45 +63,133 @@ public class TimeTuner extends JavaPlugin {
     private boolean useRequiredPlayers;
     private int requiredPlayers;
     private int tickFrequency;
+    private double maxSpeed;
+    private OverflowStrategy overflowStrategy;
+    private int personalClockBatchSize;
+    private long personalClockResendThreshold;
+    private long overflowThreshold;
     private boolean autoPauseEmpty;
     private long lastConfigReload;
+    private volatile long currentTick; // Server ticks elapsed since the update task started
+    private TaskScheduler taskScheduler;
     private static final long CONFIG_RELOAD_COOLDOWN = 1000; // 1 second cooldown
 
     private MessageManager messageManager;
     private CommandManager commandManager;
+    private TimeTunerService service;
+    private ScheduleManager scheduleManager;
+    private PersonalClockManager personalClockManager;
+    private RegionListener regionListener;
+    private ControlQueue controlQueue;
+    private AdminSocket adminSocket;
+    private ClusterManager clusterManager;
+    private RuntimeOverlay runtimeOverlay;
+    private HistoryRecorder historyRecorder;
+    private InputRecorder inputRecorder;
 
     public TimeTuner() {
         this.worldManagers = new ConcurrentHashMap<>();
         this.worldConfigs = new ConcurrentHashMap<>();
+        this.profiles = new ConcurrentHashMap<>();
+        this.worldGroups = new ConcurrentHashMap<>();
+        this.timeFormats = new ConcurrentHashMap<>();
+        this.worldNameIndex = new WorldNameIndex();
         this.lastConfigReload = 0;
     }
 
     @Override
     public void onEnable() {
+        ErrorHandler.start();
         saveDefaultConfig();
+        taskScheduler = TaskSchedulers.create(this);
+        runtimeOverlay = new RuntimeOverlay(this);
+        runtimeOverlay.load();
+        inputRecorder = new InputRecorder(this);
         messageManager = new MessageManager(this);
         commandManager = new CommandManager(this, messageManager);
 
+        List<String> worldNames = new ArrayList<>();
+        getServer().getWorlds().forEach(world -> worldNames.add(world.getName()));
+        worldNameIndex.rebuild(worldNames);
+
         TimeTunerCommandExecutor executor = new TimeTunerCommandExecutor(this, commandManager);
         getCommand("timetuner").setExecutor(executor);
         getCommand("timetuner").setTabCompleter(executor);
+        getServer().getPluginManager().registerEvents(executor, this);
 
         getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
+        getServer().getPluginManager().registerEvents(new WorldListener(this), this);
+
+        personalClockManager = new PersonalClockManager(this);
+        getServer().getPluginManager().registerEvents(personalClockManager, this);
+        regionListener = new RegionListener(this);
+        getServer().getPluginManager().registerEvents(regionListener, this);
+
+        scheduleManager = new ScheduleManager(this);
+        clusterManager = new ClusterManager(this);
 
         loadConfigValues();
+        historyRecorder = new HistoryRecorder(this);
+        historyRecorder.open(); // Before the managers, which register their worlds
         initializeWorldManagers();
+        scheduleManager.load();
+
+        controlQueue = new ControlQueue(this);
+        service = new DefaultTimeTunerService(this);
+        getServer().getServicesManager().register(TimeTunerService.class, service, this, ServicePriority.Normal);
+
+        adminSocket = new AdminSocket(this);
+        adminSocket.load();
+        clusterManager.load();
+
+        // Start time update task on the global region (the main thread on Paper)
+        taskScheduler.runGlobalTimer(() -> {
+            currentTick += tickFrequency;
+            controlQueue.drain();
+            worldManagers.values().forEach(WorldTimeManager::updateTime);
+            personalClockManager.tick();
+            clusterManager.tick();
+            inputRecorder.tick(currentTick);
+        }, 0L, tickFrequency);
+
+        // Wall-clock schedule only needs second resolution
+        taskScheduler.runGlobalTimer(scheduleManager::tick, 20L, 20L);
+    }
 
-        // Start time update task
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                worldManagers.values().forEach(WorldTimeManager::updateTime);
-            }
-        }.runTaskTimer(this, 0L, tickFrequency);
+    @Override
+    public void onDisable() {
+        getServer().getServicesManager().unregisterAll(this);
+        if (adminSocket != null) {
+            adminSocket.close();
+        }
+        if (clusterManager != null) {
+            clusterManager.close();
+        }
+        if (runtimeOverlay != null) {
+            runtimeOverlay.close();
+        }
+        if (historyRecorder != null) {
+            historyRecorder.close();
+        }
+        if (inputRecorder != null) {
+            inputRecorder.stop();
+        }
+        if (controlQueue != null) {
+            controlQueue.cancelPending();
+        }
+        if (taskScheduler != null) {
+            taskScheduler.cancelAll();
+        }
+        worldManagers.clear();
+        ErrorHandler.shutdown(); // Last, so messages logged while disabling are written too
     }
 
     public void loadConfigValues() {
         reloadConfig();
+
+        // Speeds changed at runtime take precedence over config.yml
+        runtimeOverlay.configure(getConfig());
+        runtimeOverlay.mergeInto(getConfig());
         
         // Load global speed settings
         ConfigurationSection globalSpeedsSection = getConfig().getConfigurationSection("global-speeds");
@@ -99,13 +223,45 @@ public class TimeTuner extends JavaPlugin {
             tickFrequency = Math.max(1, advancedSection.getInt("tick-frequency", 1));
             debugMode = advancedSection.getBoolean("debug-mode", false);
             autoPauseEmpty = advancedSection.getBoolean("auto-pause-empty", false);
+            maxSpeed = Math.max(1.0, advancedSection.getDouble("max-speed", 1000.0));
+            ErrorHandler.configure(
+                advancedSection.getInt("log-repeat-limit", 5),
+                advancedSection.getLong("log-repeat-window-seconds", 60) * 1000L
+            );
         } else {
             // Fallback for backward compatibility
             tickFrequency = Math.max(1, getConfig().getInt("tick-frequency", 1));
             debugMode = getConfig().getBoolean("debug-mode", false);
             autoPauseEmpty = getConfig().getBoolean("auto-pause-empty", false);
+            maxSpeed = 1000.0;
+        }
+
+        // Load safety settings
+        ConfigurationSection safetySection = getConfig().getConfigurationSection("safety");
+        boolean overflowProtection = safetySection != null
+            ? safetySection.getBoolean("overflow-protection", true)
+            : getConfig().getBoolean("overflow-protection", true);
+        overflowStrategy = OverflowStrategy.NONE;
+        overflowThreshold = TimeAdjuster.DEFAULT_OVERFLOW_THRESHOLD;
+        if (overflowProtection) {
+            overflowStrategy = OverflowStrategy.MOON_CYCLE;
+            if (safetySection != null) {
+                String strategyName = safetySection.getString("overflow-strategy", "moon-cycle");
+                try {
+                    overflowStrategy = OverflowStrategy.valueOf(strategyName.toUpperCase().replace('-', '_'));
+                } catch (IllegalArgumentException e) {
+                    ErrorHandler.logConfigError("safety.overflow-strategy", "moon-cycle");
+                }
+                overflowThreshold = Math.max(TimeAdjuster.MOON_CYCLE,
+                    safetySection.getLong("overflow-threshold-days", TimeAdjuster.DEFAULT_OVERFLOW_THRESHOLD / Time.DAY_LENGTH) * Time.DAY_LENGTH);
+            }
         }
 
+        // Load personal clock settings
+        ConfigurationSection clocksSection = getConfig().getConfigurationSection("personal-clocks");
+        personalClockBatchSize = clocksSection != null ? Math.max(1, clocksSection.getInt("players-per-update", 100)) : 100;
+        personalClockResendThreshold = clocksSection != null ? Math.max(1, clocksSection.getLong("resend-threshold", 20)) : 20;
+
         // Load world-specific configurations
         ConfigurationSection worldsSection = getConfig().getConfigurationSection("worlds");
         worldConfigs.clear();
@@ -119,13 +275,74 @@ public class TimeTuner extends JavaPlugin {
                         worldSection.getDouble("night-speed", nightSpeed),
                         worldSection.getBoolean("enabled", true),
                         worldSection.getBoolean("allow-bed-explosions", false),
-                        worldSection.getBoolean("allow-thunderstorm-sleep", true)
+                        worldSection.getBoolean("allow-thunderstorm-sleep", true),
+                        loadTriggers(worldName, worldSection.getConfigurationSection("triggers")),
+                        loadRealTimeZone(worldName, worldSection.getConfigurationSection("real-time-sync")),
+                        loadSpeedCurve(worldName, worldSection.getConfigurationSection("speed-curve")),
+                        loadSeasons(worldName, worldSection.getConfigurationSection("seasons")),
+                        loadExternalChangePolicy(worldName, worldSection.getString("external-time-change")),
+                        loadRegions(worldName, worldSection.getConfigurationSection("regions"))
                     );
                     worldConfigs.put(worldName.toLowerCase(), config);
                 }
             }
         }
 
+        // Load named speed profiles
+        ConfigurationSection profilesSection = getConfig().getConfigurationSection("profiles");
+        profiles.clear();
+
+        if (profilesSection != null) {
+            for (String profileName : profilesSection.getKeys(false)) {
+                ConfigurationSection profileSection = profilesSection.getConfigurationSection(profileName);
+                if (profileSection != null) {
+                    profiles.put(profileName.toLowerCase(), new SpeedProfile(
+                        profileSection.getDouble("day-speed", daySpeed),
+                        profileSection.getDouble("night-speed", nightSpeed)
+                    ));
+                }
+            }
+        }
+
+        // Load world groups for selectors
+        ConfigurationSection groupsSection = getConfig().getConfigurationSection("world-groups");
+        worldGroups.clear();
+
+        if (groupsSection != null) {
+            for (String groupName : groupsSection.getKeys(false)) {
+                List<String> members = groupsSection.getStringList(groupName);
+                if (members.isEmpty()) {
+                    ErrorHandler.logConfigError("world-groups." + groupName, "group skipped");
+                    continue;
+                }
+                worldGroups.put(groupName.toLowerCase(), Collections.unmodifiableList(new ArrayList<>(members)));
+            }
+        }
+
+        // Load named time formats for the service API; rebuilt so cached texts use the new templates
+        ConfigurationSection formatsSection = getConfig().getConfigurationSection("time-formats");
+        timeFormats.clear();
+
+        if (formatsSection != null) {
+            String dayName = formatsSection.getString("phase-names.day", "Day");
+            String nightName = formatsSection.getString("phase-names.night", "Night");
+            ConfigurationSection templates = formatsSection.getConfigurationSection("formats");
+            if (templates != null) {
+                for (String formatName : templates.getKeys(false)) {
+                    String template = templates.getString(formatName);
+                    if (template == null) {
+                        ErrorHandler.logConfigError("time-formats.formats." + formatName, "format skipped");
+                        continue;
+                    }
+                    try {
+                        timeFormats.put(formatName.toLowerCase(), new TimeFormat(formatName, template, dayName, nightName));
+                    } catch (IllegalArgumentException e) {
+                        ErrorHandler.logConfigError("time-formats.formats." + formatName, e.getMessage() + ", format skipped");
+                    }
+                }
+            }
+        }
+
         if (debugMode) {
             getLogger().info(() -> String.format(
                 "Loaded configuration - Day Speed: %.2f, Night Speed: %.2f, Sleep Skip: %b",
@@ -134,6 +351,167 @@ public class TimeTuner extends JavaPlugin {
         }
     }
 
+    private TriggerIndex loadTriggers(String worldName, ConfigurationSection triggersSection) {
+        if (triggersSection == null) {
+            return TriggerIndex.EMPTY;
+        }
+
+        List<TimeTrigger> triggers = new ArrayList<>();
+        for (String name : triggersSection.getKeys(false)) {
+            ConfigurationSection triggerSection = triggersSection.getConfigurationSection(name);
+            if (triggerSection == null) {
+                continue;
+            }
+            long time = triggerSection.getLong("time", -1);
+            if (time < 0 || time >= Time.DAY_LENGTH) {
+                ErrorHandler.logConfigError("worlds." + worldName + ".triggers." + name + ".time", "trigger skipped");
+                continue;
+            }
+            triggers.add(new TimeTrigger(
+                name,
+                time,
+                triggerSection.getStringList("commands"),
+                triggerSection.getBoolean("event", false)
+            ));
+        }
+
+        if (debugMode && !triggers.isEmpty()) {
+            getLogger().info(() -> String.format("Loaded %d time triggers for world %s", triggers.size(), worldName));
+        }
+        return new TriggerIndex(triggers);
+    }
+
+    private SpeedCurve loadSpeedCurve(String worldName, ConfigurationSection curveSection) {
+        if (curveSection == null) {
+            return null;
+        }
+
+        Map<Long, Double> keyframes = new HashMap<>();
+        for (String key : curveSection.getKeys(false)) {
+            try {
+                keyframes.put(Long.parseLong(key), curveSection.getDouble(key));
+            } catch (NumberFormatException e) {
+                ErrorHandler.logConfigError("worlds." + worldName + ".speed-curve." + key, "keyframe skipped");
+            }
+        }
+
+        try {
+            SpeedCurve curve = SpeedCurve.compile(keyframes);
+            if (debugMode) {
+                getLogger().info(() -> String.format(
+                    "Compiled speed curve for world %s: %d keyframes, %.0f ticks per day",
+                    worldName, keyframes.size(), curve.getCycleTicks()
+                ));
+            }
+            return curve;
+        } catch (IllegalArgumentException e) {
+            ErrorHandler.logConfigError("worlds." + worldName + ".speed-curve", "day/night speeds (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    private SeasonCycle loadSeasons(String worldName, ConfigurationSection seasonsSection) {
+        if (seasonsSection == null || !seasonsSection.getBoolean("enabled", true)) {
+            return null;
+        }
+
+        try {
+            return SeasonCycle.create(
+                seasonsSection.getInt("cycle-days", 96),
+                seasonsSection.getDouble("summer-daylight", 0.65),
+                seasonsSection.getDouble("winter-daylight", 0.35),
+                seasonsSection.getInt("summer-peak-day", 36),
+                seasonsSection.getStringList("names")
+            );
+        } catch (IllegalArgumentException e) {
+            ErrorHandler.logConfigError("worlds." + worldName + ".seasons", "no seasons (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    private RegionIndex loadRegions(String worldName, ConfigurationSection regionsSection) {
+        if (regionsSection == null) {
+            return RegionIndex.EMPTY;
+        }
+
+        List<TimeRegion> regions = new ArrayList<>();
+        for (String name : regionsSection.getKeys(false)) {
+            ConfigurationSection regionSection = regionsSection.getConfigurationSection(name);
+            if (regionSection == null) {
+                continue;
+            }
+            String path = "worlds." + worldName + ".regions." + name;
+
+            PersonalClock.Mode mode;
+            double value;
+            if (regionSection.contains("time")) {
+                mode = PersonalClock.Mode.FIXED;
+                value = regionSection.getLong("time", 0);
+            } else if (regionSection.contains("speed")) {
+                mode = PersonalClock.Mode.SPEED;
+                value = Math.max(0, regionSection.getDouble("speed", 1.0));
+            } else {
+                ErrorHandler.logConfigError(path, "region skipped (needs time or speed)");
+                continue;
+            }
+            int priority = regionSection.getInt("priority", 0);
+
+            TimeRegion region;
+            String shape = regionSection.getString("shape", "cuboid").toLowerCase();
+            if (shape.equals("radius")) {
+                List<Double> center = regionSection.getDoubleList("center");
+                double radius = regionSection.getDouble("radius", 0);
+                if (center.size() != 2 || radius <= 0) {
+                    ErrorHandler.logConfigError(path, "region skipped (needs center [x, z] and a radius)");
+                    continue;
+                }
+                double minY = regionSection.contains("min-y") ? regionSection.getDouble("min-y") : Double.NEGATIVE_INFINITY;
+                double maxY = regionSection.contains("max-y") ? regionSection.getDouble("max-y") + 1 : Double.POSITIVE_INFINITY;
+                region = TimeRegion.radius(name, center.get(0), center.get(1), radius, minY, maxY, mode, value, priority);
+            } else {
+                List<Double> min = regionSection.getDoubleList("min");
+                List<Double> max = regionSection.getDoubleList("max");
+                if (min.size() != max.size() || (min.size() != 2 && min.size() != 3)) {
+                    ErrorHandler.logConfigError(path, "region skipped (needs min and max as [x, y, z] or [x, z])");
+                    continue;
+                }
+                region = min.size() == 3
+                    ? TimeRegion.cuboid(name, min.get(0), min.get(1), min.get(2), max.get(0), max.get(1), max.get(2), mode, value, priority)
+                    : TimeRegion.cuboid(name, min.get(0), Double.NEGATIVE_INFINITY, min.get(1), max.get(0), Double.POSITIVE_INFINITY, max.get(1), mode, value, priority);
+            }
+
+            if (region.getChunkCount() > RegionIndex.MAX_CHUNKS_PER_REGION) {
+                ErrorHandler.logConfigError(path, "region skipped (spans more than " + RegionIndex.MAX_CHUNKS_PER_REGION + " chunks)");
+                continue;
+            }
+            regions.add(region);
+        }
+
+        if (debugMode && !regions.isEmpty()) {
+            getLogger().info(() -> String.format("Loaded %d time regions for world %s", regions.size(), worldName));
+        }
+        return new RegionIndex(regions);
+    }
+
+    private ExternalChangePolicy loadExternalChangePolicy(String worldName, String policyName) {
+        if (policyName == null) {
+            return ExternalChangePolicy.ADOPT;
+        }
+        try {
+            return ExternalChangePolicy.valueOf(policyName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            ErrorHandler.logConfigError("worlds." + worldName + ".external-time-change", "adopt");
+            return ExternalChangePolicy.ADOPT;
+        }
+    }
+
+    private ZoneId loadRealTimeZone(String worldName, ConfigurationSection syncSection) {
+        if (syncSection == null || !syncSection.getBoolean("enabled", false)) {
+            return null;
+        }
+        return ScheduleManager.parseZone(syncSection.getString("time-zone"), "worlds." + worldName + ".real-time-sync.time-zone");
+    }
+
     public void reloadConfigValues() {
         long now = System.currentTimeMillis();
         if (now - lastConfigReload < CONFIG_RELOAD_COOLDOWN) {
@@ -148,13 +526,22 @@ public class TimeTuner extends JavaPlugin {
         worldManagers.forEach((id, manager) -> pausedStates.put(id, manager.isPaused()));
 
         loadConfigValues();
+        inputRecorder.reload();
         messageManager.reloadMessages();
+        scheduleManager.load();
+        adminSocket.load();
+        clusterManager.load();
 
         // Update existing world managers with new config values
         worldManagers.forEach((id, manager) -> {
             World world = manager.getWorld();
             WorldConfig config = getWorldConfig(world);
             manager.updateSpeeds(config.getDaySpeed(), config.getNightSpeed());
+            manager.setTriggers(config.getTriggers());
+            manager.setRealTimeZone(config.getRealTimeZone());
+            manager.setSpeedCurve(config.getSpeedCurve());
+            manager.setSeasons(config.getSeasons());
+            manager.setExternalChangePolicy(config.getExternalChangePolicy());
             
             // Reapply paused states
             if (pausedStates.containsKey(id)) {
@@ -162,6 +549,7 @@ public class TimeTuner extends JavaPlugin {
             }
         });
 
+        regionListener.refreshAll();
         lastConfigReload = now;
     }
 
@@ -194,6 +582,7 @@ public class TimeTuner extends JavaPlugin {
         if (!config.isEnabled()) {
             if (existingManager != null) {
                 worldManagers.remove(worldId);
+                inputRecorder.unmanaged(world);
                 if (debugMode) {
                     getLogger().info(() -> "Removed manager for disabled world: " + world.getName());
                 }
@@ -203,6 +592,11 @@ public class TimeTuner extends JavaPlugin {
 
         if (existingManager != null) {
             existingManager.updateSpeeds(config.getDaySpeed(), config.getNightSpeed());
+            existingManager.setTriggers(config.getTriggers());
+            existingManager.setRealTimeZone(config.getRealTimeZone());
+            existingManager.setSpeedCurve(config.getSpeedCurve());
+            existingManager.setSeasons(config.getSeasons());
+            existingManager.setExternalChangePolicy(config.getExternalChangePolicy());
             if (debugMode) {
                 getLogger().info(() -> String.format(
                     "Updated manager for world %s - Day: %.2f, Night: %.2f",
@@ -215,7 +609,17 @@ public class TimeTuner extends JavaPlugin {
             
             // Initialize with configured speeds
             WorldTimeManager manager = new WorldTimeManager(this, world, config.getDaySpeed(), config.getNightSpeed());
+            manager.setTriggers(config.getTriggers());
+            manager.setRealTimeZone(config.getRealTimeZone());
+            manager.setSpeedCurve(config.getSpeedCurve());
+            manager.setSeasons(config.getSeasons());
+            manager.setExternalChangePolicy(config.getExternalChangePolicy());
+            manager.setClusterClock(clusterManager.getFollowedClock(world.getName()));
+            if (runtimeOverlay.isPaused(world.getName())) {
+                manager.setPaused(true);
+            }
             worldManagers.put(worldId, manager);
+            inputRecorder.managed(manager);
             
             if (debugMode) {
                 getLogger().info(() -> String.format(
@@ -229,7 +633,7 @@ public class TimeTuner extends JavaPlugin {
     public WorldConfig getWorldConfig(World world) {
         return worldConfigs.getOrDefault(
             world.getName().toLowerCase(),
-            new WorldConfig(daySpeed, nightSpeed, true, false, true)
+            new WorldConfig(daySpeed, nightSpeed, true, false, true, TriggerIndex.EMPTY, null, null, null, ExternalChangePolicy.ADOPT, RegionIndex.EMPTY)
         );
     }
 
@@ -274,18 +678,120 @@ public class TimeTuner extends JavaPlugin {
     }
 
     public boolean isOverflowProtection() {
-        // Check safety section first, then fall back to old format
-        ConfigurationSection safetySection = getConfig().getConfigurationSection("safety");
-        if (safetySection != null) {
-            return safetySection.getBoolean("overflow-protection", true);
-        }
-        return getConfig().getBoolean("overflow-protection", true);
+        return overflowStrategy != OverflowStrategy.NONE;
+    }
+
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    /**
+     * @return full time above which the overflow strategy rebases a world
+     */
+    public long getOverflowThreshold() {
+        return overflowThreshold;
     }
 
     public int getTickFrequency() {
         return tickFrequency;
     }
 
+    /**
+     * @return the highest speed accepted by /timetuner speed
+     */
+    public double getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public TimeTunerService getService() {
+        return service;
+    }
+
+    public PersonalClockManager getPersonalClockManager() {
+        return personalClockManager;
+    }
+
+    /**
+     * @return maximum number of personal clocks visited per update
+     */
+    public int getPersonalClockBatchSize() {
+        return personalClockBatchSize;
+    }
+
+    /**
+     * @return drift in ticks after which a personal clock is re-sent
+     */
+    public long getPersonalClockResendThreshold() {
+        return personalClockResendThreshold;
+    }
+
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    /**
+     * @return the index of loaded world names, safe to read from any thread
+     */
+    public WorldNameIndex getWorldNameIndex() {
+        return worldNameIndex;
+    }
+
+    public ControlQueue getControlQueue() {
+        return controlQueue;
+    }
+
+    public RuntimeOverlay getRuntimeOverlay() {
+        return runtimeOverlay;
+    }
+
+    public HistoryRecorder getHistoryRecorder() {
+        return historyRecorder;
+    }
+
+    public InputRecorder getInputRecorder() {
+        return inputRecorder;
+    }
+
+    public ClusterManager getClusterManager() {
+        return clusterManager;
+    }
+
+    public ScheduleManager getScheduleManager() {
+        return scheduleManager;
+    }
+
+    /**
+     * @return the named speed profile from the {@code profiles} section, or null
+     */
+    public SpeedProfile getProfile(String name) {
+        return name != null ? profiles.get(name.toLowerCase()) : null;
+    }
+
+    /**
+     * @return world groups by lowercase name, each a list of world names or globs
+     */
+    public Map<String, List<String>> getWorldGroups() {
+        return Collections.unmodifiableMap(worldGroups);
+    }
+
+    /**
+     * @return the time format with that name, ignoring case, or null if none is configured
+     */
+    public TimeFormat getTimeFormat(String name) {
+        return name != null ? timeFormats.get(name.toLowerCase()) : null;
+    }
+
+    /**
+     * @return time formats by lowercase name
+     */
+    public Map<String, TimeFormat> getTimeFormats() {
+        return Collections.unmodifiableMap(timeFormats);
+    }
+
     public MessageManager getMessageManager() {
         return messageManager;
     }
@@ -304,13 +810,27 @@ public class TimeTuner extends JavaPlugin {
         private final boolean enabled;
         private final boolean allowBedExplosions;
         private final boolean allowThunderstormSleep;
-
-        private WorldConfig(double daySpeed, double nightSpeed, boolean enabled, boolean allowBedExplosions, boolean allowThunderstormSleep) {
+        private final TriggerIndex triggers;
+        private final ZoneId realTimeZone;
+        private final SpeedCurve speedCurve;
+        private final SeasonCycle seasons;
+        private final ExternalChangePolicy externalChangePolicy;
+        private final RegionIndex regions;
+
+        private WorldConfig(double daySpeed, double nightSpeed, boolean enabled, boolean allowBedExplosions, boolean allowThunderstormSleep,
+                            TriggerIndex triggers, ZoneId realTimeZone, SpeedCurve speedCurve, SeasonCycle seasons,
+                            ExternalChangePolicy externalChangePolicy, RegionIndex regions) {
             this.daySpeed = daySpeed;
             this.nightSpeed = nightSpeed;
             this.enabled = enabled;
             this.allowBedExplosions = allowBedExplosions;
             this.allowThunderstormSleep = allowThunderstormSleep;
+            this.triggers = triggers;
+            this.realTimeZone = realTimeZone;
+            this.speedCurve = speedCurve;
+            this.seasons = seasons;
+            this.externalChangePolicy = externalChangePolicy;
+            this.regions = regions;
         }
 
         private double getDaySpeed() {
@@ -332,5 +852,47 @@ public class TimeTuner extends JavaPlugin {
         public boolean isAllowThunderstormSleep() {
             return allowThunderstormSleep;
         }
+
+        private TriggerIndex getTriggers() {
+            return triggers;
+        }
+
+        private ZoneId getRealTimeZone() {
+            return realTimeZone;
+        }
+
+        private SpeedCurve getSpeedCurve() {
+            return speedCurve;
+        }
+
+        private SeasonCycle getSeasons() {
+            return seasons;
+        }
+
+        private ExternalChangePolicy getExternalChangePolicy() {
+            return externalChangePolicy;
+        }
+
+        public RegionIndex getRegions() {
+            return regions;
+        }
+    }
+
+    public static final class SpeedProfile {
+        private final double daySpeed;
+        private final double nightSpeed;
+
+        private SpeedProfile(double daySpeed, double nightSpeed) {
+            this.daySpeed = daySpeed;
+            this.nightSpeed = nightSpeed;
+        }
+
+        public double getDaySpeed() {
+            return daySpeed;
+        }
+
+        public double getNightSpeed() {
+            return nightSpeed;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package me.summykai.timetuner.api;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.time.WorldTimeManager;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service implementation backed by the plugin's world managers.
+ * Reads only touch the concurrent manager map and each manager's volatile snapshot.
+ */
+public class DefaultTimeTunerService implements TimeTunerService {
+    private final TimeTuner plugin;
+
+    public DefaultTimeTunerService(TimeTuner plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public WorldTimeSnapshot getSnapshot(UUID worldId) {
+        WorldTimeManager manager = plugin.getWorldManagers().get(worldId);
+        return manager != null ? manager.getSnapshot() : null;
+    }
+
+    @Override
+    public WorldTimeSnapshot getSnapshot(String worldName) {
+        for (WorldTimeManager manager : plugin.getWorldManagers().values()) {
+            WorldTimeSnapshot snapshot = manager.getSnapshot();
+            if (snapshot.getWorldName().equalsIgnoreCase(worldName)) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<WorldTimeSnapshot> getSnapshots() {
+        List<WorldTimeSnapshot> snapshots = new ArrayList<>(plugin.getWorldManagers().size());
+        for (WorldTimeManager manager : plugin.getWorldManagers().values()) {
+            snapshots.add(manager.getSnapshot());
+        }
+        return snapshots;
+    }
+
+    @Override
+    public boolean isManaged(UUID worldId) {
+        return plugin.getWorldManagers().containsKey(worldId);
+    }
+
+    @Override
+    public String getFormattedTime(UUID worldId, String format) {
+        TimeFormat timeFormat = plugin.getTimeFormat(format);
+        WorldTimeSnapshot snapshot = timeFormat != null ? getSnapshot(worldId) : null;
+        return snapshot != null ? timeFormat.format(snapshot) : null;
+    }
+
+    @Override
+    public Set<String> getTimeFormats() {
+        Set<String> names = new TreeSet<>();
+        for (TimeFormat format : plugin.getTimeFormats().values()) {
+            names.add(format.getName());
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public boolean addModifier(World world, SpeedModifier modifier) {
+        WorldTimeManager manager = plugin.getWorldManagers().get(world.getUID());
+        if (manager == null) {
+            return false;
+        }
+        if (plugin.getTaskScheduler().isGlobalThread()) {
+            manager.addModifier(modifier);
+        } else {
+            plugin.getControlQueue().addModifier(world.getUID(), modifier);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeModifier(World world, String name) {
+        WorldTimeManager manager = plugin.getWorldManagers().get(world.getUID());
+        if (manager == null) {
+            return false;
+        }
+        if (plugin.getTaskScheduler().isGlobalThread()) {
+            return manager.removeModifier(name);
+        }
+        // The modifier stack belongs to the global region, so the removal can only be queued
+        plugin.getControlQueue().removeModifier(world.getUID(), name);
+        return true;
+    }
+
+    @Override
+    public List<SpeedModifier> getModifiers(World world) {
+        WorldTimeManager manager = plugin.getWorldManagers().get(world.getUID());
+        return manager != null ? manager.getModifiers() : Collections.emptyList();
+    }
+
+    @Override
+    public CompletableFuture<WorldTimeSnapshot> submitSpeeds(UUID worldId, double daySpeed, double nightSpeed) {
+        return plugin.getControlQueue().setSpeeds(worldId, daySpeed, nightSpeed);
+    }
+
+    @Override
+    public CompletableFuture<WorldTimeSnapshot> submitPaused(UUID worldId, boolean paused) {
+        return plugin.getControlQueue().setPaused(worldId, paused);
+    }
+
+    @Override
+    public CompletableFuture<WorldTimeSnapshot> submitSkipToDay(UUID worldId) {
+        return plugin.getControlQueue().skipToDay(worldId);
+    }
+
+    @Override
+    public CompletableFuture<WorldTimeSnapshot> submitModifier(UUID worldId, SpeedModifier modifier) {
+        return plugin.getControlQueue().addModifier(worldId, modifier);
+    }
+
+    @Override
+    public CompletableFuture<WorldTimeSnapshot> submitRemoveModifier(UUID worldId, String name) {
+        return plugin.getControlQueue().removeModifier(worldId, name);
+    }
+}
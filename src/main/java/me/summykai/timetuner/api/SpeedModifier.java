@@ -0,0 +1,85 @@
+package me.summykai.timetuner.api;
+
+/**
+ * A named, temporary change to a world's day/night speeds, layered over the configured speeds.
+ * <p>
+ * Modifiers are applied in ascending priority: an override replaces the speeds computed so far,
+ * a multiplier scales them. Adding a modifier with a name already in use replaces it.
+ */
+public final class SpeedModifier {
+    public enum Operation {
+        MULTIPLY,
+        OVERRIDE
+    }
+
+    /**
+     * Duration of modifiers that stay until removed.
+     */
+    public static final long PERMANENT = -1;
+
+    private final String name;
+    private final int priority;
+    private final Operation operation;
+    private final double dayValue;
+    private final double nightValue;
+    private final long durationTicks;
+
+    private SpeedModifier(String name, int priority, Operation operation, double dayValue, double nightValue, long durationTicks) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Modifier name must not be empty");
+        }
+        if (!(Double.isFinite(dayValue) && dayValue >= 0) || !(Double.isFinite(nightValue) && nightValue >= 0)) {
+            throw new IllegalArgumentException("Modifier values must be finite and not negative");
+        }
+        this.name = name;
+        this.priority = priority;
+        this.operation = operation;
+        this.dayValue = dayValue;
+        this.nightValue = nightValue;
+        this.durationTicks = durationTicks;
+    }
+
+    /**
+     * @param durationTicks server ticks until the modifier expires, or {@link #PERMANENT}
+     * @throws IllegalArgumentException if a factor is negative, infinite or NaN
+     */
+    public static SpeedModifier multiply(String name, int priority, double dayFactor, double nightFactor, long durationTicks) {
+        return new SpeedModifier(name, priority, Operation.MULTIPLY, dayFactor, nightFactor, durationTicks);
+    }
+
+    /**
+     * @param durationTicks server ticks until the modifier expires, or {@link #PERMANENT}
+     * @throws IllegalArgumentException if a speed is negative, infinite or NaN
+     */
+    public static SpeedModifier override(String name, int priority, double daySpeed, double nightSpeed, long durationTicks) {
+        return new SpeedModifier(name, priority, Operation.OVERRIDE, daySpeed, nightSpeed, durationTicks);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public double getDayValue() {
+        return dayValue;
+    }
+
+    public double getNightValue() {
+        return nightValue;
+    }
+
+    public long getDurationTicks() {
+        return durationTicks;
+    }
+
+    public boolean isPermanent() {
+        return durationTicks < 0;
+    }
+}
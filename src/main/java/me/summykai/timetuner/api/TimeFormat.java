@@ -0,0 +1,212 @@
+package me.summykai.timetuner.api;
+
+import me.summykai.timetuner.time.Time;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A named time format from the {@code time-formats} config section, with a per-world cache.
+ * <p>
+ * The template is split into literals and placeholders once, and the format remembers which
+ * snapshot values it shows. A lookup compares just those values with the cached ones and only
+ * renders again when one of them changed, so a clock showing minutes is rendered once per
+ * in-game minute however often it is read. Safe to call from any thread.
+ * <pre>
+ * {hour} {hour12} {minute} {ampm}   clock time, 06:00 at time 0
+ * {phase}                           the configured name of day or night
+ * {day}                             the world's day counter
+ * {season}                          the season name, empty without a season cycle
+ * {world}                           the world name
+ * </pre>
+ */
+public final class TimeFormat {
+    private static final int USES_CLOCK = 1;
+    private static final int USES_PHASE = 2;
+    private static final int USES_DAY = 4;
+    private static final int USES_SEASON = 8;
+
+    private enum Placeholder {
+        HOUR("hour", USES_CLOCK),
+        HOUR12("hour12", USES_CLOCK),
+        MINUTE("minute", USES_CLOCK),
+        AMPM("ampm", USES_CLOCK),
+        PHASE("phase", USES_PHASE),
+        DAY("day", USES_DAY),
+        SEASON("season", USES_SEASON),
+        WORLD("world", 0); // Constant per world
+
+        private final String key;
+        private final int uses;
+
+        Placeholder(String key, int uses) {
+            this.key = key;
+            this.uses = uses;
+        }
+    }
+
+    private final String name;
+    private final String template;
+    private final Object[] parts; // String literals and Placeholders
+    private final int uses;
+    private final String dayName;
+    private final String nightName;
+    private final Map<UUID, Rendered> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param dayName   text for {@code {phase}} during the day
+     * @param nightName text for {@code {phase}} at night
+     * @throws IllegalArgumentException for an unknown placeholder
+     */
+    public TimeFormat(String name, String template, String dayName, String nightName) {
+        this.name = name;
+        this.template = template;
+        this.dayName = dayName;
+        this.nightName = nightName;
+
+        List<Object> compiled = new ArrayList<>();
+        int used = 0;
+        int start = 0;
+        while (start < template.length()) {
+            int open = template.indexOf('{', start);
+            int close = open >= 0 ? template.indexOf('}', open) : -1;
+            if (open < 0 || close < 0) {
+                compiled.add(template.substring(start));
+                break;
+            }
+            if (open > start) {
+                compiled.add(template.substring(start, open));
+            }
+            Placeholder placeholder = placeholder(template.substring(open + 1, close));
+            compiled.add(placeholder);
+            used |= placeholder.uses;
+            start = close + 1;
+        }
+        this.parts = compiled.toArray();
+        this.uses = used;
+    }
+
+    private static Placeholder placeholder(String key) {
+        for (Placeholder placeholder : Placeholder.values()) {
+            if (placeholder.key.equals(key)) {
+                return placeholder;
+            }
+        }
+        throw new IllegalArgumentException("Unknown placeholder {" + key + "}");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return the formatted time, from the cache unless a value the format shows has changed
+     */
+    public String format(WorldTimeSnapshot snapshot) {
+        int minuteOfDay = minuteOfDay(snapshot.getTime());
+        Rendered cached = cache.get(snapshot.getWorldId());
+        if (cached != null && cached.shows(snapshot, minuteOfDay, uses)) {
+            return cached.text;
+        }
+        Rendered rendered = new Rendered(snapshot, minuteOfDay, render(snapshot, minuteOfDay));
+        cache.put(snapshot.getWorldId(), rendered);
+        return rendered.text;
+    }
+
+    /**
+     * Drops the cached text of an unloaded world.
+     */
+    public void forget(UUID worldId) {
+        cache.remove(worldId);
+    }
+
+    private String render(WorldTimeSnapshot snapshot, int minuteOfDay) {
+        StringBuilder text = new StringBuilder(template.length() + 16);
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        for (Object part : parts) {
+            if (part instanceof String) {
+                text.append((String) part);
+                continue;
+            }
+            switch ((Placeholder) part) {
+                case HOUR:
+                    appendTwoDigits(text, hour);
+                    break;
+                case HOUR12:
+                    text.append(hour % 12 == 0 ? 12 : hour % 12);
+                    break;
+                case MINUTE:
+                    appendTwoDigits(text, minute);
+                    break;
+                case AMPM:
+                    text.append(hour < 12 ? "AM" : "PM");
+                    break;
+                case PHASE:
+                    text.append(snapshot.getPhase() == TimePhase.DAY ? dayName : nightName);
+                    break;
+                case DAY:
+                    text.append(snapshot.getDay());
+                    break;
+                case SEASON:
+                    text.append(snapshot.getSeason() != null ? snapshot.getSeason() : "");
+                    break;
+                case WORLD:
+                    text.append(snapshot.getWorldName());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text.toString();
+    }
+
+    private static void appendTwoDigits(StringBuilder text, int value) {
+        if (value < 10) {
+            text.append('0');
+        }
+        text.append(value);
+    }
+
+    /**
+     * @return minutes since midnight; time 0 is 06:00 and an hour is 1000 ticks
+     */
+    static int minuteOfDay(long timeOfDay) {
+        long shifted = Math.floorMod(timeOfDay + 6000L, Time.DAY_LENGTH);
+        return (int) (shifted * 60 / 1000);
+    }
+
+    private static final class Rendered {
+        private final int minuteOfDay;
+        private final TimePhase phase;
+        private final long day;
+        private final String season;
+        private final String text;
+
+        private Rendered(WorldTimeSnapshot snapshot, int minuteOfDay, String text) {
+            this.minuteOfDay = minuteOfDay;
+            this.phase = snapshot.getPhase();
+            this.day = snapshot.getDay();
+            this.season = snapshot.getSeason();
+            this.text = text;
+        }
+
+        /**
+         * @return true if the snapshot shows the same values, as far as the format uses them
+         */
+        private boolean shows(WorldTimeSnapshot snapshot, int minuteOfDay, int uses) {
+            return ((uses & USES_CLOCK) == 0 || this.minuteOfDay == minuteOfDay)
+                && ((uses & USES_PHASE) == 0 || phase == snapshot.getPhase())
+                && ((uses & USES_DAY) == 0 || day == snapshot.getDay())
+                && ((uses & USES_SEASON) == 0 || Objects.equals(season, snapshot.getSeason()));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package me.summykai.timetuner.api;
+
+import me.summykai.timetuner.time.Time;
+
+/**
+ * Half of the day/night cycle a world is currently in.
+ */
+public enum TimePhase {
+    DAY,
+    NIGHT;
+
+    public static TimePhase of(long timeOfDay) {
+        long time = Math.floorMod(timeOfDay, Time.DAY_LENGTH);
+        return time >= Time.DAY_START && time < Time.NIGHT_START ? DAY : NIGHT;
+    }
+}
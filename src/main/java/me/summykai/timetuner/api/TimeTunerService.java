@@ -0,0 +1,110 @@
+package me.summykai.timetuner.api;
+
+import org.bukkit.World;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Public entry point for other plugins, registered with Bukkit's ServicesManager.
+ * <p>
+ * Snapshot reads are lock-free and safe from any thread; each snapshot is an
+ * immutable view published by the world's last TimeTuner update. Modifier
+ * methods apply at once on the main thread (the global region on Folia) and
+ * are queued for the next update from any other thread; the {@code submit}
+ * methods always queue and report the result through a future.
+ */
+public interface TimeTunerService {
+
+    /**
+     * @return the latest snapshot for the world, or null if TimeTuner does not manage it
+     */
+    WorldTimeSnapshot getSnapshot(UUID worldId);
+
+    /**
+     * Case-insensitive lookup by world name.
+     *
+     * @return the latest snapshot for the world, or null if TimeTuner does not manage it
+     */
+    WorldTimeSnapshot getSnapshot(String worldName);
+
+    default WorldTimeSnapshot getSnapshot(World world) {
+        return getSnapshot(world.getUID());
+    }
+
+    /**
+     * @return the latest snapshots of all managed worlds
+     */
+    Collection<WorldTimeSnapshot> getSnapshots();
+
+    boolean isManaged(UUID worldId);
+
+    /**
+     * Formats the world's time with a format from the {@code time-formats} config section.
+     * The text is cached per world and format, and only rendered again once a value the
+     * format shows has changed, so it is cheap to call every tick from any thread.
+     *
+     * @param format the format name, ignoring case
+     * @return the formatted time, or null if the world is not managed or the format is unknown
+     */
+    String getFormattedTime(UUID worldId, String format);
+
+    default String getFormattedTime(World world, String format) {
+        return getFormattedTime(world.getUID(), format);
+    }
+
+    /**
+     * @return the names of the configured time formats
+     */
+    Set<String> getTimeFormats();
+
+    /**
+     * Layers a speed modifier over the world's configured speeds, replacing any modifier with the same name.
+     *
+     * @return false if TimeTuner does not manage the world
+     */
+    boolean addModifier(World world, SpeedModifier modifier);
+
+    /**
+     * @return true if a modifier with that name was removed; off the main thread the removal
+     *         is queued and true only means the world is managed
+     */
+    boolean removeModifier(World world, String name);
+
+    /**
+     * @return the world's active modifiers in application order, empty if the world is not managed
+     */
+    List<SpeedModifier> getModifiers(World world);
+
+    /**
+     * Thread-safe speed change, applied at the start of the next update.
+     * Several changes to one world before that update are coalesced into the last one.
+     * <p>
+     * The future completes on the main thread with the world's snapshot after the change,
+     * or exceptionally if the world is not managed or the speeds are out of range.
+     */
+    CompletableFuture<WorldTimeSnapshot> submitSpeeds(UUID worldId, double daySpeed, double nightSpeed);
+
+    /**
+     * Thread-safe pause or resume, applied at the start of the next update.
+     */
+    CompletableFuture<WorldTimeSnapshot> submitPaused(UUID worldId, boolean paused);
+
+    /**
+     * Thread-safe skip to the next morning, applied at the start of the next update.
+     */
+    CompletableFuture<WorldTimeSnapshot> submitSkipToDay(UUID worldId);
+
+    /**
+     * Thread-safe {@link #addModifier(World, SpeedModifier)}.
+     */
+    CompletableFuture<WorldTimeSnapshot> submitModifier(UUID worldId, SpeedModifier modifier);
+
+    /**
+     * Thread-safe {@link #removeModifier(World, String)}.
+     */
+    CompletableFuture<WorldTimeSnapshot> submitRemoveModifier(UUID worldId, String name);
+}
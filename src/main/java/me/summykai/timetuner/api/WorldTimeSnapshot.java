@@ -0,0 +1,110 @@
+package me.summykai.timetuner.api;
+
+import java.util.UUID;
+
+/**
+ * Immutable view of one managed world, published after each update.
+ */
+public final class WorldTimeSnapshot {
+    private final UUID worldId;
+    private final String worldName;
+    private final long tick;
+    private final long time;
+    private final double fractionalTime;
+    private final double daySpeed;
+    private final double nightSpeed;
+    private final TimePhase phase;
+    private final boolean paused;
+    private final boolean skipping;
+    private final long ticksUntilNextPhase;
+    private final long day;
+    private final String season;
+
+    public WorldTimeSnapshot(UUID worldId, String worldName, long tick, long time, double fractionalTime,
+                             double daySpeed, double nightSpeed, TimePhase phase, boolean paused,
+                             boolean skipping, long ticksUntilNextPhase, long day, String season) {
+        this.worldId = worldId;
+        this.worldName = worldName;
+        this.tick = tick;
+        this.time = time;
+        this.fractionalTime = fractionalTime;
+        this.daySpeed = daySpeed;
+        this.nightSpeed = nightSpeed;
+        this.phase = phase;
+        this.paused = paused;
+        this.skipping = skipping;
+        this.ticksUntilNextPhase = ticksUntilNextPhase;
+        this.day = day;
+        this.season = season;
+    }
+
+    public UUID getWorldId() {
+        return worldId;
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * @return the TimeTuner update tick this snapshot was published on
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return the time of day (0-23999) written to the world
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return the engine's fractional time, including the part not yet written to the world
+     */
+    public double getFractionalTime() {
+        return fractionalTime;
+    }
+
+    public double getDaySpeed() {
+        return daySpeed;
+    }
+
+    public double getNightSpeed() {
+        return nightSpeed;
+    }
+
+    public TimePhase getPhase() {
+        return phase;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isSkipping() {
+        return skipping;
+    }
+
+    /**
+     * @return server ticks until the next day/night boundary at current speeds, or -1 if time is not moving
+     */
+    public long getTicksUntilNextPhase() {
+        return ticksUntilNextPhase;
+    }
+
+    /**
+     * @return the day counter tracked by the engine
+     */
+    public long getDay() {
+        return day;
+    }
+
+    /**
+     * @return the current season name, or null if the world has no season cycle
+     */
+    public String getSeason() {
+        return season;
+    }
+}
@@ -0,0 +1,75 @@
+package me.summykai.timetuner.cluster;
+
+import me.summykai.timetuner.time.TimeEngine;
+
+/**
+ * Clock parameters shared across a cluster for one world.
+ * <p>
+ * The time is not pushed every tick: followers derive it from the anchor, the wall-clock
+ * epoch the anchor belongs to and the speeds, so only parameter changes travel.
+ */
+public final class ClockState {
+    private static final double MILLIS_PER_TICK = 50.0;
+
+    private final String world;
+    private final double anchorTime;
+    private final long anchorMillis;
+    private final double daySpeed;
+    private final double nightSpeed;
+    private final boolean paused;
+
+    public ClockState(String world, double anchorTime, long anchorMillis, double daySpeed, double nightSpeed, boolean paused) {
+        this.world = world;
+        this.anchorTime = anchorTime;
+        this.anchorMillis = anchorMillis;
+        this.daySpeed = daySpeed;
+        this.nightSpeed = nightSpeed;
+        this.paused = paused;
+    }
+
+    /**
+     * @return the unrebased full time (day offset included) the world should show at the given wall-clock time
+     */
+    public double timeAt(long nowMillis) {
+        if (paused || nowMillis <= anchorMillis) {
+            return anchorTime;
+        }
+        return TimeEngine.timeAfter(anchorTime, daySpeed, nightSpeed, (nowMillis - anchorMillis) / MILLIS_PER_TICK);
+    }
+
+    public ClockState withAnchor(double anchorTime, long anchorMillis) {
+        return new ClockState(world, anchorTime, anchorMillis, daySpeed, nightSpeed, paused);
+    }
+
+    public ClockState withSpeeds(double daySpeed, double nightSpeed) {
+        return new ClockState(world, anchorTime, anchorMillis, daySpeed, nightSpeed, paused);
+    }
+
+    public ClockState withPaused(boolean paused) {
+        return new ClockState(world, anchorTime, anchorMillis, daySpeed, nightSpeed, paused);
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public double getAnchorTime() {
+        return anchorTime;
+    }
+
+    public long getAnchorMillis() {
+        return anchorMillis;
+    }
+
+    public double getDaySpeed() {
+        return daySpeed;
+    }
+
+    public double getNightSpeed() {
+        return nightSpeed;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+}
@@ -0,0 +1,374 @@
+package me.summykai.timetuner.cluster;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.api.WorldTimeSnapshot;
+import me.summykai.timetuner.time.Time;
+import me.summykai.timetuner.time.WorldTimeManager;
+import me.summykai.timetuner.utils.ErrorHandler;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps world clocks in step across the shards of a proxy network.
+ * <p>
+ * The leader shard publishes each world's clock parameters (anchor time, wall-clock epoch,
+ * speeds, paused) and only re-sends a world when its speeds or pause state change or when
+ * its real time drifts from what followers would compute, plus a periodic full message
+ * for late joiners and lost packets. Followers compute the time locally from the shared
+ * parameters every update, so there are no per-tick pushes. Shards need NTP-synced clocks.
+ * <p>
+ * Messages are signed with the shared {@code cluster.secret}. Sequence numbers start from the
+ * leader's wall clock, so they keep rising across leader restarts and followers can drop any
+ * message, full or delta, that is not newer than the last one they applied.
+ */
+public class ClusterManager {
+    public enum Role {
+        LEADER,
+        FOLLOWER
+    }
+
+    private final TimeTuner plugin;
+    private final ConcurrentLinkedQueue<ClusterProtocol.Message> inbox;
+    private final Map<String, ClockState> clocks; // Last sent (leader) or followed (follower), by lowercase world name
+    private final Set<String> worlds;
+    private ClusterTransport transport;
+    private ExecutorService sender;
+    private Role role;
+    private String cluster;
+    private byte[] secret;
+    private long heartbeatMillis;
+    private double driftThreshold;
+    private long sequence;
+    private long lastFullMillis;
+    private long lastSequence = -1;
+    private long highestSequence = -1; // Newest message applied, to drop replays
+
+    public ClusterManager(TimeTuner plugin) {
+        this.plugin = plugin;
+        this.inbox = new ConcurrentLinkedQueue<>();
+        this.clocks = new HashMap<>();
+        this.worlds = new HashSet<>();
+    }
+
+    /**
+     * (Re)starts cluster mode from the {@code cluster} config section.
+     */
+    public void load() {
+        close();
+
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("cluster");
+        if (section == null || !section.getBoolean("enabled", false)) {
+            return;
+        }
+
+        try {
+            role = Role.valueOf(section.getString("role", "follower").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            ErrorHandler.logConfigError("cluster.role", "cluster mode disabled");
+            return;
+        }
+        cluster = section.getString("name", "default");
+        String secretText = section.getString("secret", "");
+        if (secretText.isEmpty()) {
+            ErrorHandler.logConfigError("cluster.secret", "cluster mode disabled (a secret is required)");
+            role = null;
+            return;
+        }
+        secret = secretText.getBytes(StandardCharsets.UTF_8);
+        heartbeatMillis = Math.max(1, section.getLong("heartbeat-seconds", 5)) * 1000L;
+        driftThreshold = Math.max(1, section.getDouble("drift-threshold", 20));
+        for (String world : section.getStringList("worlds")) {
+            worlds.add(world.toLowerCase(Locale.ROOT));
+        }
+
+        ClusterTransport created = createTransport(section);
+        if (created == null) {
+            role = null;
+            return;
+        }
+        try {
+            created.start(this::receive);
+        } catch (IOException e) {
+            ErrorHandler.logPluginError("Could not start cluster transport", e);
+            created.close();
+            role = null;
+            return;
+        }
+        transport = created;
+        if (role == Role.LEADER) {
+            sequence = System.currentTimeMillis();
+            sender = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "TimeTuner-ClusterSend");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        plugin.getLogger().info(() -> String.format("Cluster mode: %s of '%s'", role.name().toLowerCase(Locale.ROOT), cluster));
+    }
+
+    private ClusterTransport createTransport(ConfigurationSection section) {
+        String type = section.getString("transport", "udp").toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "udp": {
+                ConfigurationSection udp = section.getConfigurationSection("udp");
+                int port = udp != null ? udp.getInt("port", 25590) : 25590;
+                String bindHost = udp != null ? udp.getString("bind-address", "127.0.0.1") : "127.0.0.1";
+                InetSocketAddress bindAddress;
+                try {
+                    // Only followers listen; a leader sends from an ephemeral port
+                    bindAddress = new InetSocketAddress(InetAddress.getByName(bindHost), role == Role.LEADER ? 0 : port);
+                } catch (UnknownHostException e) {
+                    ErrorHandler.logConfigError("cluster.udp.bind-address", "cluster mode disabled");
+                    return null;
+                }
+                InetAddress leader = null;
+                if (role == Role.FOLLOWER) {
+                    String leaderHost = udp != null ? udp.getString("leader", "") : "";
+                    try {
+                        leader = leaderHost.isEmpty() ? null : InetAddress.getByName(leaderHost);
+                    } catch (UnknownHostException e) {
+                        leader = null;
+                    }
+                    if (leader == null) {
+                        ErrorHandler.logConfigError("cluster.udp.leader", "cluster mode disabled (followers need the leader's host)");
+                        return null;
+                    }
+                }
+                List<InetSocketAddress> peers = new ArrayList<>();
+                if (udp != null) {
+                    for (String peer : udp.getStringList("peers")) {
+                        int colon = peer.lastIndexOf(':');
+                        try {
+                            peers.add(new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1))));
+                        } catch (RuntimeException e) {
+                            ErrorHandler.logConfigError("cluster.udp.peers (" + peer + ")", "peer skipped");
+                        }
+                    }
+                }
+                return new UdpTransport(bindAddress, peers, leader);
+            }
+            case "file": {
+                ConfigurationSection fileSection = section.getConfigurationSection("file");
+                String path = fileSection != null ? fileSection.getString("path", "cluster-clock.bin") : "cluster-clock.bin";
+                long poll = fileSection != null ? fileSection.getLong("poll-millis", 500) : 500;
+                File file = new File(path);
+                if (!file.isAbsolute()) {
+                    file = new File(plugin.getDataFolder(), path);
+                }
+                return new FileTransport(file.toPath(), poll);
+            }
+            default:
+                ErrorHandler.logConfigError("cluster.transport", "cluster mode disabled");
+                return null;
+        }
+    }
+
+    public void close() {
+        if (transport != null) {
+            transport.close();
+            transport = null;
+        }
+        if (sender != null) {
+            sender.shutdown();
+            sender = null;
+        }
+        if (role == Role.FOLLOWER) {
+            for (WorldTimeManager manager : plugin.getWorldManagers().values()) {
+                manager.setClusterClock(null);
+            }
+        }
+        inbox.clear();
+        clocks.clear();
+        worlds.clear();
+        role = null;
+        secret = null;
+        sequence = 0;
+        lastFullMillis = 0;
+        lastSequence = -1;
+        highestSequence = -1;
+    }
+
+    private void receive(byte[] data) {
+        byte[] key = secret;
+        if (role != Role.FOLLOWER || key == null) {
+            return;
+        }
+        try {
+            ClusterProtocol.Message message = ClusterProtocol.decode(data, key);
+            if (message.getCluster().equals(cluster)) {
+                inbox.add(message);
+            }
+        } catch (IOException e) {
+            if (plugin.isDebugMode()) {
+                plugin.getLogger().info(() -> "Ignored malformed cluster message: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Publishes (leader) or applies (follower) clock changes. Called from the update task.
+     */
+    public void tick() {
+        if (transport == null) {
+            return;
+        }
+        if (role == Role.LEADER) {
+            publish();
+        } else {
+            ClusterProtocol.Message message;
+            while ((message = inbox.poll()) != null) {
+                apply(message);
+            }
+        }
+    }
+
+    private void publish() {
+        long now = System.currentTimeMillis();
+        boolean full = now - lastFullMillis >= heartbeatMillis;
+        List<ClusterProtocol.Entry> entries = new ArrayList<>();
+
+        for (WorldTimeManager manager : plugin.getWorldManagers().values()) {
+            WorldTimeSnapshot snapshot = manager.getSnapshot();
+            String key = snapshot.getWorldName().toLowerCase(Locale.ROOT);
+            if (!isSynced(key)) {
+                continue;
+            }
+
+            // Shared unrebased, so shards that rebase at different times still agree on the day
+            double time = snapshot.getFractionalTime() + manager.getDayOffset() * (double) Time.DAY_LENGTH;
+            ClockState previous = clocks.get(key);
+            int fields;
+            if (previous == null || full) {
+                fields = ClusterProtocol.ALL;
+            } else {
+                fields = 0;
+                if (previous.getDaySpeed() != snapshot.getDaySpeed() || previous.getNightSpeed() != snapshot.getNightSpeed()) {
+                    fields |= ClusterProtocol.SPEEDS | ClusterProtocol.ANCHOR;
+                }
+                if (previous.isPaused() != snapshot.isPaused()) {
+                    fields |= ClusterProtocol.PAUSED | ClusterProtocol.ANCHOR;
+                }
+                if (Math.abs(previous.timeAt(now) - time) > driftThreshold) {
+                    fields |= ClusterProtocol.ANCHOR; // Skips, external changes, curves or a lagging server
+                }
+                if (fields == 0) {
+                    continue;
+                }
+            }
+
+            ClockState state = new ClockState(snapshot.getWorldName(), time, now,
+                snapshot.getDaySpeed(), snapshot.getNightSpeed(), snapshot.isPaused());
+            clocks.put(key, state);
+            entries.add(new ClusterProtocol.Entry(state, fields));
+        }
+
+        if (full) {
+            lastFullMillis = now;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        byte[] message = ClusterProtocol.encode(new ClusterProtocol.Message(cluster, ++sequence, full, entries), secret);
+        ClusterTransport target = transport;
+        sender.execute(() -> {
+            try {
+                target.send(message);
+            } catch (IOException e) {
+                ErrorHandler.logWarning("Cluster send failed: %s", e.getMessage());
+            }
+        });
+    }
+
+    private void apply(ClusterProtocol.Message message) {
+        if (message.getSequence() <= highestSequence) {
+            return; // Duplicate, stale or replayed, including full messages
+        }
+        if (!message.isFull()) {
+            if (message.getSequence() <= lastSequence) {
+                return; // Duplicate or stale
+            }
+            if (lastSequence < 0 || message.getSequence() != lastSequence + 1) {
+                // Missed a delta; wait for the next full message
+                if (plugin.isDebugMode()) {
+                    plugin.getLogger().info(() -> String.format(
+                        "Cluster sequence gap (%d -> %d), waiting for a full update", lastSequence, message.getSequence()
+                    ));
+                }
+                lastSequence = -1;
+                return;
+            }
+        }
+        lastSequence = message.getSequence();
+        highestSequence = message.getSequence();
+
+        for (ClusterProtocol.Entry entry : message.getEntries()) {
+            String key = entry.getState().getWorld().toLowerCase(Locale.ROOT);
+            if (!isSynced(key)) {
+                continue;
+            }
+            ClockState merged = limit(ClusterProtocol.merge(clocks.get(key), entry));
+            if (merged == null) {
+                continue;
+            }
+            clocks.put(key, merged);
+            for (WorldTimeManager manager : plugin.getWorldManagers().values()) {
+                if (manager.getWorld().getName().equalsIgnoreCase(key)) {
+                    manager.setClusterClock(merged);
+                }
+            }
+        }
+    }
+
+    /**
+     * Holds a followed clock to this server's speed limit, as for local speed changes.
+     *
+     * @return the limited state, or null if it is missing or its anchor is not a number
+     */
+    private ClockState limit(ClockState state) {
+        if (state == null || !Double.isFinite(state.getAnchorTime())) {
+            return null;
+        }
+        double maxSpeed = plugin.getMaxSpeed();
+        double daySpeed = state.getDaySpeed() >= 0 ? Math.min(maxSpeed, state.getDaySpeed()) : 0; // NaN stops too
+        double nightSpeed = state.getNightSpeed() >= 0 ? Math.min(maxSpeed, state.getNightSpeed()) : 0;
+        if (daySpeed == state.getDaySpeed() && nightSpeed == state.getNightSpeed()) {
+            return state;
+        }
+        return state.withSpeeds(daySpeed, nightSpeed);
+    }
+
+    private boolean isSynced(String worldKey) {
+        return worlds.isEmpty() || worlds.contains(worldKey);
+    }
+
+    /**
+     * @return the followed clock for a world, or null when not following one
+     */
+    public ClockState getFollowedClock(String worldName) {
+        return role == Role.FOLLOWER ? clocks.get(worldName.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    /**
+     * @return the role, or null when cluster mode is off
+     */
+    public Role getRole() {
+        return role;
+    }
+}
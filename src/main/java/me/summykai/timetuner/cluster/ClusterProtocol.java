@@ -0,0 +1,206 @@
+package me.summykai.timetuner.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Binary encoding of cluster messages.
+ * <p>
+ * A message carries a cluster name, a sequence number and one entry per changed world.
+ * Each entry has a flag byte saying which field groups follow (anchor, speeds, paused),
+ * so a delta is a few dozen bytes. Full messages carry every group for every world.
+ * <p>
+ * Every message ends with an HMAC-SHA256 of the rest, keyed with the cluster secret, and is
+ * only parsed once that checks out, so shards without the secret cannot forge or alter one.
+ */
+public final class ClusterProtocol {
+    public static final int MAGIC = 0x54544332; // "TTC2"
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+
+    static final int ANCHOR = 1;
+    static final int SPEEDS = 1 << 1;
+    static final int PAUSED = 1 << 2;
+    static final int ALL = ANCHOR | SPEEDS | PAUSED;
+
+    private ClusterProtocol() {
+    }
+
+    /**
+     * @param secret the cluster secret the message is signed with
+     */
+    public static byte[] encode(Message message, byte[] secret) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + message.entries.size() * 48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeUTF(message.cluster);
+            out.writeLong(message.sequence);
+            out.writeBoolean(message.full);
+            out.writeShort(message.entries.size());
+            for (Entry entry : message.entries) {
+                ClockState state = entry.state;
+                out.writeUTF(state.getWorld());
+                out.writeByte(entry.fields);
+                if ((entry.fields & ANCHOR) != 0) {
+                    out.writeDouble(state.getAnchorTime());
+                    out.writeLong(state.getAnchorMillis());
+                }
+                if ((entry.fields & SPEEDS) != 0) {
+                    out.writeDouble(state.getDaySpeed());
+                    out.writeDouble(state.getNightSpeed());
+                }
+                if ((entry.fields & PAUSED) != 0) {
+                    out.writeBoolean(state.isPaused());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e);
+        }
+        byte[] body = bytes.toByteArray();
+        byte[] signed = Arrays.copyOf(body, body.length + MAC_LENGTH);
+        System.arraycopy(sign(body, body.length, secret), 0, signed, body.length, MAC_LENGTH);
+        return signed;
+    }
+
+    /**
+     * @param secret the cluster secret the message must be signed with
+     * @throws IOException if the signature does not match or the bytes are not a well-formed message
+     */
+    public static Message decode(byte[] data, byte[] secret) throws IOException {
+        if (data.length < MAC_LENGTH) {
+            throw new IOException("Message too short");
+        }
+        int bodyLength = data.length - MAC_LENGTH;
+        byte[] expected = sign(data, bodyLength, secret);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(data, bodyLength, data.length))) {
+            throw new IOException("Bad signature");
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, bodyLength))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a TimeTuner cluster message");
+            }
+            String cluster = in.readUTF();
+            long sequence = in.readLong();
+            boolean full = in.readBoolean();
+            int count = in.readUnsignedShort();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String world = in.readUTF();
+                int fields = in.readUnsignedByte();
+                double anchorTime = 0;
+                long anchorMillis = 0;
+                double daySpeed = 0;
+                double nightSpeed = 0;
+                boolean paused = false;
+                if ((fields & ANCHOR) != 0) {
+                    anchorTime = in.readDouble();
+                    anchorMillis = in.readLong();
+                }
+                if ((fields & SPEEDS) != 0) {
+                    daySpeed = in.readDouble();
+                    nightSpeed = in.readDouble();
+                }
+                if ((fields & PAUSED) != 0) {
+                    paused = in.readBoolean();
+                }
+                entries.add(new Entry(new ClockState(world, anchorTime, anchorMillis, daySpeed, nightSpeed, paused), fields));
+            }
+            return new Message(cluster, sequence, full, entries);
+        }
+    }
+
+    private static byte[] sign(byte[] data, int length, byte[] secret) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+            mac.update(data, 0, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " unavailable", e);
+        }
+    }
+
+    /**
+     * Applies an entry's fields on top of the previous state.
+     *
+     * @return the merged state, or null if the entry is partial and there is no previous state
+     */
+    static ClockState merge(ClockState previous, Entry entry) {
+        if (entry.fields == ALL) {
+            return entry.state;
+        }
+        if (previous == null) {
+            return null;
+        }
+        ClockState merged = previous;
+        if ((entry.fields & ANCHOR) != 0) {
+            merged = merged.withAnchor(entry.state.getAnchorTime(), entry.state.getAnchorMillis());
+        }
+        if ((entry.fields & SPEEDS) != 0) {
+            merged = merged.withSpeeds(entry.state.getDaySpeed(), entry.state.getNightSpeed());
+        }
+        if ((entry.fields & PAUSED) != 0) {
+            merged = merged.withPaused(entry.state.isPaused());
+        }
+        return merged;
+    }
+
+    public static final class Message {
+        private final String cluster;
+        private final long sequence;
+        private final boolean full;
+        private final List<Entry> entries;
+
+        public Message(String cluster, long sequence, boolean full, List<Entry> entries) {
+            this.cluster = cluster;
+            this.sequence = sequence;
+            this.full = full;
+            this.entries = Collections.unmodifiableList(entries);
+        }
+
+        public String getCluster() {
+            return cluster;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public boolean isFull() {
+            return full;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+    }
+
+    public static final class Entry {
+        private final ClockState state;
+        private final int fields;
+
+        public Entry(ClockState state, int fields) {
+            this.state = state;
+            this.fields = fields;
+        }
+
+        public ClockState getState() {
+            return state;
+        }
+
+        public int getFields() {
+            return fields;
+        }
+    }
+}
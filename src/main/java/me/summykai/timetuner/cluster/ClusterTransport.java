@@ -0,0 +1,20 @@
+package me.summykai.timetuner.cluster;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded cluster messages between shards.
+ * Delivery may be lossy; the protocol recovers through periodic full messages.
+ */
+public interface ClusterTransport {
+
+    /**
+     * Starts delivering received messages to the handler, on a transport thread.
+     */
+    void start(Consumer<byte[]> handler) throws IOException;
+
+    void send(byte[] message) throws IOException;
+
+    void close();
+}
@@ -0,0 +1,69 @@
+package me.summykai.timetuner.cluster;
+
+import me.summykai.timetuner.utils.AtomicFiles;
+import me.summykai.timetuner.utils.ErrorHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Shared-file transport for shards on one host: the leader atomically replaces a file with
+ * its latest message and followers poll it. Only the last message survives, so followers
+ * that miss deltas catch up from the next full message.
+ */
+public class FileTransport implements ClusterTransport {
+    private final Path file;
+    private final long pollMillis;
+    private volatile boolean running;
+
+    public FileTransport(Path file, long pollMillis) {
+        this.file = file;
+        this.pollMillis = Math.max(50, pollMillis);
+    }
+
+    @Override
+    public void start(Consumer<byte[]> handler) {
+        running = true;
+        Thread thread = new Thread(() -> pollLoop(handler), "TimeTuner-ClusterFile");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void pollLoop(Consumer<byte[]> handler) {
+        byte[] last = null;
+        while (running) {
+            try {
+                // Compare contents rather than timestamps, which can be too coarse
+                byte[] message = Files.readAllBytes(file);
+                if (!Arrays.equals(message, last)) {
+                    last = message;
+                    handler.accept(message);
+                }
+            } catch (NoSuchFileException e) {
+                // No leader has written yet
+            } catch (IOException e) {
+                ErrorHandler.logWarning("Cluster file read failed: %s", e.getMessage());
+            }
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void send(byte[] message) throws IOException {
+        AtomicFiles.write(file, message);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+    }
+}
@@ -0,0 +1,80 @@
+package me.summykai.timetuner.cluster;
+
+import me.summykai.timetuner.utils.ErrorHandler;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * UDP datagrams to a fixed list of peers, e.g. other shards on the same host or LAN.
+ * Followers bind an address and port to listen on and only accept datagrams from the
+ * leader's host; a leader may bind port 0 and only send.
+ */
+public class UdpTransport implements ClusterTransport {
+    private static final int MAX_DATAGRAM = 65507;
+
+    private final InetSocketAddress bindAddress;
+    private final List<InetSocketAddress> peers;
+    private final InetAddress leader;
+    private DatagramSocket socket;
+
+    /**
+     * @param leader the only host datagrams are accepted from, or null to accept none (a leader)
+     */
+    public UdpTransport(InetSocketAddress bindAddress, List<InetSocketAddress> peers, InetAddress leader) {
+        this.bindAddress = bindAddress;
+        this.peers = peers;
+        this.leader = leader;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> handler) throws IOException {
+        DatagramSocket datagramSocket = new DatagramSocket(bindAddress);
+        socket = datagramSocket;
+        Thread thread = new Thread(() -> receiveLoop(datagramSocket, handler), "TimeTuner-ClusterUdp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void receiveLoop(DatagramSocket datagramSocket, Consumer<byte[]> handler) {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!datagramSocket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                datagramSocket.receive(packet);
+                if (leader == null || !leader.equals(packet.getAddress())) {
+                    continue; // Not from the leader; the signature check would reject it anyway
+                }
+                handler.accept(Arrays.copyOfRange(packet.getData(), packet.getOffset(), packet.getOffset() + packet.getLength()));
+            } catch (IOException e) {
+                if (!datagramSocket.isClosed()) {
+                    ErrorHandler.logWarning("Cluster UDP receive failed: %s", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void send(byte[] message) throws IOException {
+        if (socket == null) {
+            return;
+        }
+        for (InetSocketAddress peer : peers) {
+            socket.send(new DatagramPacket(message, message.length, peer));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (socket != null) {
+            socket.close();
+            socket = null;
+        }
+    }
+}
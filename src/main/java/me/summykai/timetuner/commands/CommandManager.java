@@ -2,19 +2,45 @@ package me.summykai.timetuner.commands;
 
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.api.SpeedModifier;
+import me.summykai.timetuner.api.TimePhase;
+import me.summykai.timetuner.api.WorldTimeSnapshot;
+import me.summykai.timetuner.history.HistoryFile;
+import me.summykai.timetuner.replay.InputRecorder;
+import me.summykai.timetuner.players.PersonalClock;
+import me.summykai.timetuner.schedule.ScheduleManager;
+import me.summykai.timetuner.control.ControlQueue;
+import me.summykai.timetuner.time.SeasonCycle;
 import me.summykai.timetuner.time.WorldTimeManager;
 import me.summykai.timetuner.utils.ErrorHandler;
 import me.summykai.timetuner.utils.MessageManager;
 
 public class CommandManager {
+    private static final int MAX_LISTED_SCHEDULE_ENTRIES = 10;
+    private static final DateTimeFormatter SCHEDULE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final TimeTuner plugin;
     private final MessageManager messageManager;
+    private final StatusView statusView;
+    private final HistoryView historyView;
 
     public CommandManager(TimeTuner plugin, MessageManager messageManager) {
         this.plugin = plugin;
         this.messageManager = messageManager;
+        this.statusView = new StatusView(messageManager);
+        this.historyView = new HistoryView(messageManager);
     }
 
     public boolean handleCommand(CommandSender sender, String[] args) {
@@ -23,7 +49,7 @@ public class CommandManager {
                 ErrorHandler.logCommandError(sender, "You don't have permission for this command");
                 return true;
             }
-            return handleStatus(sender);
+            return handleStatus(sender, args);
         }
 
         String subCommand = args[0].toLowerCase();
@@ -34,6 +60,7 @@ public class CommandManager {
             return true;
         }
 
+        plugin.getInputRecorder().command(sender, args);
         if (plugin.isDebugMode()) {
             plugin.getLogger().info(() -> String.format(
                 "Processing command '%s' from %s",
@@ -44,7 +71,7 @@ public class CommandManager {
         
         switch (subCommand) {
             case "reload":
-                return handleReload(sender);
+                return handleReload(sender, args);
             case "pause":
                 return handlePause(sender, args);
             case "resume":
@@ -56,7 +83,15 @@ public class CommandManager {
             case "help":
                 return handleHelp(sender);
             case "status":
-                return handleStatus(sender);
+                return handleStatus(sender, args);
+            case "schedule":
+                return handleSchedule(sender);
+            case "ptime":
+                return handlePlayerTime(sender, args);
+            case "history":
+                return handleHistory(sender, args);
+            case "record":
+                return handleRecord(sender, args);
             default:
                 ErrorHandler.logCommandError(sender, "Unknown command: " + subCommand);
                 return false;
@@ -76,97 +111,149 @@ public class CommandManager {
         }
     }
 
-    public boolean handleStatus(CommandSender sender) {
-        messageManager.sendFeedback(sender, "commands.status.header");
-        
-        for (World world : plugin.getServer().getWorlds()) {
-            WorldTimeManager manager = plugin.getWorldManagers().get(world.getUID());
-            if (manager != null) {
-                messageManager.sendFeedback(sender, "commands.status.world",
-                    "world", world.getName(),
-                    "day_speed", String.format("%.2f", manager.getDaySpeed()),
-                    "night_speed", String.format("%.2f", manager.getNightSpeed()),
-                    "is_day", String.valueOf(manager.isDay()),
-                    "paused", String.valueOf(manager.isPaused()),
-                    "time", String.valueOf(world.getTime())
-                );
+    /**
+     * Looks a typed world name up in the world name index, ignoring case.
+     */
+    private World resolveWorld(String worldName) {
+        String name = plugin.getWorldNameIndex().resolve(worldName);
+        return name != null ? plugin.getServer().getWorld(name) : null;
+    }
+
+    /**
+     * Shows the aggregate view, a page of the world list ({@code status list ...}) or one
+     * world in detail ({@code status <world>}). The aggregate and list views are rendered
+     * from snapshots on an async task.
+     */
+    public boolean handleStatus(CommandSender sender, String[] args) {
+        boolean list = args.length > 1 && args[1].equalsIgnoreCase("list");
+        if (args.length > 1 && !list) {
+            return handleWorldStatus(sender, args[1]);
+        }
+
+        StatusView.Query query = null;
+        if (list) {
+            try {
+                query = StatusView.Query.parse(args, 2);
+            } catch (IllegalArgumentException e) {
+                ErrorHandler.logCommandError(sender, e.getMessage());
+                return false;
             }
         }
-        
+
+        List<WorldTimeSnapshot> snapshots = new ArrayList<>(plugin.getService().getSnapshots());
+        StatusView.Query pageQuery = query;
+        plugin.getTaskScheduler().runAsync(() -> messageManager.sendLines(sender, pageQuery != null
+            ? statusView.renderPage(snapshots, pageQuery)
+            : statusView.renderSummary(snapshots)));
         return true;
     }
 
-    public boolean handleReload(CommandSender sender) {
-        plugin.reloadConfigValues();
-        messageManager.sendFeedback(sender, "commands.reload.success");
+    private boolean handleWorldStatus(CommandSender sender, String worldName) {
+        World world = resolveWorld(worldName);
+        if (world == null) {
+            ErrorHandler.logCommandError(sender, "World not found: " + worldName);
+            return false;
+        }
+        WorldTimeManager manager = plugin.getWorldManagers().get(world.getUID());
+        if (manager == null) {
+            ErrorHandler.logCommandError(sender, "World not managed: " + worldName);
+            return false;
+        }
+
+        messageManager.sendFeedback(sender, "commands.status.world",
+            "world", world.getName(),
+            "day_speed", String.format("%.2f", manager.getDaySpeed()),
+            "night_speed", String.format("%.2f", manager.getNightSpeed()),
+            "is_day", String.valueOf(manager.isDay()),
+            "paused", String.valueOf(manager.isPaused()),
+            "time", String.valueOf(world.getTime())
+        );
+        SeasonCycle seasons = manager.getSeasons();
+        if (seasons != null) {
+            String season = manager.getSeasonName();
+            messageManager.sendFeedback(sender, "commands.status.season",
+                "season", season != null ? season : "-",
+                "day", String.valueOf(seasons.dayInCycle(manager.getDay()) + 1),
+                "cycle", String.valueOf(seasons.getCycleDays()),
+                "total_days", String.valueOf(manager.getDay())
+            );
+        }
+        List<SpeedModifier> modifiers = manager.getModifiers();
+        if (!modifiers.isEmpty()) {
+            StringBuilder names = new StringBuilder();
+            for (SpeedModifier modifier : modifiers) {
+                if (names.length() > 0) {
+                    names.append(", ");
+                }
+                names.append(modifier.getName());
+            }
+            messageManager.sendFeedback(sender, "commands.status.modifiers",
+                "count", String.valueOf(modifiers.size()),
+                "names", names.toString(),
+                "base_day", String.format("%.2f", manager.getBaseDaySpeed()),
+                "base_night", String.format("%.2f", manager.getBaseNightSpeed())
+            );
+        }
         return true;
     }
 
-    public boolean handlePause(CommandSender sender, String[] args) {
-        if (args.length > 1) {
-            String worldName = args[1];
-            World world = plugin.getServer().getWorld(worldName);
-            if (world == null) {
-                ErrorHandler.logCommandError(sender, "World not found: " + worldName);
-                return false;
+    public boolean handleReload(CommandSender sender, String[] args) {
+        boolean clearRuntime = args.length > 1 && args[1].equalsIgnoreCase("clear-runtime");
+        // Reloading updates every world's clock, which belongs to the global region
+        plugin.getTaskScheduler().runGlobal(() -> {
+            if (clearRuntime) {
+                // Drop speeds and pauses set at runtime so config.yml applies again
+                plugin.getRuntimeOverlay().clear();
             }
-            
-            WorldTimeManager manager = plugin.getWorldManagers().get(world.getUID());
-            if (manager == null) {
-                ErrorHandler.logCommandError(sender, "World not managed: " + worldName);
-                return false;
-            }
-            
-            manager.setPaused(true);
-            messageManager.sendFeedback(sender, "commands.pause.world.success", "world", worldName);
-        } else {
-            // Pause all worlds
-            long pausedCount = plugin.getWorldManagers().values().stream()
-                .peek(manager -> manager.setPaused(true))
-                .count();
-            if (pausedCount > 0) {
-                messageManager.sendFeedback(sender, "commands.pause.global.success");
-            } else {
-                messageManager.sendFeedback(sender, "errors.no-managed-worlds");
-            }
-        }
+            plugin.reloadConfigValues();
+            messageManager.sendFeedback(sender, clearRuntime ? "commands.reload.runtime-cleared" : "commands.reload.success");
+        });
         return true;
     }
 
+    public boolean handlePause(CommandSender sender, String[] args) {
+        return handlePauseState(sender, args, true);
+    }
+
     public boolean handleResume(CommandSender sender, String[] args) {
-        if (args.length > 1) {
-            String worldName = args[1];
-            World world = plugin.getServer().getWorld(worldName);
-            if (world == null) {
-                ErrorHandler.logCommandError(sender, "World not found: " + worldName);
-                return false;
-            }
-            
-            WorldTimeManager manager = plugin.getWorldManagers().get(world.getUID());
-            if (manager == null) {
-                ErrorHandler.logCommandError(sender, "World not managed: " + worldName);
-                return false;
-            }
-            
-            manager.setPaused(false);
-            messageManager.sendFeedback(sender, "commands.resume.world.success", "world", worldName);
-        } else {
-            // Resume all worlds
-            long resumedCount = plugin.getWorldManagers().values().stream()
-                .peek(manager -> manager.setPaused(false))
-                .count();
-            if (resumedCount > 0) {
-                messageManager.sendFeedback(sender, "commands.resume.global.success");
+        return handlePauseState(sender, args, false);
+    }
+
+    private boolean handlePauseState(CommandSender sender, String[] args, boolean paused) {
+        List<WorldTimeManager> selected = selectWorlds(sender, args, 1);
+        if (selected == null) {
+            return false;
+        }
+        if (selected.isEmpty()) {
+            messageManager.sendFeedback(sender, "errors.no-managed-worlds");
+            return true;
+        }
+
+        ControlQueue queue = plugin.getControlQueue();
+        List<CompletableFuture<WorldTimeSnapshot>> changes = new ArrayList<>(selected.size());
+        for (WorldTimeManager manager : selected) {
+            changes.add(queue.setPaused(manager.getWorld().getUID(), paused));
+        }
+
+        String key = paused ? "commands.pause" : "commands.resume";
+        whenApplied(sender, changes, () -> {
+            if (args.length <= 1) {
+                messageManager.sendFeedback(sender, key + ".global.success");
+            } else if (isSelector(args[1])) {
+                messageManager.sendFeedback(sender, key + ".selection.success",
+                    "count", String.valueOf(selected.size()),
+                    "worlds", WorldSelector.describe(selected)
+                );
             } else {
-                messageManager.sendFeedback(sender, "errors.no-managed-worlds");
+                messageManager.sendFeedback(sender, key + ".world.success", "world", selected.get(0).getWorld().getName());
             }
-        }
+        });
         return true;
     }
 
     public boolean handleSpeed(CommandSender sender, String[] args) {
         if (args.length < 3) {
-            ErrorHandler.logCommandError(sender, "Usage: /timetuner speed <day|night|both> <speed> [world]");
+            ErrorHandler.logCommandError(sender, "Usage: /timetuner speed <day|night|both> <speed> [worlds]");
             return false;
         }
 
@@ -179,8 +266,8 @@ public class CommandManager {
         double speed;
         try {
             speed = Double.parseDouble(args[2]);
-            if (speed < 0 || speed > 20) {
-                ErrorHandler.logCommandError(sender, "Speed must be between 0 and 20");
+            if (speed < 0 || speed > plugin.getMaxSpeed()) {
+                ErrorHandler.logCommandError(sender, "Speed must be between 0 and " + plugin.getMaxSpeed());
                 return false;
             }
         } catch (NumberFormatException e) {
@@ -188,69 +275,316 @@ public class CommandManager {
             return false;
         }
 
-        WorldTimeManager manager = null;
-        String worldName = null;
+        List<WorldTimeManager> selected = selectWorlds(sender, args, 3);
+        if (selected == null) {
+            return false;
+        }
 
-        if (args.length > 3) {
-            worldName = args[3];
-            World world = plugin.getServer().getWorld(worldName);
-            if (world == null) {
-                ErrorHandler.logCommandError(sender, "World not found: " + worldName);
-                return false;
+        boolean setDay = type.equals("day") || type.equals("both");
+        boolean setNight = type.equals("night") || type.equals("both");
+        boolean global = args.length <= 3;
+        ControlQueue queue = plugin.getControlQueue();
+        List<CompletableFuture<WorldTimeSnapshot>> changes = new ArrayList<>(selected.size());
+        for (WorldTimeManager manager : selected) {
+            // The speed that is not being set keeps the global default, or the world's own configured value
+            if (global || (setDay && setNight)) {
+                changes.add(queue.setSpeeds(manager.getWorld().getUID(),
+                    setDay ? speed : plugin.getDaySpeed(),
+                    setNight ? speed : plugin.getNightSpeed()
+                ));
+            } else {
+                changes.add(queue.setPhaseSpeed(manager.getWorld().getUID(), setDay ? TimePhase.DAY : TimePhase.NIGHT, speed));
             }
+        }
+        if (global) {
+            plugin.getRuntimeOverlay().recordGlobalSpeeds(
+                setDay ? speed : plugin.getDaySpeed(),
+                setNight ? speed : plugin.getNightSpeed()
+            );
+        }
 
-            manager = plugin.getWorldManagers().get(world.getUID());
-            if (manager == null) {
-                ErrorHandler.logCommandError(sender, "World not managed: " + worldName);
-                return false;
+        String formattedSpeed = String.format("%.2f", speed);
+        whenApplied(sender, changes, () -> {
+            if (global) {
+                messageManager.sendFeedback(sender, "commands.speed.success",
+                    "type", type,
+                    "speed", formattedSpeed
+                );
+            } else if (isSelector(args[3])) {
+                messageManager.sendFeedback(sender, "commands.speed.selection",
+                    "type", type,
+                    "speed", formattedSpeed,
+                    "count", String.valueOf(selected.size()),
+                    "worlds", WorldSelector.describe(selected)
+                );
+            } else {
+                messageManager.sendFeedback(sender, "commands.speed.success",
+                    "world", selected.get(0).getWorld().getName(),
+                    "type", type,
+                    "speed", formattedSpeed
+                );
             }
-        }
+        });
 
-        final double newDaySpeed = type.equals("day") || type.equals("both") ? speed : 
-            (manager != null ? manager.getDaySpeed() : plugin.getDaySpeed());
-        final double newNightSpeed = type.equals("night") || type.equals("both") ? speed :
-            (manager != null ? manager.getNightSpeed() : plugin.getNightSpeed());
+        return true;
+    }
 
-        if (manager != null) {
-            // World-specific speed update
-            manager.updateSpeeds(newDaySpeed, newNightSpeed);
-            messageManager.sendFeedback(sender, "commands.speed.success",
-                "world", worldName,
-                "type", type,
-                "speed", String.format("%.2f", speed)
-            );
-        } else {
-            // Global speed update
-            plugin.getWorldManagers().values().forEach(mgr -> mgr.updateSpeeds(newDaySpeed, newNightSpeed));
-            messageManager.sendFeedback(sender, "commands.speed.success",
-                "type", type,
-                "speed", String.format("%.2f", speed)
-            );
+    public boolean handleReset(CommandSender sender, String[] args) {
+        List<WorldTimeManager> selected = selectWorlds(sender, args, 1);
+        if (selected == null) {
+            return false;
         }
 
+        ControlQueue queue = plugin.getControlQueue();
+        List<CompletableFuture<WorldTimeSnapshot>> changes = new ArrayList<>(selected.size());
+        for (WorldTimeManager manager : selected) {
+            changes.add(queue.skipToDay(manager.getWorld().getUID()));
+        }
+
+        whenApplied(sender, changes, () -> {
+            if (args.length > 1 && isSelector(args[1])) {
+                messageManager.sendFeedback(sender, "commands.reset.selection",
+                    "count", String.valueOf(selected.size()),
+                    "worlds", WorldSelector.describe(selected)
+                );
+            } else if (args.length > 1) {
+                messageManager.sendFeedback(sender, "commands.reset.success", "world", selected.get(0).getWorld().getName());
+            } else {
+                messageManager.sendFeedback(sender, "commands.reset.success");
+            }
+        });
         return true;
     }
 
-    public boolean handleReset(CommandSender sender, String[] args) {
-        if (args.length > 1) {
-            String worldName = args[1];
-            World world = plugin.getServer().getWorld(worldName);
-            if (world == null) {
-                ErrorHandler.logCommandError(sender, "World not found: " + worldName);
-                return false;
+    /**
+     * Sends the feedback once every queued change has been applied by the next update,
+     * or the first failure instead.
+     */
+    private void whenApplied(CommandSender sender, List<CompletableFuture<WorldTimeSnapshot>> changes, Runnable feedback) {
+        CompletableFuture.allOf(changes.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error == null) {
+                feedback.run();
+                return;
             }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            ErrorHandler.logCommandError(sender, cause.getMessage());
+        });
+    }
 
+    /**
+     * Resolves the world argument at {@code index} into managed worlds. Without the argument
+     * every managed world is selected.
+     *
+     * @return the selected worlds, or null after an error was sent
+     */
+    private List<WorldTimeManager> selectWorlds(CommandSender sender, String[] args, int index) {
+        if (args.length <= index) {
+            return new ArrayList<>(plugin.getWorldManagers().values());
+        }
+
+        String argument = args[index];
+        if (!isSelector(argument)) {
+            World world = resolveWorld(argument);
+            if (world == null) {
+                ErrorHandler.logCommandError(sender, "World not found: " + argument);
+                return null;
+            }
             WorldTimeManager manager = plugin.getWorldManagers().get(world.getUID());
             if (manager == null) {
-                ErrorHandler.logCommandError(sender, "World not managed: " + worldName);
-                return false;
+                ErrorHandler.logCommandError(sender, "World not managed: " + argument);
+                return null;
             }
+            return Collections.singletonList(manager);
+        }
+
+        List<WorldTimeManager> selected;
+        try {
+            selected = WorldSelector.parse(argument, plugin.getWorldGroups()).select(plugin.getWorldManagers().values());
+        } catch (IllegalArgumentException e) {
+            ErrorHandler.logCommandError(sender, e.getMessage());
+            return null;
+        }
+        if (selected.isEmpty()) {
+            messageManager.sendFeedback(sender, "errors.no-matching-worlds", "selector", argument);
+            return null;
+        }
+
+        if (plugin.isDebugMode()) {
+            plugin.getLogger().info(() -> String.format(
+                "Selector '%s' matched %d worlds", argument, selected.size()
+            ));
+        }
+        return selected;
+    }
+
+    /**
+     * @return true if the argument is a selector rather than a single world name
+     */
+    private static boolean isSelector(String argument) {
+        return argument.indexOf(',') >= 0 || argument.indexOf('*') >= 0 || argument.indexOf('?') >= 0
+            || argument.indexOf(':') >= 0 || argument.equalsIgnoreCase("all") || argument.equalsIgnoreCase("empty");
+    }
+
+    /**
+     * Shows a world's recorded clock history over a range ({@code 10m} by default). The mapped
+     * file is scanned on an async task.
+     */
+    public boolean handleHistory(CommandSender sender, String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            ErrorHandler.logCommandError(sender, "Usage: /timetuner history <world> [range, e.g. 30s, 10m, 2h, 1d]");
+            return false;
+        }
+
+        HistoryFile history = plugin.getHistoryRecorder().view();
+        if (history == null) {
+            messageManager.sendFeedback(sender, "commands.history.disabled");
+            return true;
+        }
+
+        String range = args.length > 2 ? args[2] : "10m";
+        long rangeMillis;
+        try {
+            rangeMillis = HistoryView.parseRange(range);
+        } catch (IllegalArgumentException e) {
+            ErrorHandler.logCommandError(sender, e.getMessage());
+            return false;
+        }
+
+        // Unloaded worlds keep their history, so fall back to the name typed
+        String resolved = plugin.getWorldNameIndex().resolve(args[1]);
+        String worldName = resolved != null ? resolved : args[1];
+        int world = history.findWorld(worldName);
+        if (world < 0) {
+            ErrorHandler.logCommandError(sender, "No history recorded for world: " + args[1]);
+            return false;
+        }
+
+        plugin.getTaskScheduler().runAsync(() -> messageManager.sendLines(sender,
+            historyView.render(history, world, worldName, range, rangeMillis)));
+        return true;
+    }
 
-            manager.skipToDay();
-            messageManager.sendFeedback(sender, "commands.reset.success", "world", worldName);
-        } else {
-            plugin.resetWorldTimes();
-            messageManager.sendFeedback(sender, "commands.reset.success");
+    /**
+     * Starts or stops recording inputs for offline replay, or shows whether a recording runs.
+     */
+    public boolean handleRecord(CommandSender sender, String[] args) {
+        InputRecorder recorder = plugin.getInputRecorder();
+        String action = args.length > 1 ? args[1].toLowerCase() : "status";
+        switch (action) {
+            case "start":
+                if (recorder.isRecording()) {
+                    messageManager.sendFeedback(sender, "commands.record.running", "file", recorder.getFile().getName());
+                    return true;
+                }
+                try {
+                    recorder.start();
+                } catch (IOException e) {
+                    ErrorHandler.logPluginError("Could not start input recording", e);
+                    ErrorHandler.logCommandError(sender, "Could not start recording: " + e.getMessage());
+                    return false;
+                }
+                messageManager.sendFeedback(sender, "commands.record.started", "file", recorder.getFile().getName());
+                return true;
+            case "stop":
+                if (!recorder.isRecording()) {
+                    messageManager.sendFeedback(sender, "commands.record.idle");
+                    return true;
+                }
+                recorder.stop();
+                messageManager.sendFeedback(sender, "commands.record.stopped", "file", recorder.getFile().getName());
+                return true;
+            case "status":
+                if (recorder.isRecording()) {
+                    messageManager.sendFeedback(sender, "commands.record.running", "file", recorder.getFile().getName());
+                } else {
+                    messageManager.sendFeedback(sender, "commands.record.idle");
+                }
+                return true;
+            default:
+                ErrorHandler.logCommandError(sender, "Usage: /timetuner record <start|stop|status>");
+                return false;
+        }
+    }
+
+    public boolean handlePlayerTime(CommandSender sender, String[] args) {
+        String usage = "Usage: /timetuner ptime <player> <speed|offset|fixed|reset> [value]";
+        if (args.length < 3) {
+            ErrorHandler.logCommandError(sender, usage);
+            return false;
+        }
+
+        Player player = plugin.getServer().getPlayerExact(args[1]);
+        if (player == null) {
+            ErrorHandler.logCommandError(sender, "Player not online: " + args[1]);
+            return false;
+        }
+
+        String mode = args[2].toLowerCase();
+        if (mode.equals("reset")) {
+            plugin.getPersonalClockManager().clearClock(player);
+            messageManager.sendFeedback(sender, "commands.ptime.reset", "player", player.getName());
+            return true;
+        }
+        if (args.length < 4) {
+            ErrorHandler.logCommandError(sender, usage);
+            return false;
+        }
+
+        double value;
+        try {
+            value = Double.parseDouble(args[3]);
+        } catch (NumberFormatException e) {
+            ErrorHandler.logCommandError(sender, "Invalid value: " + args[3]);
+            return false;
+        }
+
+        PersonalClock.Mode clockMode;
+        switch (mode) {
+            case "speed":
+                if (value < 0 || value > plugin.getMaxSpeed()) {
+                    ErrorHandler.logCommandError(sender, "Speed must be between 0 and " + plugin.getMaxSpeed());
+                    return false;
+                }
+                clockMode = PersonalClock.Mode.SPEED;
+                break;
+            case "offset":
+                clockMode = PersonalClock.Mode.OFFSET;
+                break;
+            case "fixed":
+                clockMode = PersonalClock.Mode.FIXED;
+                break;
+            default:
+                ErrorHandler.logCommandError(sender, usage);
+                return false;
+        }
+
+        plugin.getPersonalClockManager().setClock(player, new PersonalClock(player.getUniqueId(), clockMode, value, "command"));
+        messageManager.sendFeedback(sender, "commands.ptime.success",
+            "player", player.getName(),
+            "mode", mode,
+            "value", args[3]
+        );
+        return true;
+    }
+
+    public boolean handleSchedule(CommandSender sender) {
+        ScheduleManager scheduleManager = plugin.getScheduleManager();
+        List<ScheduleManager.PendingRun> pending = scheduleManager.getPending();
+        messageManager.sendFeedback(sender, "commands.schedule.header", "zone", scheduleManager.getZone().getId());
+
+        if (pending.isEmpty()) {
+            messageManager.sendFeedback(sender, "commands.schedule.empty");
+            return true;
+        }
+
+        for (ScheduleManager.PendingRun run : pending.subList(0, Math.min(MAX_LISTED_SCHEDULE_ENTRIES, pending.size()))) {
+            List<String> worlds = run.getEntry().getWorlds();
+            messageManager.sendFeedback(sender, "commands.schedule.item",
+                "name", run.getEntry().getName(),
+                "action", run.getEntry().getAction().name().toLowerCase(),
+                "time", SCHEDULE_TIME_FORMAT.format(Instant.ofEpochMilli(run.getRunAt()).atZone(scheduleManager.getZone())),
+                "worlds", worlds.isEmpty() ? "all" : String.join(", ", worlds)
+            );
         }
         return true;
     }
@@ -263,6 +597,10 @@ public class CommandManager {
         messageManager.sendFeedback(sender, "commands.help.speed");
         messageManager.sendFeedback(sender, "commands.help.reset");
         messageManager.sendFeedback(sender, "commands.help.status");
+        messageManager.sendFeedback(sender, "commands.help.ptime");
+        messageManager.sendFeedback(sender, "commands.help.schedule");
+        messageManager.sendFeedback(sender, "commands.help.history");
+        messageManager.sendFeedback(sender, "commands.help.record");
         return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package me.summykai.timetuner.commands;
+
+import me.summykai.timetuner.history.HistoryCause;
+import me.summykai.timetuner.history.HistoryFile;
+import me.summykai.timetuner.history.HistoryRecord;
+import me.summykai.timetuner.time.Time;
+import me.summykai.timetuner.utils.MessageManager;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renders {@code /timetuner history} from the mapped history file, off the main thread.
+ * <p>
+ * Besides the recorded events (external changes, skips, pauses, rebases), consecutive periodic
+ * samples are compared against the recorded speed: a clock that moved much further than its
+ * speed allows, or backwards, is reported as a jump, and one that stood still while running
+ * as frozen.
+ */
+final class HistoryView {
+    private static final int MAX_LINES = 20;
+    private static final long JUMP_TOLERANCE = 100; // Ticks, covers a phase change between samples
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("MM-dd HH:mm:ss")
+        .withZone(ZoneId.systemDefault());
+
+    private final MessageManager messages;
+
+    HistoryView(MessageManager messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Parses a range such as {@code 30s}, {@code 10m}, {@code 2h} or {@code 1d}.
+     *
+     * @return the range in milliseconds
+     * @throws IllegalArgumentException if the range is malformed
+     */
+    static long parseRange(String range) {
+        String lower = range.toLowerCase(Locale.ROOT);
+        if (lower.length() < 2) {
+            throw new IllegalArgumentException("Invalid range: " + range + " (use e.g. 30s, 10m, 2h or 1d)");
+        }
+        long unit;
+        switch (lower.charAt(lower.length() - 1)) {
+            case 's':
+                unit = 1000L;
+                break;
+            case 'm':
+                unit = 60_000L;
+                break;
+            case 'h':
+                unit = 3_600_000L;
+                break;
+            case 'd':
+                unit = 86_400_000L;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid range: " + range + " (use e.g. 30s, 10m, 2h or 1d)");
+        }
+        try {
+            long amount = Long.parseLong(lower.substring(0, lower.length() - 1));
+            if (amount < 1 || amount > Long.MAX_VALUE / unit) {
+                throw new NumberFormatException();
+            }
+            return amount * unit;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid range: " + range + " (use e.g. 30s, 10m, 2h or 1d)");
+        }
+    }
+
+    List<String> render(HistoryFile history, int world, String worldName, String range, long rangeMillis) {
+        List<HistoryRecord> records = history.read(world, System.currentTimeMillis() - rangeMillis);
+        List<String> lines = new ArrayList<>();
+        if (records.isEmpty()) {
+            lines.add(messages.format("commands.history.empty", "world", worldName, "range", range));
+            return lines;
+        }
+
+        List<String> entries = new ArrayList<>();
+        int events = 0;
+        int anomalies = 0;
+        HistoryRecord previousSample = null;
+        for (HistoryRecord record : records) {
+            if (record.getCause() != HistoryCause.PERIODIC) {
+                events++;
+                entries.add(formatEvent(record));
+                continue;
+            }
+            if (previousSample != null) {
+                String anomaly = checkSamples(previousSample, record);
+                if (anomaly != null) {
+                    anomalies++;
+                    entries.add(anomaly);
+                }
+            }
+            previousSample = record;
+        }
+
+        HistoryRecord first = records.get(0);
+        HistoryRecord last = records.get(records.size() - 1);
+        lines.add(messages.format("commands.history.header", "world", worldName, "range", range));
+        lines.add(messages.format("commands.history.summary",
+            "records", String.valueOf(records.size()),
+            "events", String.valueOf(events),
+            "anomalies", String.valueOf(anomalies),
+            "from", String.valueOf(first.getFullTime()),
+            "to", String.valueOf(last.getFullTime())
+        ));
+        if (entries.size() > MAX_LINES) {
+            lines.add(messages.format("commands.history.more", "count", String.valueOf(entries.size() - MAX_LINES)));
+            entries = entries.subList(entries.size() - MAX_LINES, entries.size());
+        }
+        lines.addAll(entries);
+        return lines;
+    }
+
+    private String formatEvent(HistoryRecord record) {
+        List<String> flags = new ArrayList<>();
+        if (record.hasFlag(HistoryFile.FLAG_PAUSED)) {
+            flags.add("paused");
+        }
+        if (record.hasFlag(HistoryFile.FLAG_SKIPPING)) {
+            flags.add("skipping");
+        }
+        if (record.hasFlag(HistoryFile.FLAG_CLUSTER)) {
+            flags.add("cluster");
+        }
+        if (record.hasFlag(HistoryFile.FLAG_REAL_TIME)) {
+            flags.add("real-time");
+        }
+        return messages.format("commands.history.event",
+            "when", TIME_FORMAT.format(Instant.ofEpochMilli(record.getMillis())),
+            "cause", record.getCause() != null ? record.getCause().name().toLowerCase(Locale.ROOT).replace('_', '-') : "unknown",
+            "time", String.valueOf(Math.floorMod(record.getFullTime(), Time.DAY_LENGTH)),
+            "full_time", String.valueOf(record.getFullTime()),
+            "speed", String.format("%.2f", record.getSpeed()),
+            "flags", flags.isEmpty() ? "" : " (" + String.join(", ", flags) + ")"
+        );
+    }
+
+    /**
+     * @return a formatted anomaly between two periodic samples, or null if the clock moved as expected
+     */
+    private String checkSamples(HistoryRecord from, HistoryRecord to) {
+        long ticks = to.getTick() - from.getTick();
+        long moved = to.getFullTime() - from.getFullTime();
+        if (ticks <= 0) {
+            return null; // Restarted in between; the tick counter starts over
+        }
+
+        String kind = null;
+        long expected = 0;
+        if (moved < 0) {
+            kind = "jumped back";
+        } else if (!from.hasFlag(HistoryFile.FLAG_CLUSTER | HistoryFile.FLAG_REAL_TIME)
+            && !to.hasFlag(HistoryFile.FLAG_CLUSTER | HistoryFile.FLAG_REAL_TIME)) {
+            // Either speed may have applied, as the phase can change between samples
+            expected = Math.round(Math.max(from.getSpeed(), to.getSpeed()) * ticks);
+            boolean held = from.hasFlag(HistoryFile.FLAG_STOPPED) || to.hasFlag(HistoryFile.FLAG_STOPPED);
+            if (moved > expected + JUMP_TOLERANCE) {
+                kind = "jumped";
+            } else if (moved == 0 && !held && expected >= 2) {
+                kind = "froze";
+            }
+        }
+        if (kind == null) {
+            return null;
+        }
+        return messages.format("commands.history.anomaly",
+            "when", TIME_FORMAT.format(Instant.ofEpochMilli(to.getMillis())),
+            "kind", kind,
+            "from", String.valueOf(from.getFullTime()),
+            "to", String.valueOf(to.getFullTime()),
+            "ticks", String.valueOf(ticks),
+            "expected", String.valueOf(expected)
+        );
+    }
+}
@@ -0,0 +1,225 @@
+package me.summykai.timetuner.commands;
+
+import me.summykai.timetuner.api.TimePhase;
+import me.summykai.timetuner.api.WorldTimeSnapshot;
+import me.summykai.timetuner.utils.MessageManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Renders {@code /timetuner status} from published world snapshots, so it can run off the main thread.
+ * <p>
+ * The default view aggregates all worlds into state counts and speed histograms, which stays a
+ * few lines long with hundreds of worlds. The list view shows one page of worlds, optionally
+ * filtered and sorted. Each view is sent as a single chat message.
+ */
+final class StatusView {
+    static final int PAGE_SIZE = 10;
+    private static final String[] BUCKET_LABELS = {"0x", "<1x", "1x", "1-2x", "2-10x", ">10x"};
+    private static final int BAR_WIDTH = 20;
+
+    enum Sort {
+        NAME(Comparator.comparing(snapshot -> snapshot.getWorldName().toLowerCase(Locale.ROOT))),
+        SPEED(Comparator.comparingDouble(WorldTimeSnapshot::getDaySpeed).reversed()),
+        TIME(Comparator.comparingLong(WorldTimeSnapshot::getTime)),
+        DAY(Comparator.comparingLong(WorldTimeSnapshot::getDay).reversed());
+
+        private final Comparator<WorldTimeSnapshot> order;
+
+        Sort(Comparator<WorldTimeSnapshot> order) {
+            this.order = order;
+        }
+    }
+
+    private final MessageManager messages;
+
+    StatusView(MessageManager messages) {
+        this.messages = messages;
+    }
+
+    List<String> renderSummary(List<WorldTimeSnapshot> snapshots) {
+        int paused = 0;
+        int skipping = 0;
+        int day = 0;
+        int[] dayBuckets = new int[BUCKET_LABELS.length];
+        int[] nightBuckets = new int[BUCKET_LABELS.length];
+        for (WorldTimeSnapshot snapshot : snapshots) {
+            if (snapshot.isPaused()) {
+                paused++;
+            }
+            if (snapshot.isSkipping()) {
+                skipping++;
+            }
+            if (snapshot.getPhase() == TimePhase.DAY) {
+                day++;
+            }
+            dayBuckets[bucket(snapshot.getDaySpeed())]++;
+            nightBuckets[bucket(snapshot.getNightSpeed())]++;
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(messages.format("commands.status.header"));
+        lines.add(messages.format("commands.status.summary",
+            "total", String.valueOf(snapshots.size()),
+            "running", String.valueOf(snapshots.size() - paused),
+            "paused", String.valueOf(paused),
+            "skipping", String.valueOf(skipping),
+            "day", String.valueOf(day),
+            "night", String.valueOf(snapshots.size() - day)
+        ));
+        if (!snapshots.isEmpty()) {
+            addHistogram(lines, "commands.status.day-speeds", dayBuckets, snapshots.size());
+            addHistogram(lines, "commands.status.night-speeds", nightBuckets, snapshots.size());
+        }
+        lines.add(messages.format("commands.status.list-hint"));
+        return lines;
+    }
+
+    private void addHistogram(List<String> lines, String headerKey, int[] buckets, int total) {
+        lines.add(messages.format(headerKey));
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] == 0) {
+                continue;
+            }
+            int width = Math.max(1, (int) Math.round((double) buckets[i] * BAR_WIDTH / total));
+            StringBuilder bar = new StringBuilder(width);
+            for (int j = 0; j < width; j++) {
+                bar.append('|');
+            }
+            lines.add(messages.format("commands.status.histogram",
+                "range", BUCKET_LABELS[i],
+                "bar", bar.toString(),
+                "count", String.valueOf(buckets[i])
+            ));
+        }
+    }
+
+    private static int bucket(double speed) {
+        if (speed <= 0) {
+            return 0;
+        }
+        if (speed < 1) {
+            return 1;
+        }
+        if (speed == 1) {
+            return 2;
+        }
+        if (speed <= 2) {
+            return 3;
+        }
+        return speed <= 10 ? 4 : 5;
+    }
+
+    List<String> renderPage(List<WorldTimeSnapshot> snapshots, Query query) {
+        List<WorldTimeSnapshot> matching = new ArrayList<>();
+        for (WorldTimeSnapshot snapshot : snapshots) {
+            if (query.filter.test(snapshot)) {
+                matching.add(snapshot);
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        if (matching.isEmpty()) {
+            lines.add(messages.format("commands.status.no-match"));
+            return lines;
+        }
+        matching.sort(query.sort.order);
+
+        int pages = (matching.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        int page = Math.min(query.page, pages);
+        int from = (page - 1) * PAGE_SIZE;
+        int to = Math.min(matching.size(), from + PAGE_SIZE);
+
+        lines.add(messages.format("commands.status.page-header",
+            "from", String.valueOf(from + 1),
+            "to", String.valueOf(to),
+            "total", String.valueOf(matching.size()),
+            "page", String.valueOf(page),
+            "pages", String.valueOf(pages),
+            "sort", query.sort.name().toLowerCase(Locale.ROOT)
+        ));
+        for (WorldTimeSnapshot snapshot : matching.subList(from, to)) {
+            lines.add(messages.format("commands.status.world",
+                "world", snapshot.getWorldName(),
+                "day_speed", String.format("%.2f", snapshot.getDaySpeed()),
+                "night_speed", String.format("%.2f", snapshot.getNightSpeed()),
+                "is_day", String.valueOf(snapshot.getPhase() == TimePhase.DAY),
+                "paused", String.valueOf(snapshot.isPaused()),
+                "time", String.valueOf(snapshot.getTime())
+            ));
+        }
+        if (page < pages) {
+            lines.add(messages.format("commands.status.next-page", "page", String.valueOf(page + 1)));
+        }
+        return lines;
+    }
+
+    /**
+     * Options of the list view: {@code [page] [sort:name|speed|time|day] [filter]}, in any order.
+     * The filter is a state (paused, running, skipping, day, night), a glob, or part of a world name.
+     */
+    static final class Query {
+        private final int page;
+        private final Sort sort;
+        private final Predicate<WorldTimeSnapshot> filter;
+
+        private Query(int page, Sort sort, Predicate<WorldTimeSnapshot> filter) {
+            this.page = page;
+            this.sort = sort;
+            this.filter = filter;
+        }
+
+        /**
+         * @throws IllegalArgumentException for an invalid page or sort key
+         */
+        static Query parse(String[] args, int from) {
+            int page = 1;
+            Sort sort = Sort.NAME;
+            Predicate<WorldTimeSnapshot> filter = snapshot -> true;
+            for (int i = from; i < args.length; i++) {
+                String arg = args[i].toLowerCase(Locale.ROOT);
+                if (arg.chars().allMatch(Character::isDigit)) {
+                    page = Integer.parseInt(arg);
+                    if (page < 1) {
+                        throw new IllegalArgumentException("Page must be at least 1");
+                    }
+                } else if (arg.startsWith("sort:")) {
+                    try {
+                        sort = Sort.valueOf(arg.substring(5).toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown sort: " + arg.substring(5) + " (use name, speed, time or day)");
+                    }
+                } else {
+                    filter = filter.and(parseFilter(arg));
+                }
+            }
+            return new Query(page, sort, filter);
+        }
+
+        private static Predicate<WorldTimeSnapshot> parseFilter(String filter) {
+            switch (filter) {
+                case "paused":
+                    return WorldTimeSnapshot::isPaused;
+                case "running":
+                    return snapshot -> !snapshot.isPaused();
+                case "skipping":
+                    return WorldTimeSnapshot::isSkipping;
+                case "day":
+                    return snapshot -> snapshot.getPhase() == TimePhase.DAY;
+                case "night":
+                    return snapshot -> snapshot.getPhase() == TimePhase.NIGHT;
+                default:
+                    if (WorldSelector.isGlob(filter)) {
+                        Pattern glob = WorldSelector.compileGlob(filter);
+                        return snapshot -> glob.matcher(snapshot.getWorldName()).matches();
+                    }
+                    return snapshot -> snapshot.getWorldName().toLowerCase(Locale.ROOT).contains(filter);
+            }
+        }
+    }
+}
@@ -1,24 +1,36 @@
 package me.summykai.timetuner.commands;
 
-import org.bukkit.World;
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
 
 import me.summykai.timetuner.TimeTuner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
-public class TimeTunerCommandExecutor implements CommandExecutor, TabCompleter {
+/**
+ * Runs TimeTuner commands and completes their arguments.
+ * <p>
+ * Player completions are answered off the main thread through Paper's
+ * {@link AsyncTabCompleteEvent}; the synchronous {@link TabCompleter} path stays as the
+ * fallback for the console. Both only read immutable state such as the world name index.
+ */
+public class TimeTunerCommandExecutor implements CommandExecutor, TabCompleter, Listener {
+    private static final List<String> COMMAND_LABELS = Arrays.asList(
+        "timetuner", "tt"
+    );
     private static final List<String> MAIN_COMMANDS = Arrays.asList(
-        "reload", "pause", "resume", "speed", "status", "reset", "help"
+        "reload", "pause", "resume", "speed", "status", "reset", "ptime", "schedule", "history", "record", "help"
     );
     private static final List<String> SPEED_ARGS = Arrays.asList(
         "day", "night", "both"
@@ -26,19 +38,28 @@ public class TimeTunerCommandExecutor implements CommandExecutor, TabCompleter {
     private static final List<String> DEFAULT_SPEEDS = Arrays.asList(
         "0", "0.5", "1", "2"
     );
-    private static final int MAX_SPEED = 20;
-    private static final long CACHE_DURATION = 5000; // 5 seconds
+    private static final List<String> RECORD_ARGS = Arrays.asList(
+        "start", "stop", "status"
+    );
+    private static final List<String> HISTORY_RANGES = Arrays.asList(
+        "1m", "10m", "1h", "1d"
+    );
+    private static final List<String> SELECTOR_KEYWORDS = Arrays.asList(
+        "all", "empty", "group:", "env:"
+    );
+    private static final List<String> ENVIRONMENTS = Arrays.asList(
+        "normal", "nether", "the_end", "custom"
+    );
+    private static final List<String> STATUS_OPTIONS = Arrays.asList(
+        "sort:name", "sort:speed", "sort:time", "sort:day", "paused", "running", "skipping", "day", "night"
+    );
 
     private final TimeTuner plugin;
     private final CommandManager commandManager;
-    private final Map<String, List<String>> completionCache;
-    private long lastCacheUpdate;
 
     public TimeTunerCommandExecutor(TimeTuner plugin, CommandManager commandManager) {
         this.plugin = plugin;
         this.commandManager = commandManager;
-        this.completionCache = new HashMap<>();
-        this.lastCacheUpdate = 0;
     }
 
     @Override
@@ -48,6 +69,34 @@ public class TimeTunerCommandExecutor implements CommandExecutor, TabCompleter {
 
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        return complete(sender, args);
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand()) {
+            return;
+        }
+
+        String buffer = event.getBuffer();
+        int space = buffer.indexOf(' ');
+        if (space < 0) {
+            return; // Still typing the command itself
+        }
+        String label = buffer.substring(buffer.startsWith("/") ? 1 : 0, space).toLowerCase(Locale.ROOT);
+        if (label.startsWith("timetuner:")) {
+            label = label.substring("timetuner:".length());
+        }
+        if (!COMMAND_LABELS.contains(label)) {
+            return;
+        }
+
+        String[] args = buffer.substring(space + 1).split(" ", -1);
+        event.setCompletions(complete(event.getSender(), args));
+        event.setHandled(true);
+    }
+
+    private List<String> complete(CommandSender sender, String[] args) {
         if (args.length == 0) {
             return MAIN_COMMANDS;
         }
@@ -79,6 +128,27 @@ public class TimeTunerCommandExecutor implements CommandExecutor, TabCompleter {
                         completions = getWorldCompletions(partial);
                     }
                     break;
+                case "reload":
+                    if ("clear-runtime".startsWith(partial)) {
+                        completions = Collections.singletonList("clear-runtime");
+                    }
+                    break;
+                case "history":
+                    if (hasPermission(sender, "timetuner.history")) {
+                        completions = new ArrayList<>(plugin.getWorldNameIndex().complete(partial));
+                    }
+                    break;
+                case "record":
+                    completions = RECORD_ARGS.stream()
+                        .filter(arg -> arg.startsWith(partial))
+                        .collect(Collectors.toList());
+                    break;
+                case "status":
+                    completions = new ArrayList<>(plugin.getWorldNameIndex().complete(partial));
+                    if ("list".startsWith(partial)) {
+                        completions.add("list");
+                    }
+                    break;
                 default:
                     break;
             }
@@ -92,9 +162,23 @@ public class TimeTunerCommandExecutor implements CommandExecutor, TabCompleter {
                 } else {
                     completions = getWorldCompletions(partial);
                 }
+            } else if ("history".equals(cmd) && hasPermission(sender, "timetuner.history")) {
+                completions = HISTORY_RANGES.stream()
+                    .filter(range -> range.startsWith(partial))
+                    .collect(Collectors.toList());
+            }
+        } else if (args.length == 4) {
+            if ("speed".equalsIgnoreCase(args[0]) && hasPermission(sender, "timetuner.speed")) {
+                completions = getWorldCompletions(partial);
             }
         }
 
+        if (args.length >= 3 && "status".equalsIgnoreCase(args[0]) && "list".equalsIgnoreCase(args[1])) {
+            completions = STATUS_OPTIONS.stream()
+                .filter(option -> option.startsWith(partial))
+                .collect(Collectors.toList());
+        }
+
         return completions;
     }
 
@@ -124,39 +208,37 @@ public class TimeTunerCommandExecutor implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * Completes a world name or selector term. Only the term after the last comma is completed.
+     */
     private List<String> getWorldCompletions(String partial) {
-        long now = System.currentTimeMillis();
-        String cacheKey = "worlds_" + partial.toLowerCase();
-
-        // Check cache first
-        if (now - lastCacheUpdate < CACHE_DURATION) {
-            List<String> cached = completionCache.get(cacheKey);
-            if (cached != null) {
-                if (plugin.isDebugMode()) {
-                    plugin.getLogger().info("Using cached world completions for '" + partial + "'");
-                }
-                return cached;
-            }
-        }
-
-        // Cache expired or missing, rebuild
-        List<String> worlds = plugin.getServer().getWorlds().stream()
-            .map(World::getName)
-            .filter(name -> name.toLowerCase().startsWith(partial.toLowerCase()))
-            .collect(Collectors.toList());
+        int comma = partial.lastIndexOf(',');
+        String head = partial.substring(0, comma + 1);
+        String term = partial.substring(comma + 1);
 
-        // Update cache
-        completionCache.put(cacheKey, worlds);
-        lastCacheUpdate = now;
+        List<String> terms = new ArrayList<>();
+        if (term.startsWith("group:")) {
+            addMatching(terms, "group:", plugin.getWorldGroups().keySet(), term);
+        } else if (term.startsWith("env:")) {
+            addMatching(terms, "env:", ENVIRONMENTS, term);
+        } else {
+            terms.addAll(plugin.getWorldNameIndex().complete(term));
+            addMatching(terms, "", SELECTOR_KEYWORDS, term);
+        }
 
-        if (plugin.isDebugMode()) {
-            plugin.getLogger().info(String.format(
-                "Updated world completions cache for '%s' with %d entries",
-                partial, worlds.size()
-            ));
+        if (head.isEmpty()) {
+            return terms;
         }
+        return terms.stream().map(completion -> head + completion).collect(Collectors.toList());
+    }
 
-        return worlds;
+    private static void addMatching(List<String> completions, String prefix, Collection<String> values, String partial) {
+        for (String value : values) {
+            String completion = prefix + value;
+            if (completion.startsWith(partial)) {
+                completions.add(completion);
+            }
+        }
     }
 
     private List<String> getSpeedCompletions(String partial) {
@@ -169,8 +251,8 @@ public class TimeTunerCommandExecutor implements CommandExecutor, TabCompleter {
             if (value < 0) {
                 return Collections.emptyList();
             }
-            if (value > MAX_SPEED) {
-                return Collections.singletonList(String.valueOf(MAX_SPEED));
+            if (value > plugin.getMaxSpeed()) {
+                return Collections.singletonList(String.valueOf(plugin.getMaxSpeed()));
             }
             return Collections.singletonList(partial);
         } catch (NumberFormatException e) {
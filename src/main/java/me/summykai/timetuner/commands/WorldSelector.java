@@ -0,0 +1,148 @@
+package me.summykai.timetuner.commands;
+
+import me.summykai.timetuner.time.WorldTimeManager;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A world selector argument, parsed once and matched against the managed worlds in one pass.
+ * <p>
+ * Terms are separated by commas and combined as a union:
+ * <pre>
+ * all, *          every managed world
+ * dungeon_*       world names matching a glob (* and ?), ignoring case
+ * group:&lt;name&gt;    the worlds of a group from the world-groups config section
+ * env:&lt;type&gt;      worlds of an environment (normal, nether, the_end, custom)
+ * empty           worlds without players
+ * &lt;name&gt;          one world, ignoring case
+ * </pre>
+ */
+public final class WorldSelector {
+    private static final int MAX_LISTED_WORLDS = 5;
+
+    private final String text;
+    private final Predicate<World> predicate;
+
+    private WorldSelector(String text, Predicate<World> predicate) {
+        this.text = text;
+        this.predicate = predicate;
+    }
+
+    /**
+     * @param groups world groups by lowercase name, each a list of names or globs
+     * @throws IllegalArgumentException for an unknown group or environment
+     */
+    public static WorldSelector parse(String text, Map<String, List<String>> groups) {
+        Predicate<World> predicate = world -> false;
+        for (String term : text.split(",")) {
+            term = term.trim();
+            if (!term.isEmpty()) {
+                predicate = predicate.or(parseTerm(term, groups));
+            }
+        }
+        return new WorldSelector(text, predicate);
+    }
+
+    private static Predicate<World> parseTerm(String term, Map<String, List<String>> groups) {
+        String lower = term.toLowerCase(Locale.ROOT);
+        if (lower.equals("all") || lower.equals("*")) {
+            return world -> true;
+        }
+        if (lower.equals("empty")) {
+            return world -> world.getPlayers().isEmpty();
+        }
+        if (lower.startsWith("env:")) {
+            World.Environment environment;
+            try {
+                environment = World.Environment.valueOf(lower.substring(4).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown environment: " + term.substring(4));
+            }
+            return world -> world.getEnvironment() == environment;
+        }
+        if (lower.startsWith("group:")) {
+            List<String> members = groups.get(lower.substring(6));
+            if (members == null) {
+                throw new IllegalArgumentException("Unknown world group: " + term.substring(6));
+            }
+            Predicate<World> predicate = world -> false;
+            for (String member : members) {
+                predicate = predicate.or(nameMatcher(member));
+            }
+            return predicate;
+        }
+        return nameMatcher(term);
+    }
+
+    private static Predicate<World> nameMatcher(String pattern) {
+        if (!isGlob(pattern)) {
+            return world -> world.getName().equalsIgnoreCase(pattern);
+        }
+        Pattern compiled = compileGlob(pattern);
+        return world -> compiled.matcher(world.getName()).matches();
+    }
+
+    static boolean isGlob(String pattern) {
+        return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0;
+    }
+
+    /**
+     * Compiles a glob ({@code *} and {@code ?}) into a case-insensitive pattern.
+     */
+    static Pattern compileGlob(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * @return the managed worlds the selector matches, in iteration order
+     */
+    public List<WorldTimeManager> select(Collection<WorldTimeManager> managers) {
+        List<WorldTimeManager> selected = new ArrayList<>();
+        for (WorldTimeManager manager : managers) {
+            if (predicate.test(manager.getWorld())) {
+                selected.add(manager);
+            }
+        }
+        return selected;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Formats world names for a summary line, listing a few and counting the rest.
+     */
+    public static String describe(List<WorldTimeManager> managers) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < Math.min(MAX_LISTED_WORLDS, managers.size()); i++) {
+            names.add(managers.get(i).getWorld().getName());
+        }
+        String listed = String.join(", ", names);
+        int remaining = managers.size() - names.size();
+        return remaining > 0 ? listed + " and " + remaining + " more" : listed;
+    }
+}
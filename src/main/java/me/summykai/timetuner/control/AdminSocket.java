@@ -0,0 +1,439 @@
+package me.summykai.timetuner.control;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.TimeTuner.SpeedProfile;
+import me.summykai.timetuner.api.SpeedModifier;
+import me.summykai.timetuner.commands.WorldSelector;
+import me.summykai.timetuner.utils.ErrorHandler;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional localhost TCP channel for scripted bulk control.
+ * <p>
+ * A client sends {@code AUTH <token>}, then one operation per line, then {@code END} (or
+ * closes its output). All operations of a connection are queued on the {@link ControlQueue}
+ * as one batch, so they are applied in a single main-thread pass, and the client gets one
+ * summary line followed by any per-line errors. Worlds are chosen with a {@link WorldSelector},
+ * which the queue resolves on the main thread when the batch is applied.
+ * <p>
+ * Connections are handled by a small bounded pool, and each one is closed once its
+ * deadline passes, however slowly the client sends, or as soon as a line runs past
+ * {@value #MAX_LINE_LENGTH} characters.
+ * <pre>
+ * speed &lt;worlds&gt; &lt;day&gt; &lt;night&gt;
+ * profile &lt;worlds&gt; &lt;profile&gt;
+ * pause &lt;worlds&gt;
+ * resume &lt;worlds&gt;
+ * reset &lt;worlds&gt;
+ * modifier &lt;worlds&gt; &lt;name&gt; &lt;multiply|override&gt; &lt;day&gt; &lt;night&gt; [ticks] [priority]
+ * unmodifier &lt;worlds&gt; &lt;name&gt;
+ * </pre>
+ */
+public class AdminSocket {
+    private static final int MAX_OPERATIONS = 100_000;
+    private static final int MAX_REPORTED_ERRORS = 50;
+    private static final int MAX_LINE_LENGTH = 4096;
+    private static final int READ_TIMEOUT_MILLIS = 10_000;
+    private static final long CONNECTION_DEADLINE_MILLIS = 60_000;
+    private static final long REPLY_MARGIN_MILLIS = 1_000; // Left for the summary after waiting for the server
+    private static final int MAX_CONNECTIONS = 4;
+    private static final int MAX_WAITING_CONNECTIONS = 16;
+
+    private final TimeTuner plugin;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private ThreadPoolExecutor handlers;
+    private ScheduledExecutorService deadlines;
+    private int port;
+    private byte[] token;
+
+    public AdminSocket(TimeTuner plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Opens, reopens or closes the socket according to the {@code admin-socket} config section.
+     */
+    public synchronized void load() {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("admin-socket");
+        boolean enabled = section != null && section.getBoolean("enabled", false);
+        int newPort = section != null ? section.getInt("port", 25580) : 25580;
+        String newToken = section != null ? section.getString("token", "") : "";
+
+        if (enabled && serverSocket != null && newPort == port
+            && MessageDigest.isEqual(token, newToken.getBytes(StandardCharsets.UTF_8))) {
+            return; // Unchanged
+        }
+        close();
+        if (!enabled) {
+            return;
+        }
+        if (newToken.isEmpty()) {
+            ErrorHandler.logConfigError("admin-socket.token", "socket disabled (a token is required)");
+            return;
+        }
+
+        try {
+            ServerSocket socket = new ServerSocket(newPort, 8, InetAddress.getLoopbackAddress());
+            serverSocket = socket;
+            port = newPort;
+            token = newToken.getBytes(StandardCharsets.UTF_8);
+            handlers = new ThreadPoolExecutor(MAX_CONNECTIONS, MAX_CONNECTIONS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_WAITING_CONNECTIONS), runnable -> daemon(runnable, "TimeTuner-AdminSocket-Handler"));
+            handlers.allowCoreThreadTimeOut(true);
+            deadlines = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "TimeTuner-AdminSocket-Deadline"));
+            ThreadPoolExecutor pool = handlers;
+            ScheduledExecutorService timer = deadlines;
+            Thread thread = new Thread(() -> acceptLoop(socket, pool, timer), "TimeTuner-AdminSocket");
+            thread.setDaemon(true);
+            thread.start();
+            plugin.getLogger().info(() -> "Admin socket listening on 127.0.0.1:" + newPort);
+        } catch (IOException e) {
+            ErrorHandler.logPluginError("Could not open admin socket on port " + newPort, e);
+        }
+    }
+
+    public synchronized void close() {
+        if (serverSocket == null) {
+            return;
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            ErrorHandler.logWarning("Could not close admin socket: %s", e.getMessage());
+        }
+        serverSocket = null;
+        handlers.shutdownNow();
+        deadlines.shutdownNow();
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void acceptLoop(ServerSocket server, ThreadPoolExecutor pool, ScheduledExecutorService timer) {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (SocketException e) {
+                if (server.isClosed()) {
+                    return;
+                }
+                ErrorHandler.logWarning("Admin socket connection failed: %s", e.getMessage());
+                continue;
+            } catch (IOException e) {
+                ErrorHandler.logWarning("Admin socket connection failed: %s", e.getMessage());
+                continue;
+            }
+
+            try {
+                pool.execute(() -> serve(socket, timer));
+            } catch (RejectedExecutionException e) {
+                reject(socket);
+            }
+        }
+    }
+
+    private void reject(Socket socket) {
+        try (Socket rejected = socket) {
+            rejected.getOutputStream().write("ERR busy\n".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ignored) {
+            // The client is told nothing more
+        }
+    }
+
+    private void serve(Socket socket, ScheduledExecutorService timer) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECTION_DEADLINE_MILLIS);
+        connections.add(socket);
+        ScheduledFuture<?> expiry = null;
+        try {
+            // Closing the socket ends any read still blocked when the deadline passes
+            expiry = timer.schedule(() -> closeQuietly(socket), CONNECTION_DEADLINE_MILLIS, TimeUnit.MILLISECONDS);
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            handle(socket, deadline);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        } catch (IOException e) {
+            if (System.nanoTime() - deadline >= 0) {
+                ErrorHandler.logWarning("Admin socket connection closed after the %dms deadline", CONNECTION_DEADLINE_MILLIS);
+            } else {
+                ErrorHandler.logWarning("Admin socket connection failed: %s", e.getMessage());
+            }
+        } finally {
+            if (expiry != null) {
+                expiry.cancel(false);
+            }
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+
+    private void handle(Socket socket, long connectionDeadline) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+        String auth = readLine(reader);
+        if (!isAuthorized(auth)) {
+            writer.write("ERR unauthorized\n");
+            writer.flush();
+            ErrorHandler.logWarning("Rejected admin socket connection with an invalid token");
+            return;
+        }
+
+        List<ControlRequest> requests = new ArrayList<>();
+        List<Integer> requestLines = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        int failed = 0;
+        int lineNumber = 1;
+        String line;
+        while ((line = readLine(reader)) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.equalsIgnoreCase("END")) {
+                break;
+            }
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (requests.size() >= MAX_OPERATIONS) {
+                failed++;
+                addError(errors, lineNumber, "too many operations (max " + MAX_OPERATIONS + ")");
+                break;
+            }
+
+            int before = requests.size();
+            String error = parse(line, requests);
+            if (error != null) {
+                failed++;
+                addError(errors, lineNumber, error);
+            }
+            for (int i = before; i < requests.size(); i++) {
+                requestLines.add(lineNumber);
+            }
+        }
+
+        if (!requests.isEmpty()) {
+            plugin.getControlQueue().submitAll(requests);
+        }
+
+        int applied = 0;
+        long deadline = connectionDeadline - TimeUnit.MILLISECONDS.toNanos(REPLY_MARGIN_MILLIS);
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                requests.get(i).future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                applied++;
+            } catch (ExecutionException e) {
+                failed++;
+                addError(errors, requestLines.get(i), e.getCause().getMessage());
+            } catch (TimeoutException e) {
+                failed += requests.size() - i;
+                addError(errors, requestLines.get(i), "timed out waiting for the server");
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (CancellationException e) {
+                failed++;
+                addError(errors, requestLines.get(i), "cancelled (plugin disabled)");
+            }
+        }
+
+        writer.write((failed == 0 ? "OK " : "PARTIAL ") + applied + " applied, " + failed + " failed\n");
+        for (String error : errors) {
+            writer.write(error);
+            writer.write('\n');
+        }
+        writer.flush();
+
+        if (plugin.isDebugMode()) {
+            int total = applied;
+            plugin.getLogger().info(() -> String.format("Admin socket batch applied %d operations", total));
+        }
+    }
+
+    /**
+     * Reads one line like {@link BufferedReader#readLine()}, but at most {@value #MAX_LINE_LENGTH}
+     * characters of it, so a client cannot grow the buffer without bound, before or after auth.
+     *
+     * @return the line without its terminator, or null at the end of the stream
+     * @throws IOException if the line is longer, which drops the connection
+     */
+    private static String readLine(Reader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                break;
+            }
+            if (line.length() >= MAX_LINE_LENGTH) {
+                throw new IOException("line longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            line.append((char) c);
+        }
+        if (c == -1 && line.length() == 0) {
+            return null;
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    private boolean isAuthorized(String authLine) {
+        if (authLine == null || !authLine.startsWith("AUTH ")) {
+            return false;
+        }
+        byte[] given = authLine.substring(5).trim().getBytes(StandardCharsets.UTF_8);
+        byte[] expected;
+        synchronized (this) {
+            expected = token;
+        }
+        return expected != null && MessageDigest.isEqual(given, expected);
+    }
+
+    /**
+     * Parses one operation into a request for its world selector, resolved when the queue drains.
+     *
+     * @return an error message, or null on success
+     */
+    private String parse(String line, List<ControlRequest> requests) {
+        String[] parts = line.split("\\s+");
+        String operation = parts[0].toLowerCase(Locale.ROOT);
+        if (parts.length < 2) {
+            return "missing world";
+        }
+
+        String worlds = parts[1];
+        try {
+            switch (operation) {
+                case "speed": {
+                    if (parts.length != 4) {
+                        return "usage: speed <worlds> <day> <night>";
+                    }
+                    double day = Double.parseDouble(parts[2]);
+                    double night = Double.parseDouble(parts[3]);
+                    String error = checkSpeeds(day, night);
+                    if (error != null) {
+                        return error;
+                    }
+                    requests.add(ControlRequest.speeds(null, day, night).withSelector(worlds));
+                    return null;
+                }
+                case "profile": {
+                    if (parts.length != 3) {
+                        return "usage: profile <worlds> <profile>";
+                    }
+                    SpeedProfile profile = plugin.getProfile(parts[2]);
+                    if (profile == null) {
+                        return "unknown profile '" + parts[2] + "'";
+                    }
+                    requests.add(ControlRequest.speeds(null, profile.getDaySpeed(), profile.getNightSpeed()).withSelector(worlds));
+                    return null;
+                }
+                case "pause":
+                case "resume": {
+                    boolean paused = operation.equals("pause");
+                    requests.add(ControlRequest.pause(null, paused).withSelector(worlds));
+                    return null;
+                }
+                case "reset":
+                    requests.add(ControlRequest.skipToDay(null).withSelector(worlds));
+                    return null;
+                case "modifier": {
+                    if (parts.length < 6 || parts.length > 8) {
+                        return "usage: modifier <worlds> <name> <multiply|override> <day> <night> [ticks] [priority]";
+                    }
+                    double day = Double.parseDouble(parts[4]);
+                    double night = Double.parseDouble(parts[5]);
+                    long ticks = parts.length > 6 ? Long.parseLong(parts[6]) : SpeedModifier.PERMANENT;
+                    int priority = parts.length > 7 ? Integer.parseInt(parts[7]) : 0;
+                    SpeedModifier modifier;
+                    switch (parts[3].toLowerCase(Locale.ROOT)) {
+                        case "multiply":
+                            modifier = SpeedModifier.multiply(parts[2], priority, day, night, ticks);
+                            break;
+                        case "override":
+                            modifier = SpeedModifier.override(parts[2], priority, day, night, ticks);
+                            break;
+                        default:
+                            return "unknown modifier operation '" + parts[3] + "'";
+                    }
+                    requests.add(ControlRequest.addModifier(null, modifier).withSelector(worlds));
+                    return null;
+                }
+                case "unmodifier":
+                    if (parts.length != 3) {
+                        return "usage: unmodifier <worlds> <name>";
+                    }
+                    requests.add(ControlRequest.removeModifier(null, parts[2]).withSelector(worlds));
+                    return null;
+                default:
+                    return "unknown operation '" + parts[0] + "'";
+            }
+        } catch (NumberFormatException e) {
+            return "invalid value (" + e.getMessage() + ")";
+        } catch (IllegalArgumentException e) {
+            // An invalid modifier
+            return e.getMessage();
+        }
+    }
+
+    private String checkSpeeds(double day, double night) {
+        // NaN would pass a range check written the other way round and then mean "keep the speed"
+        ControlQueue queue = plugin.getControlQueue();
+        if (!queue.isValidSpeed(day) || !queue.isValidSpeed(night)) {
+            return "speeds must be between 0 and " + plugin.getMaxSpeed();
+        }
+        return null;
+    }
+
+    private static void addError(List<String> errors, int lineNumber, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("line " + lineNumber + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package me.summykai.timetuner.control;
+
+/**
+ * Kinds of mutation accepted by the {@link ControlQueue}.
+ */
+public enum ControlAction {
+    SPEEDS,
+    PAUSE,
+    SKIP_TO_DAY,
+    ADD_MODIFIER,
+    REMOVE_MODIFIER
+}
@@ -0,0 +1,306 @@
+package me.summykai.timetuner.control;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.api.SpeedModifier;
+import me.summykai.timetuner.api.TimePhase;
+import me.summykai.timetuner.api.WorldTimeSnapshot;
+import me.summykai.timetuner.commands.WorldSelector;
+import me.summykai.timetuner.state.RuntimeOverlay;
+import me.summykai.timetuner.time.WorldTimeManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Thread-safe entry point for mutating world time from any thread.
+ * <p>
+ * Requests go into a lock-free multi-producer queue that the update task drains on the
+ * main thread before advancing the worlds. Requests for the same world are applied in the
+ * order they were submitted, with two coalescing rules: a speed change replaced by a later
+ * one in the same drain is folded into it (the base speeds are last-writer-wins and nothing
+ * else reads them), and back-to-back skips run once. Each future completes as soon as its
+ * own request has been applied, with the world's snapshot at that point, or fails on its
+ * own if that request throws; the requests around it are still applied.
+ */
+public class ControlQueue {
+    private final TimeTuner plugin;
+    private final ConcurrentLinkedQueue<ControlRequest> queue;
+
+    public ControlQueue(TimeTuner plugin) {
+        this.plugin = plugin;
+        this.queue = new ConcurrentLinkedQueue<>();
+    }
+
+    public CompletableFuture<WorldTimeSnapshot> setSpeeds(UUID worldId, double daySpeed, double nightSpeed) {
+        if (!isValidSpeed(daySpeed) || !isValidSpeed(nightSpeed)) {
+            return failed(new IllegalArgumentException("Speeds must be between 0 and " + plugin.getMaxSpeed()));
+        }
+        return submit(ControlRequest.speeds(worldId, daySpeed, nightSpeed));
+    }
+
+    /**
+     * Sets the base speed of one phase, keeping the world's base speed for the other as it is
+     * when the request is applied.
+     */
+    public CompletableFuture<WorldTimeSnapshot> setPhaseSpeed(UUID worldId, TimePhase phase, double speed) {
+        if (!isValidSpeed(speed)) {
+            return failed(new IllegalArgumentException("Speed must be between 0 and " + plugin.getMaxSpeed()));
+        }
+        return phase == TimePhase.DAY
+            ? submit(ControlRequest.speeds(worldId, speed, ControlRequest.KEEP))
+            : submit(ControlRequest.speeds(worldId, ControlRequest.KEEP, speed));
+    }
+
+    boolean isValidSpeed(double speed) {
+        return speed >= 0 && speed <= plugin.getMaxSpeed(); // False for NaN
+    }
+
+    public CompletableFuture<WorldTimeSnapshot> setPaused(UUID worldId, boolean paused) {
+        return submit(ControlRequest.pause(worldId, paused));
+    }
+
+    public CompletableFuture<WorldTimeSnapshot> skipToDay(UUID worldId) {
+        return submit(ControlRequest.skipToDay(worldId));
+    }
+
+    public CompletableFuture<WorldTimeSnapshot> addModifier(UUID worldId, SpeedModifier modifier) {
+        return submit(ControlRequest.addModifier(worldId, modifier));
+    }
+
+    public CompletableFuture<WorldTimeSnapshot> removeModifier(UUID worldId, String name) {
+        return submit(ControlRequest.removeModifier(worldId, name));
+    }
+
+    private CompletableFuture<WorldTimeSnapshot> submit(ControlRequest request) {
+        queue.add(request);
+        return request.future;
+    }
+
+    /**
+     * Queues several requests so they are guaranteed to be applied in the same drain.
+     */
+    void submitAll(List<ControlRequest> requests) {
+        queue.add(ControlRequest.batch(requests));
+    }
+
+    private static CompletableFuture<WorldTimeSnapshot> failed(Throwable cause) {
+        CompletableFuture<WorldTimeSnapshot> future = new CompletableFuture<>();
+        future.completeExceptionally(cause);
+        return future;
+    }
+
+    /**
+     * Applies everything queued so far. Called at the start of each update on the main thread.
+     */
+    public void drain() {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        Map<WorldTimeManager, Batch> batches = new LinkedHashMap<>();
+        int received = 0;
+        ControlRequest request;
+        while ((request = queue.poll()) != null) {
+            if (request.batch != null) {
+                for (ControlRequest member : request.batch) {
+                    collect(member, batches);
+                }
+                received += request.batch.size();
+            } else {
+                collect(request, batches);
+                received++;
+            }
+        }
+
+        int applied = 0;
+        for (Map.Entry<WorldTimeManager, Batch> entry : batches.entrySet()) {
+            applied += entry.getValue().apply(entry.getKey(), plugin.getRuntimeOverlay());
+        }
+
+        if (plugin.isDebugMode()) {
+            int requests = received;
+            int changes = applied;
+            plugin.getLogger().info(() -> String.format(
+                "Control queue: %d requests coalesced into %d changes across %d worlds", requests, changes, batches.size()
+            ));
+        }
+    }
+
+    private void collect(ControlRequest request, Map<WorldTimeManager, Batch> batches) {
+        if (request.selector != null) {
+            collectSelected(request, batches);
+            return;
+        }
+        WorldTimeManager manager = plugin.getWorldManagers().get(request.worldId);
+        if (manager == null) {
+            request.future.completeExceptionally(new IllegalArgumentException("World is not managed: " + request.worldId));
+            return;
+        }
+        batches.computeIfAbsent(manager, key -> new Batch()).add(request);
+    }
+
+    /**
+     * Expands a request for a world selector into one request per matching world. Resolving here,
+     * on the update thread, reads world players safely and matches the worlds as they are now.
+     * The request completes once every world has applied it, or fails with the first error.
+     */
+    private void collectSelected(ControlRequest request, Map<WorldTimeManager, Batch> batches) {
+        List<WorldTimeManager> managers;
+        try {
+            managers = WorldSelector.parse(request.selector, plugin.getWorldGroups()).select(plugin.getWorldManagers().values());
+        } catch (IllegalArgumentException e) {
+            request.future.completeExceptionally(e); // An unknown group or environment
+            return;
+        }
+        if (managers.isEmpty()) {
+            request.future.completeExceptionally(new IllegalArgumentException("no managed world matches '" + request.selector + "'"));
+            return;
+        }
+
+        CompletableFuture<?>[] members = new CompletableFuture<?>[managers.size()];
+        CompletableFuture<WorldTimeSnapshot> last = null;
+        for (int i = 0; i < members.length; i++) {
+            WorldTimeManager manager = managers.get(i);
+            ControlRequest member = request.forWorld(manager.getWorld().getUID());
+            batches.computeIfAbsent(manager, key -> new Batch()).add(member);
+            members[i] = member.future;
+            last = member.future;
+        }
+        CompletableFuture<WorldTimeSnapshot> lastMember = last;
+        CompletableFuture.allOf(members).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                request.future.completeExceptionally(cause);
+            } else {
+                request.future.complete(lastMember.join());
+            }
+        });
+    }
+
+    /**
+     * Fails every request still queued, e.g. when the plugin is disabled.
+     */
+    public void cancelPending() {
+        ControlRequest request;
+        while ((request = queue.poll()) != null) {
+            if (request.batch != null) {
+                request.batch.forEach(member -> member.future.cancel(false));
+            } else {
+                request.future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Requests for one world collected during a drain, as steps in submission order.
+     */
+    private static final class Batch {
+        private final List<Step> steps = new ArrayList<>();
+        private Step speeds; // The pending speed change, replaced by later ones
+
+        private void add(ControlRequest request) {
+            Step last = steps.isEmpty() ? null : steps.get(steps.size() - 1);
+            if (request.action == ControlAction.SKIP_TO_DAY && last != null && last.lead.action == ControlAction.SKIP_TO_DAY) {
+                last.requests.add(request);
+                return;
+            }
+
+            Step step = new Step(request);
+            if (request.action == ControlAction.SPEEDS) {
+                if (speeds != null) {
+                    // A change to one phase keeps the other phase of the change it replaces
+                    step.daySpeed = Double.isNaN(step.daySpeed) ? speeds.daySpeed : step.daySpeed;
+                    step.nightSpeed = Double.isNaN(step.nightSpeed) ? speeds.nightSpeed : step.nightSpeed;
+                    step.requests.addAll(0, speeds.requests);
+                    speeds.requests.clear(); // Left in place as an empty step, cheaper than a list removal
+                }
+                speeds = step;
+            }
+            steps.add(step);
+        }
+
+        /**
+         * Applies the steps in order and records speed and pause changes in the runtime overlay.
+         *
+         * @return the number of changes applied
+         */
+        private int apply(WorldTimeManager manager, RuntimeOverlay overlay) {
+            int applied = 0;
+            for (Step step : steps) {
+                if (step.requests.isEmpty()) {
+                    continue; // Folded into a later speed change
+                }
+                try {
+                    if (step.apply(manager, overlay)) {
+                        applied++;
+                    }
+                } catch (RuntimeException e) {
+                    for (ControlRequest request : step.requests) {
+                        request.future.completeExceptionally(e);
+                    }
+                    continue;
+                }
+                WorldTimeSnapshot snapshot = manager.getSnapshot();
+                for (ControlRequest request : step.requests) {
+                    request.future.complete(snapshot);
+                }
+            }
+            return applied;
+        }
+    }
+
+    /**
+     * One applied request and the requests folded into it, which complete with it.
+     */
+    private static final class Step {
+        private final ControlRequest lead;
+        private final List<ControlRequest> requests = new ArrayList<>(1);
+        private double daySpeed; // Speeds to set, merged with folded changes; NaN keeps the base speed
+        private double nightSpeed;
+
+        private Step(ControlRequest lead) {
+            this.lead = lead;
+            this.daySpeed = lead.daySpeed;
+            this.nightSpeed = lead.nightSpeed;
+            requests.add(lead);
+        }
+
+        /**
+         * @return true if the world changed
+         */
+        private boolean apply(WorldTimeManager manager, RuntimeOverlay overlay) {
+            switch (lead.action) {
+                case SPEEDS: {
+                    double day = Double.isNaN(daySpeed) ? manager.getBaseDaySpeed() : daySpeed;
+                    double night = Double.isNaN(nightSpeed) ? manager.getBaseNightSpeed() : nightSpeed;
+                    manager.updateSpeeds(day, night);
+                    overlay.recordSpeeds(manager.getWorld().getName(), day, night);
+                    return true;
+                }
+                case PAUSE:
+                    if (lead.paused == manager.isPaused()) {
+                        return false;
+                    }
+                    manager.setPaused(lead.paused);
+                    overlay.recordPaused(manager.getWorld().getName(), lead.paused);
+                    return true;
+                case SKIP_TO_DAY:
+                    manager.skipToDay();
+                    return true;
+                case ADD_MODIFIER:
+                    manager.addModifier(lead.modifier);
+                    return true;
+                case REMOVE_MODIFIER:
+                    return manager.removeModifier(lead.modifierName);
+                default:
+                    return false;
+            }
+        }
+    }
+}
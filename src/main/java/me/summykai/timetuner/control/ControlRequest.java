@@ -0,0 +1,90 @@
+package me.summykai.timetuner.control;
+
+import me.summykai.timetuner.api.SpeedModifier;
+import me.summykai.timetuner.api.WorldTimeSnapshot;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One queued mutation and the future completed once it has been applied.
+ */
+final class ControlRequest {
+    static final double KEEP = Double.NaN; // A speed that keeps the world's current base speed
+    final UUID worldId;
+    final String selector; // Set instead of the world id when the worlds are resolved at drain time
+    final ControlAction action;
+    final double daySpeed;
+    final double nightSpeed;
+    final boolean paused;
+    final SpeedModifier modifier;
+    final String modifierName;
+    final CompletableFuture<WorldTimeSnapshot> future;
+    final List<ControlRequest> batch; // Set on a batch wrapper, whose members are drained together
+
+    private ControlRequest(UUID worldId, String selector, ControlAction action, double daySpeed, double nightSpeed,
+                           boolean paused, SpeedModifier modifier, String modifierName) {
+        this.worldId = worldId;
+        this.selector = selector;
+        this.action = action;
+        this.daySpeed = daySpeed;
+        this.nightSpeed = nightSpeed;
+        this.paused = paused;
+        this.modifier = modifier;
+        this.modifierName = modifierName;
+        this.future = new CompletableFuture<>();
+        this.batch = null;
+    }
+
+    private ControlRequest(List<ControlRequest> batch) {
+        this.worldId = null;
+        this.selector = null;
+        this.action = null;
+        this.daySpeed = 0;
+        this.nightSpeed = 0;
+        this.paused = false;
+        this.modifier = null;
+        this.modifierName = null;
+        this.future = null;
+        this.batch = batch;
+    }
+
+    static ControlRequest speeds(UUID worldId, double daySpeed, double nightSpeed) {
+        return new ControlRequest(worldId, null, ControlAction.SPEEDS, daySpeed, nightSpeed, false, null, null);
+    }
+
+    static ControlRequest pause(UUID worldId, boolean paused) {
+        return new ControlRequest(worldId, null, ControlAction.PAUSE, 0, 0, paused, null, null);
+    }
+
+    static ControlRequest skipToDay(UUID worldId) {
+        return new ControlRequest(worldId, null, ControlAction.SKIP_TO_DAY, 0, 0, false, null, null);
+    }
+
+    static ControlRequest addModifier(UUID worldId, SpeedModifier modifier) {
+        return new ControlRequest(worldId, null, ControlAction.ADD_MODIFIER, 0, 0, false, modifier, modifier.getName());
+    }
+
+    static ControlRequest removeModifier(UUID worldId, String name) {
+        return new ControlRequest(worldId, null, ControlAction.REMOVE_MODIFIER, 0, 0, false, null, name);
+    }
+
+    /**
+     * @return this request aimed at every world the selector matches when the queue is drained
+     */
+    ControlRequest withSelector(String selector) {
+        return new ControlRequest(null, selector, action, daySpeed, nightSpeed, paused, modifier, modifierName);
+    }
+
+    /**
+     * @return this request aimed at one world, with its own future
+     */
+    ControlRequest forWorld(UUID worldId) {
+        return new ControlRequest(worldId, null, action, daySpeed, nightSpeed, paused, modifier, modifierName);
+    }
+
+    static ControlRequest batch(List<ControlRequest> requests) {
+        return new ControlRequest(requests);
+    }
+}
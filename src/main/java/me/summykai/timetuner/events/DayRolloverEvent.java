@@ -0,0 +1,45 @@
+package me.summykai.timetuner.events;
+
+import org.bukkit.World;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.world.WorldEvent;
+
+/**
+ * Fired when the day counter of a managed world advances, once per update even if several days passed.
+ */
+public class DayRolloverEvent extends WorldEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final long previousDay;
+    private final long day;
+
+    public DayRolloverEvent(World world, long previousDay, long day) {
+        super(world);
+        this.previousDay = previousDay;
+        this.day = day;
+    }
+
+    public long getPreviousDay() {
+        return previousDay;
+    }
+
+    public long getDay() {
+        return day;
+    }
+
+    /**
+     * @return number of days that passed in this update, at least 1
+     */
+    public long getDaysElapsed() {
+        return day - previousDay;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,35 @@
+package me.summykai.timetuner.events;
+
+import org.bukkit.World;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.world.WorldEvent;
+
+/**
+ * Fired when a managed world ends an update in the night phase after crossing into it.
+ */
+public class NightStartEvent extends WorldEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final long day;
+
+    public NightStartEvent(World world, long day) {
+        super(world);
+        this.day = day;
+    }
+
+    /**
+     * @return the day counter (full time / 24000) the night belongs to
+     */
+    public long getDay() {
+        return day;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,58 @@
+package me.summykai.timetuner.events;
+
+import me.summykai.timetuner.api.TimePhase;
+import org.bukkit.World;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.world.WorldEvent;
+
+/**
+ * Fired once per update in which a managed world crosses one or more day/night boundaries.
+ * A large step can cross several boundaries at once; {@link #getTransitions()} reports how many.
+ */
+public class TimePhaseChangeEvent extends WorldEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final TimePhase from;
+    private final TimePhase to;
+    private final int transitions;
+    private final long time;
+
+    public TimePhaseChangeEvent(World world, TimePhase from, TimePhase to, int transitions, long time) {
+        super(world);
+        this.from = from;
+        this.to = to;
+        this.transitions = transitions;
+        this.time = time;
+    }
+
+    public TimePhase getFrom() {
+        return from;
+    }
+
+    public TimePhase getTo() {
+        return to;
+    }
+
+    /**
+     * @return number of day/night boundaries crossed in this update, at least 1
+     */
+    public int getTransitions() {
+        return transitions;
+    }
+
+    /**
+     * @return the time of day after the update
+     */
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,41 @@
+package me.summykai.timetuner.events;
+
+import org.bukkit.World;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.world.WorldEvent;
+
+/**
+ * Fired when a configured time trigger with {@code event: true} is crossed.
+ */
+public class TimeTriggerEvent extends WorldEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final String triggerName;
+    private final long triggerTime;
+
+    public TimeTriggerEvent(World world, String triggerName, long triggerTime) {
+        super(world);
+        this.triggerName = triggerName;
+        this.triggerTime = triggerTime;
+    }
+
+    public String getTriggerName() {
+        return triggerName;
+    }
+
+    /**
+     * @return the configured time of day of the trigger
+     */
+    public long getTriggerTime() {
+        return triggerTime;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,26 @@
+package me.summykai.timetuner.history;
+
+/**
+ * Why a history record was written. Stored as the ordinal, so new causes are only ever appended.
+ */
+public enum HistoryCause {
+    /** Regular sample from the update task */
+    PERIODIC,
+    /** Time changed by something other than TimeTuner */
+    EXTERNAL,
+    /** Sleep skip or reset to the next day */
+    SKIP_TO_DAY,
+    PAUSE,
+    RESUME,
+    /** Full time rebased by the overflow strategy */
+    REBASE;
+
+    private static final HistoryCause[] VALUES = values();
+
+    /**
+     * @return the cause stored as {@code ordinal}, or null for a cause this version does not know
+     */
+    public static HistoryCause of(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+    }
+}
@@ -0,0 +1,68 @@
+package me.summykai.timetuner.history;
+
+import me.summykai.timetuner.time.Time;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Offline dump of a history file as CSV, for post-mortems without a running server:
+ * <pre>
+ * java -cp TimeTuner.jar me.summykai.timetuner.history.HistoryDump plugins/TimeTuner/history.bin [world]
+ * </pre>
+ */
+public final class HistoryDump {
+    private HistoryDump() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: HistoryDump <history file> [world]");
+            System.exit(2);
+            return;
+        }
+
+        HistoryFile history;
+        try {
+            history = HistoryFile.open(Paths.get(args[0]));
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        int world = -1;
+        if (args.length == 2) {
+            world = history.findWorld(args[1]);
+            if (world < 0) {
+                System.err.println("No records for world: " + args[1]);
+                System.exit(1);
+                return;
+            }
+        }
+
+        List<HistoryRecord> records = history.read(world, Long.MIN_VALUE);
+        StringBuilder line = new StringBuilder(128);
+        System.out.println("time,tick,world,full_time,time_of_day,speed,paused,skipping,day,cluster,real_time,cause");
+        for (HistoryRecord record : records) {
+            line.setLength(0);
+            line.append(Instant.ofEpochMilli(record.getMillis())).append(',')
+                .append(record.getTick()).append(',')
+                .append(history.getWorldName(record.getWorld())).append(',')
+                .append(record.getFullTime()).append(',')
+                .append(Math.floorMod(record.getFullTime(), Time.DAY_LENGTH)).append(',')
+                .append(record.getSpeed()).append(',')
+                .append(record.hasFlag(HistoryFile.FLAG_PAUSED)).append(',')
+                .append(record.hasFlag(HistoryFile.FLAG_SKIPPING)).append(',')
+                .append(record.hasFlag(HistoryFile.FLAG_DAY)).append(',')
+                .append(record.hasFlag(HistoryFile.FLAG_CLUSTER)).append(',')
+                .append(record.hasFlag(HistoryFile.FLAG_REAL_TIME)).append(',')
+                .append(record.getCause() != null ? record.getCause().name().toLowerCase(Locale.ROOT) : "unknown");
+            System.out.println(line);
+        }
+        System.err.println(records.size() + " records, " + history.getWritten() + " written in total");
+    }
+}
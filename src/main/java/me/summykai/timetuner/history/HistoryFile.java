@@ -0,0 +1,169 @@
+package me.summykai.timetuner.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Layout of a history file, and a reader over a mapped one.
+ * <pre>
+ * header     64 bytes   magic "TTH1", version, record size, capacity, records written (long), world count
+ * worlds     1024 x 64  UTF-8 name length (short) and bytes, indexed by the records' world field
+ * records    capacity x 32, a ring indexed by (records written % capacity):
+ *            millis (long), tick (long), full time (long), speed (float), world (short), flags, cause
+ * </pre>
+ * All values are big-endian. The reader does not depend on Bukkit, so {@link HistoryDump} can run offline.
+ */
+public final class HistoryFile {
+    static final int MAGIC = 0x54544831; // "TTH1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int MAX_WORLDS = 1024;
+    static final int WORLD_SLOT_SIZE = 64;
+    static final int RECORD_SIZE = 32;
+    static final int RECORDS_OFFSET = HEADER_SIZE + MAX_WORLDS * WORLD_SLOT_SIZE;
+    static final int MAX_CAPACITY = (Integer.MAX_VALUE - RECORDS_OFFSET) / RECORD_SIZE;
+
+    static final int VERSION_OFFSET = 4;
+    static final int RECORD_SIZE_OFFSET = 8;
+    static final int CAPACITY_OFFSET = 12;
+    static final int WRITTEN_OFFSET = 16;
+    static final int WORLD_COUNT_OFFSET = 24;
+
+    public static final int FLAG_PAUSED = 1;
+    public static final int FLAG_SKIPPING = 2;
+    public static final int FLAG_DAY = 4;
+    public static final int FLAG_CLUSTER = 8;
+    public static final int FLAG_REAL_TIME = 16;
+    public static final int FLAG_STOPPED = 32; // Time was held at a periodic sample: paused, skipping or an empty world
+
+    // The writer may be overwriting the oldest slots while a live file is scanned
+    private static final int OVERWRITE_MARGIN = 64;
+
+    private final ByteBuffer buffer;
+
+    HistoryFile(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps a history file read-only.
+     *
+     * @throws IOException if the file cannot be read or is not a history file
+     */
+    public static HistoryFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < RECORDS_OFFSET) {
+                throw new IOException("Not a TimeTuner history file: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!isValid(buffer, -1) || channel.size() < size(buffer.getInt(CAPACITY_OFFSET))) {
+                throw new IOException("Not a TimeTuner history file, or written by another version: " + path);
+            }
+            return new HistoryFile(buffer);
+        }
+    }
+
+    /**
+     * @param capacity the expected capacity, or -1 to accept any
+     */
+    static boolean isValid(ByteBuffer buffer, int capacity) {
+        int stored = buffer.getInt(CAPACITY_OFFSET);
+        return buffer.getInt(0) == MAGIC
+            && buffer.getInt(VERSION_OFFSET) == VERSION
+            && buffer.getInt(RECORD_SIZE_OFFSET) == RECORD_SIZE
+            && stored > 0 && stored <= MAX_CAPACITY
+            && (capacity < 0 || stored == capacity);
+    }
+
+    /**
+     * @return the file size for a capacity
+     */
+    static long size(int capacity) {
+        return RECORDS_OFFSET + (long) capacity * RECORD_SIZE;
+    }
+
+    public int getCapacity() {
+        return buffer.getInt(CAPACITY_OFFSET);
+    }
+
+    /**
+     * @return records written since the file was created, including those overwritten since
+     */
+    public long getWritten() {
+        return buffer.getLong(WRITTEN_OFFSET);
+    }
+
+    public int getWorldCount() {
+        return Math.min(MAX_WORLDS, buffer.getInt(WORLD_COUNT_OFFSET));
+    }
+
+    public String getWorldName(int index) {
+        if (index < 0 || index >= getWorldCount()) {
+            return null;
+        }
+        int offset = HEADER_SIZE + index * WORLD_SLOT_SIZE;
+        int length = Math.min(WORLD_SLOT_SIZE - 2, buffer.getShort(offset));
+        byte[] bytes = new byte[Math.max(0, length)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the index of the world, ignoring case, or -1 if it has no records
+     */
+    public int findWorld(String name) {
+        for (int i = 0; i < getWorldCount(); i++) {
+            if (name.equalsIgnoreCase(getWorldName(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the records still in the ring, oldest first. Scans back from the newest record
+     * and stops at the first one older than {@code fromMillis}.
+     *
+     * @param world      world index, or -1 for every world
+     * @param fromMillis oldest wall-clock time to include, in epoch milliseconds
+     */
+    public List<HistoryRecord> read(int world, long fromMillis) {
+        int capacity = getCapacity();
+        long written = getWritten();
+        long oldest = Math.max(0, written - capacity + Math.min(OVERWRITE_MARGIN, capacity - 1));
+
+        List<HistoryRecord> records = new ArrayList<>();
+        for (long n = written - 1; n >= oldest; n--) {
+            int offset = RECORDS_OFFSET + (int) (n % capacity) * RECORD_SIZE;
+            long millis = buffer.getLong(offset);
+            if (millis < fromMillis) {
+                break;
+            }
+            int recordWorld = buffer.getShort(offset + 28);
+            if (world >= 0 && recordWorld != world) {
+                continue;
+            }
+            records.add(new HistoryRecord(
+                millis,
+                buffer.getLong(offset + 8),
+                recordWorld,
+                buffer.getLong(offset + 16),
+                buffer.getFloat(offset + 24),
+                buffer.get(offset + 30),
+                HistoryCause.of(buffer.get(offset + 31))
+            ));
+        }
+        Collections.reverse(records);
+        return records;
+    }
+}
@@ -0,0 +1,74 @@
+package me.summykai.timetuner.history;
+
+/**
+ * One record read back from a history file.
+ */
+public final class HistoryRecord {
+    private final long millis;
+    private final long tick;
+    private final int world;
+    private final long fullTime;
+    private final float speed;
+    private final int flags;
+    private final HistoryCause cause;
+
+    HistoryRecord(long millis, long tick, int world, long fullTime, float speed, int flags, HistoryCause cause) {
+        this.millis = millis;
+        this.tick = tick;
+        this.world = world;
+        this.fullTime = fullTime;
+        this.speed = speed;
+        this.flags = flags;
+        this.cause = cause;
+    }
+
+    /**
+     * @return wall-clock time of the record in epoch milliseconds
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * @return TimeTuner's tick counter when the record was written
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return index of the world in the file's world table
+     */
+    public int getWorld() {
+        return world;
+    }
+
+    public long getFullTime() {
+        return fullTime;
+    }
+
+    /**
+     * @return the speed of the current phase
+     */
+    public float getSpeed() {
+        return speed;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return true if any of the given flag bits is set
+     */
+    public boolean hasFlag(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * @return the cause, or null if it was written by a newer version
+     */
+    public HistoryCause getCause() {
+        return cause;
+    }
+}
@@ -0,0 +1,185 @@
+package me.summykai.timetuner.history;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.utils.ErrorHandler;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records per-world clock history into a memory-mapped ring file.
+ * <p>
+ * Each record is a fixed 32 bytes written with absolute puts into the mapping, so recording
+ * from the update task neither allocates nor makes a system call; the operating system writes
+ * the pages back on its own. Once the ring is full the oldest records are overwritten. Worlds
+ * are stored as an index into a table kept in the same file, which also survives restarts.
+ * See {@link HistoryFile} for the layout.
+ */
+public class HistoryRecorder {
+    private final TimeTuner plugin;
+    private RandomAccessFile file;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private long written;
+    private int worldCount;
+    private int sampleInterval;
+
+    public HistoryRecorder(TimeTuner plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Maps the file from the {@code history} config section. Called once on enable, since
+     * remapping under running worlds would invalidate their world indexes.
+     */
+    public synchronized void open() {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("history");
+        if (section == null || !section.getBoolean("enabled", false)) {
+            return;
+        }
+
+        capacity = section.getInt("records", 500_000);
+        if (capacity < 1 || capacity > HistoryFile.MAX_CAPACITY) {
+            ErrorHandler.logConfigError("history.records", "500000");
+            capacity = 500_000;
+        }
+        sampleInterval = section.getInt("sample-interval-ticks", 20);
+        if (sampleInterval < 1) {
+            ErrorHandler.logConfigError("history.sample-interval-ticks", "20");
+            sampleInterval = 20;
+        }
+
+        File target = new File(plugin.getDataFolder(), section.getString("file", "history.bin"));
+        try {
+            File parent = target.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Could not create " + parent);
+            }
+            boolean existed = target.isFile() && target.length() == HistoryFile.size(capacity);
+            file = new RandomAccessFile(target, "rw");
+            file.setLength(HistoryFile.size(capacity));
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HistoryFile.size(capacity));
+
+            if (existed && HistoryFile.isValid(buffer, capacity)) {
+                written = buffer.getLong(HistoryFile.WRITTEN_OFFSET);
+                worldCount = Math.min(HistoryFile.MAX_WORLDS, buffer.getInt(HistoryFile.WORLD_COUNT_OFFSET));
+            } else {
+                // New file, or one with another capacity or version: start over
+                for (int i = 0; i < HistoryFile.RECORDS_OFFSET; i += 8) {
+                    buffer.putLong(i, 0L);
+                }
+                buffer.putInt(0, HistoryFile.MAGIC);
+                buffer.putInt(HistoryFile.VERSION_OFFSET, HistoryFile.VERSION);
+                buffer.putInt(HistoryFile.RECORD_SIZE_OFFSET, HistoryFile.RECORD_SIZE);
+                buffer.putInt(HistoryFile.CAPACITY_OFFSET, capacity);
+                written = 0;
+                worldCount = 0;
+            }
+            if (plugin.isDebugMode()) {
+                plugin.getLogger().info(() -> String.format(
+                    "Recording history to %s (%d records, %d written so far)", target.getName(), capacity, written
+                ));
+            }
+        } catch (IOException e) {
+            ErrorHandler.logPluginError("Could not open history file " + target, e);
+            close();
+        }
+    }
+
+    public synchronized boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /**
+     * @return server ticks between periodic samples
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Finds or adds a world in the file's world table.
+     *
+     * @return the world's index, or -1 if recording is disabled or the table is full
+     */
+    public synchronized int register(String worldName) {
+        if (buffer == null) {
+            return -1;
+        }
+        for (int i = 0; i < worldCount; i++) {
+            if (worldName.equals(readWorldName(i))) {
+                return i;
+            }
+        }
+        if (worldCount >= HistoryFile.MAX_WORLDS) {
+            ErrorHandler.logWarning("History world table is full; world '%s' is not recorded", worldName);
+            return -1;
+        }
+
+        byte[] name = worldName.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(name.length, HistoryFile.WORLD_SLOT_SIZE - 2);
+        int offset = HistoryFile.HEADER_SIZE + worldCount * HistoryFile.WORLD_SLOT_SIZE;
+        buffer.putShort(offset, (short) length);
+        for (int i = 0; i < length; i++) {
+            buffer.put(offset + 2 + i, name[i]);
+        }
+        buffer.putInt(HistoryFile.WORLD_COUNT_OFFSET, worldCount + 1);
+        return worldCount++;
+    }
+
+    private String readWorldName(int index) {
+        return new HistoryFile(buffer).getWorldName(index);
+    }
+
+    /**
+     * Writes one record into the next ring slot.
+     *
+     * @param world index from {@link #register(String)}; negative indexes are ignored
+     * @param flags a combination of the {@code HistoryFile.FLAG_*} bits
+     */
+    public synchronized void record(int world, long tick, long fullTime, double speed, int flags, HistoryCause cause) {
+        if (buffer == null || world < 0) {
+            return;
+        }
+        int offset = HistoryFile.RECORDS_OFFSET + (int) (written % capacity) * HistoryFile.RECORD_SIZE;
+        buffer.putLong(offset, System.currentTimeMillis());
+        buffer.putLong(offset + 8, tick);
+        buffer.putLong(offset + 16, fullTime);
+        buffer.putFloat(offset + 24, (float) speed);
+        buffer.putShort(offset + 28, (short) world);
+        buffer.put(offset + 30, (byte) flags);
+        buffer.put(offset + 31, (byte) cause.ordinal());
+        // Published after the record, so readers never see a slot before it is filled
+        buffer.putLong(HistoryFile.WRITTEN_OFFSET, ++written);
+    }
+
+    /**
+     * @return a reader over the live mapping, or null if recording is disabled
+     */
+    public synchronized HistoryFile view() {
+        return buffer != null ? new HistoryFile(buffer.duplicate()) : null;
+    }
+
+    /**
+     * Flushes the mapping and closes the file. Called on disable.
+     */
+    public synchronized void close() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                ErrorHandler.logPluginError("Could not close history file", e);
+            }
+            file = null;
+        }
+    }
+}
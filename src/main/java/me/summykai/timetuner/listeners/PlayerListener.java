@@ -2,7 +2,7 @@ package me.summykai.timetuner.listeners;
 
 import me.summykai.timetuner.TimeTuner;
 import me.summykai.timetuner.TimeTuner.WorldConfig;
-import me.summykai.timetuner.time.Time;
+import me.summykai.timetuner.time.SleepRules;
 import me.summykai.timetuner.time.WorldTimeManager;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -10,15 +10,15 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerBedEnterEvent;
 import org.bukkit.event.player.PlayerBedLeaveEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerListener implements Listener {
     private final TimeTuner plugin;
@@ -26,13 +26,14 @@ public class PlayerListener implements Listener {
 
     public PlayerListener(TimeTuner plugin) {
         this.plugin = plugin;
-        this.sleepingPlayers = new HashMap<>();
+        this.sleepingPlayers = new ConcurrentHashMap<>(); // Updated from each player's region thread on Folia
     }
 
     @EventHandler
     public void onPlayerBedEnter(PlayerBedEnterEvent event) {
         World world = event.getPlayer().getWorld();
         WorldConfig worldConfig = plugin.getWorldConfig(world);
+        plugin.getInputRecorder().bedEnter(event.getPlayer(), isUsableBed(event.getBedEnterResult()));
 
         if (!isValidSleepAttempt(event, worldConfig)) {
             return;
@@ -65,13 +66,13 @@ public class PlayerListener implements Listener {
          }
 
         // Add player to sleeping cache
-        sleepingPlayers.computeIfAbsent(world.getUID(), k -> new HashSet<>())
+        sleepingPlayers.computeIfAbsent(world.getUID(), k -> ConcurrentHashMap.newKeySet())
                 .add(event.getPlayer().getUniqueId());
 
-        // Schedule the check slightly later
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+        // Schedule the check slightly later, on the thread that owns the player
+        Player player = event.getPlayer();
+        plugin.getTaskScheduler().runForEntityLater(player, () -> {
             WorldTimeManager currentManager = plugin.getWorldManagers().get(world.getUID());
-            Player player = event.getPlayer();
             if (player.isOnline() && player.getWorld().equals(world) && player.isSleeping()) {
                checkAndProcessSleepSkip(player, world, currentManager);
             } else {
@@ -91,10 +92,7 @@ public class PlayerListener implements Listener {
 
         PlayerBedEnterEvent.BedEnterResult result = event.getBedEnterResult();
 
-        if (result == PlayerBedEnterEvent.BedEnterResult.NOT_POSSIBLE_HERE ||
-            result == PlayerBedEnterEvent.BedEnterResult.NOT_SAFE ||
-            result == PlayerBedEnterEvent.BedEnterResult.OBSTRUCTED ||
-            result == PlayerBedEnterEvent.BedEnterResult.TOO_FAR_AWAY) {
+        if (!isUsableBed(result)) {
             if (plugin.isDebugMode()) {
                 plugin.getLogger().info(() -> String.format("Invalid bed enter result for %s: %s", event.getPlayer().getName(), result));
             }
@@ -114,6 +112,13 @@ public class PlayerListener implements Listener {
         return true;
     }
 
+    private static boolean isUsableBed(PlayerBedEnterEvent.BedEnterResult result) {
+        return result != PlayerBedEnterEvent.BedEnterResult.NOT_POSSIBLE_HERE &&
+            result != PlayerBedEnterEvent.BedEnterResult.NOT_SAFE &&
+            result != PlayerBedEnterEvent.BedEnterResult.OBSTRUCTED &&
+            result != PlayerBedEnterEvent.BedEnterResult.TOO_FAR_AWAY;
+    }
+
     private boolean isValidWorldState(WorldTimeManager manager, World world) {
         if (manager == null || manager.isSkipping()) {
             if (plugin.isDebugMode()) {
@@ -126,12 +131,11 @@ public class PlayerListener implements Listener {
     }
 
     private boolean isNightTime(World world) {
-        long time = world.getTime();
         // Vanilla night start for sleep is ~12541, end is ~23458
         // Let's use the plugin's defined constants for consistency if they exist,
         // otherwise use vanilla approximate values. Using 12000 as NIGHT_START might be slightly early.
         // Let's stick to the plugin's Time constants for now.
-        return time >= Time.NIGHT_START || time < Time.DAY_START; // Checks if time is in the wrap-around night period
+        return SleepRules.isNight(world.getTime());
     }
 
     private void checkAndProcessSleepSkip(Player player, World world, WorldTimeManager manager) {
@@ -166,14 +170,6 @@ public class PlayerListener implements Listener {
              return;
          }
 
-        if (onlinePlayers == 1 && sleepingCount == 1) {
-            if (plugin.isDebugMode()) {
-                 plugin.getLogger().info(() -> "Single player detected and sleeping, skipping night/storm");
-            }
-            processSleepSkip(world, manager, 1, onlinePlayers);
-            return;
-        }
-
         if (plugin.isDebugMode()) {
             plugin.getLogger().info(() -> String.format(
                "Sleep check - World: %s, Sleeping: %d, Online (valid): %d, Required %s: %.2f/%d",
@@ -183,13 +179,9 @@ public class PlayerListener implements Listener {
             ));
         }
 
-        boolean shouldSkip = false;
-        if (plugin.isUseRequiredPlayers()) {
-            int required = Math.min(plugin.getRequiredPlayers(), onlinePlayers);
-            shouldSkip = sleepingCount >= required;
-        } else {
-            shouldSkip = onlinePlayers > 0 && (double) sleepingCount / onlinePlayers >= plugin.getSleepPercentage();
-        }
+        // A lone sleeper always skips
+        boolean shouldSkip = SleepRules.shouldSkip(sleepingCount, onlinePlayers,
+            plugin.isUseRequiredPlayers(), plugin.getRequiredPlayers(), plugin.getSleepPercentage());
 
         if (shouldSkip) {
             processSleepSkip(world, manager, sleepingCount, onlinePlayers);
@@ -201,21 +193,29 @@ public class PlayerListener implements Listener {
     }
 
     private void processSleepSkip(World world, WorldTimeManager manager, int sleepingCount, int onlinePlayers) {
-        manager.skipToDay(); // This now handles weather clearing
-        plugin.getMessageManager().broadcast(world, "sleep.skipped");
-        sleepingPlayers.computeIfPresent(world.getUID(), (k, v) -> {
-            v.clear(); // Clear the set for this world
-            return v;
-        });
+        // The world clock belongs to the global region; re-check there so concurrent sleepers skip once
+        plugin.getTaskScheduler().runGlobal(() -> {
+            if (manager.isSkipping()) {
+                return;
+            }
+            plugin.getInputRecorder().sleepSkip(world);
+            manager.skipToDay(); // This now handles weather clearing
+            plugin.getMessageManager().broadcast(world, "sleep.skipped");
+            sleepingPlayers.computeIfPresent(world.getUID(), (k, v) -> {
+                v.clear(); // Clear the set for this world
+                return v;
+            });
 
-        if (plugin.isDebugMode()) {
-             plugin.getLogger().info(() -> String.format("Night/storm skipped in world '%s' (%d/%d players sleeping). Sleeping cache cleared.", world.getName(), sleepingCount, onlinePlayers));
-        }
+            if (plugin.isDebugMode()) {
+                 plugin.getLogger().info(() -> String.format("Night/storm skipped in world '%s' (%d/%d players sleeping). Sleeping cache cleared.", world.getName(), sleepingCount, onlinePlayers));
+            }
+        });
     }
 
     @EventHandler
     public void onPlayerBedLeave(PlayerBedLeaveEvent event) {
         World world = event.getPlayer().getWorld();
+        plugin.getInputRecorder().bedLeave(event.getPlayer());
         sleepingPlayers.computeIfPresent(world.getUID(), (k, v) -> {
             v.remove(event.getPlayer().getUniqueId());
             return v;
@@ -225,10 +225,17 @@ public class PlayerListener implements Listener {
          }
     }
 
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        // Only recorded, so a replay knows who counts towards the sleep vote
+        plugin.getInputRecorder().join(event.getPlayer());
+    }
+
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
         World world = player.getWorld(); // World they were in when they quit
+        plugin.getInputRecorder().quit(player);
         sleepingPlayers.computeIfPresent(world.getUID(), (k, v) -> {
              boolean removed = v.remove(player.getUniqueId());
              if (removed && plugin.isDebugMode()) {
@@ -243,6 +250,7 @@ public class PlayerListener implements Listener {
     public void onPlayerChangeWorld(PlayerChangedWorldEvent event) {
         Player player = event.getPlayer();
         World fromWorld = event.getFrom();
+        plugin.getInputRecorder().changedWorld(player);
         sleepingPlayers.computeIfPresent(fromWorld.getUID(), (k, v) -> {
              boolean removed = v.remove(player.getUniqueId());
              if (removed && plugin.isDebugMode()) {
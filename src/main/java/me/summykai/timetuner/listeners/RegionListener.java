@@ -0,0 +1,138 @@
+package me.summykai.timetuner.listeners;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.players.PersonalClock;
+import me.summykai.timetuner.players.PersonalClockManager;
+import me.summykai.timetuner.regions.RegionIndex;
+import me.summykai.timetuner.regions.TimeRegion;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies time regions to players through their personal clocks.
+ * <p>
+ * Membership is only looked up when a player enters a new chunk. Inside chunks that a
+ * region only partly covers it is also re-checked on block changes, so region edges
+ * stay exact without a lookup for every move event elsewhere.
+ */
+public class RegionListener implements Listener {
+    public static final String SOURCE_PREFIX = "region:";
+
+    private final TimeTuner plugin;
+    private final Map<UUID, RegionState> states;
+
+    public RegionListener(TimeTuner plugin) {
+        this.plugin = plugin;
+        this.states = new ConcurrentHashMap<>(); // Move events arrive on each player's region thread on Folia
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ()) {
+            return;
+        }
+        update(event.getPlayer(), to, false);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        update(event.getPlayer(), event.getTo(), true);
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        update(event.getPlayer(), event.getPlayer().getLocation(), true);
+    }
+
+    @EventHandler
+    public void onPlayerChangeWorld(PlayerChangedWorldEvent event) {
+        update(event.getPlayer(), event.getPlayer().getLocation(), true);
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        states.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Re-evaluates every online player, e.g. after the regions were reloaded.
+     */
+    public void refreshAll() {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            plugin.getTaskScheduler().runForEntity(player, () -> update(player, player.getLocation(), true));
+        }
+    }
+
+    private void update(Player player, Location location, boolean force) {
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        long chunkKey = RegionIndex.chunkKey(chunkX, chunkZ);
+
+        RegionState state = states.get(player.getUniqueId());
+        if (!force && state != null && state.chunkKey == chunkKey && state.uniform) {
+            return;
+        }
+
+        RegionIndex index = plugin.getWorldConfig(location.getWorld()).getRegions();
+        if (state == null && index.isEmpty()) {
+            return;
+        }
+
+        RegionIndex.Cell cell = index.getCell(chunkKey);
+        TimeRegion region = cell != null ? cell.find(location.getX(), location.getY(), location.getZ()) : null;
+
+        if (state == null) {
+            state = new RegionState();
+            states.put(player.getUniqueId(), state);
+        }
+        state.chunkKey = chunkKey;
+        state.uniform = cell == null || cell.isUniform();
+
+        if (region != state.region) {
+            switchRegion(player, state.region, region);
+            state.region = region;
+        }
+    }
+
+    private void switchRegion(Player player, TimeRegion previous, TimeRegion next) {
+        PersonalClockManager clocks = plugin.getPersonalClockManager();
+        if (next == null) {
+            clocks.clearClock(player, SOURCE_PREFIX + previous.getName());
+        } else {
+            // Never replace a clock set by a command or another plugin
+            PersonalClock existing = clocks.getClock(player.getUniqueId());
+            if (existing == null || existing.getSource().startsWith(SOURCE_PREFIX)) {
+                clocks.setClock(player, new PersonalClock(player.getUniqueId(), next.getMode(), next.getValue(), SOURCE_PREFIX + next.getName()));
+            }
+        }
+
+        if (plugin.isDebugMode()) {
+            plugin.getLogger().info(() -> String.format(
+                "Player %s moved from region %s to %s",
+                player.getName(),
+                previous != null ? previous.getName() : "none",
+                next != null ? next.getName() : "none"
+            ));
+        }
+    }
+
+    private static final class RegionState {
+        private long chunkKey;
+        private boolean uniform;
+        private TimeRegion region;
+    }
+}
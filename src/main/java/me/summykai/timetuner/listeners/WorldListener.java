@@ -2,11 +2,14 @@ package me.summykai.timetuner.listeners;
 
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.world.TimeSkipEvent;
 import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 
 import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.api.TimeFormat;
 import me.summykai.timetuner.time.WorldTimeManager;
 import me.summykai.timetuner.utils.ErrorHandler;
 
@@ -20,6 +23,8 @@ public class WorldListener implements Listener {
     @EventHandler
     public void onWorldLoad(WorldLoadEvent event) {
         World world = event.getWorld();
+        plugin.getWorldNameIndex().add(world.getName());
+        plugin.getInputRecorder().worldLoaded(world);
         if (plugin.isDebugMode()) {
             plugin.getLogger().info(
                 String.format(
@@ -56,4 +61,29 @@ public class WorldListener implements Listener {
             plugin.getWorldManagers().remove(world.getUID());
         }
     }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnloaded(WorldUnloadEvent event) {
+        // Only once the unload can no longer be cancelled
+        plugin.getWorldNameIndex().remove(event.getWorld().getName());
+        plugin.getInputRecorder().worldUnloaded(event.getWorld());
+        for (TimeFormat format : plugin.getTimeFormats().values()) {
+            format.forget(event.getWorld().getUID());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onTimeSkip(TimeSkipEvent event) {
+        WorldTimeManager manager = plugin.getWorldManagers().get(event.getWorld().getUID());
+        if (manager == null || manager.isWriting()) {
+            // Unmanaged world, or TimeTuner's own write
+            return;
+        }
+
+        long newFullTime = event.getWorld().getFullTime() + event.getSkipAmount();
+        String source = event.getSkipReason().name().toLowerCase();
+        if (!manager.handleExternalChange(newFullTime, source)) {
+            event.setCancelled(true);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package me.summykai.timetuner.players;
+
+import me.summykai.timetuner.time.Time;
+
+import java.util.UUID;
+
+/**
+ * A player's personal time, stored relative to the clock of the world they are in.
+ */
+public final class PersonalClock {
+    public enum Mode {
+        /**
+         * Fixed offset from the world's time.
+         */
+        OFFSET,
+        /**
+         * Runs at a multiple of the world's speed; the offset drifts as the world advances.
+         */
+        SPEED,
+        /**
+         * Frozen at one time of day.
+         */
+        FIXED
+    }
+
+    private final UUID playerId;
+    private final Mode mode;
+    private final double value;
+    private final String source;
+    private double offset;
+    private long lastWorldTime = Long.MIN_VALUE;
+    private long sentOffset = Long.MIN_VALUE;
+
+    /**
+     * @param value  offset in ticks, speed multiplier or fixed time of day, depending on the mode
+     * @param source who owns the clock (a command, a region), used when clearing it
+     */
+    public PersonalClock(UUID playerId, Mode mode, double value, String source) {
+        this.playerId = playerId;
+        this.mode = mode;
+        this.value = value;
+        this.source = source;
+        this.offset = mode == Mode.OFFSET ? value : 0;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Advances a speed clock's offset by the world's movement since the last visit.
+     */
+    void observeWorldTime(long worldTime) {
+        long delta = worldTime - lastWorldTime;
+        // Ignore rebases and other backwards or multi-day jumps of the world clock
+        if (mode == Mode.SPEED && lastWorldTime != Long.MIN_VALUE && delta > 0 && delta <= Time.DAY_LENGTH) {
+            offset += (value - 1.0) * delta;
+        }
+        lastWorldTime = worldTime;
+    }
+
+    /**
+     * Forgets the last world time, e.g. after the player changed worlds.
+     */
+    void resetWorldTime() {
+        lastWorldTime = Long.MIN_VALUE;
+    }
+
+    long getOffset() {
+        return (long) Math.floor(offset);
+    }
+
+    long getSentOffset() {
+        return sentOffset;
+    }
+
+    void markSent(long sentOffset) {
+        this.sentOffset = sentOffset;
+    }
+
+    /**
+     * Forces a resend on the next visit.
+     */
+    void invalidate() {
+        this.sentOffset = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,142 @@
+package me.summykai.timetuner.players;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.api.TimePhase;
+import me.summykai.timetuner.time.Time;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player clocks layered over the world clocks.
+ * <p>
+ * Clocks are sent to the client as relative player time, so the client keeps following
+ * the world between updates. Each tick visits a bounded batch of clocks round-robin and
+ * only re-sends when the ideal offset has drifted past the threshold or the rendered
+ * phase changed, which keeps the packet rate flat with hundreds of players.
+ */
+public class PersonalClockManager implements Listener {
+    private final TimeTuner plugin;
+    private final Map<UUID, PersonalClock> clocks;
+    private final List<PersonalClock> rotation;
+    private int cursor;
+
+    public PersonalClockManager(TimeTuner plugin) {
+        this.plugin = plugin;
+        this.clocks = new ConcurrentHashMap<>();
+        this.rotation = new ArrayList<>();
+    }
+
+    /**
+     * Installs a clock for the player, replacing any existing one, and sends it right away.
+     */
+    public synchronized void setClock(Player player, PersonalClock clock) {
+        PersonalClock previous = clocks.put(player.getUniqueId(), clock);
+        if (previous != null) {
+            rotation.remove(previous);
+        }
+        rotation.add(clock);
+        apply(player, clock);
+    }
+
+    public PersonalClock getClock(UUID playerId) {
+        return clocks.get(playerId);
+    }
+
+    /**
+     * Removes the player's clock and returns them to world time.
+     */
+    public synchronized void clearClock(Player player) {
+        PersonalClock removed = clocks.remove(player.getUniqueId());
+        if (removed != null) {
+            rotation.remove(removed);
+            plugin.getTaskScheduler().runForEntity(player, player::resetPlayerTime);
+        }
+    }
+
+    /**
+     * Removes the player's clock only if it was installed by the given source.
+     */
+    public synchronized void clearClock(Player player, String source) {
+        PersonalClock clock = clocks.get(player.getUniqueId());
+        if (clock != null && clock.getSource().equals(source)) {
+            clearClock(player);
+        }
+    }
+
+    public int size() {
+        return clocks.size();
+    }
+
+    /**
+     * Visits the next batch of clocks. Called from the update task on the global region;
+     * the packets themselves are sent from each player's own thread.
+     */
+    public synchronized void tick() {
+        int size = rotation.size();
+        if (size == 0) {
+            return;
+        }
+
+        int batch = Math.min(size, plugin.getPersonalClockBatchSize());
+        for (int i = 0; i < batch; i++) {
+            if (cursor >= rotation.size()) {
+                cursor = 0;
+            }
+            PersonalClock clock = rotation.get(cursor++);
+            Player player = plugin.getServer().getPlayer(clock.getPlayerId());
+            if (player != null) {
+                apply(player, clock);
+            }
+        }
+    }
+
+    private void apply(Player player, PersonalClock clock) {
+        if (clock.getMode() == PersonalClock.Mode.FIXED) {
+            if (clock.getSentOffset() == Long.MIN_VALUE) {
+                long time = Math.floorMod((long) clock.getValue(), Time.DAY_LENGTH);
+                plugin.getTaskScheduler().runForEntity(player, () -> player.setPlayerTime(time, false));
+                clock.markSent(time);
+            }
+            return;
+        }
+
+        long worldTime = player.getWorld().getFullTime();
+        clock.observeWorldTime(worldTime);
+
+        long offset = clock.getOffset();
+        long sent = clock.getSentOffset();
+        boolean drifted = sent == Long.MIN_VALUE || Math.abs(offset - sent) >= plugin.getPersonalClockResendThreshold();
+        boolean phaseChanged = !drifted && TimePhase.of(worldTime + offset) != TimePhase.of(worldTime + sent);
+        if (drifted || phaseChanged) {
+            plugin.getTaskScheduler().runForEntity(player, () -> player.setPlayerTime(offset, true));
+            clock.markSent(offset);
+        }
+    }
+
+    @EventHandler
+    public synchronized void onPlayerQuit(PlayerQuitEvent event) {
+        PersonalClock removed = clocks.remove(event.getPlayer().getUniqueId());
+        if (removed != null) {
+            rotation.remove(removed);
+        }
+    }
+
+    @EventHandler
+    public synchronized void onPlayerChangeWorld(PlayerChangedWorldEvent event) {
+        PersonalClock clock = clocks.get(event.getPlayer().getUniqueId());
+        if (clock != null) {
+            // The new world's clock is a different baseline
+            clock.resetWorldTime();
+            clock.invalidate();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package me.summykai.timetuner.regions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable per-world spatial hash of time regions keyed by chunk column.
+ * <p>
+ * Each chunk holds the regions touching it, highest priority first, so a lookup is one
+ * hash probe plus containment checks against the few regions in that chunk, regardless
+ * of how many regions the world has.
+ */
+public final class RegionIndex {
+    public static final RegionIndex EMPTY = new RegionIndex(new ArrayList<>());
+
+    /**
+     * Regions whose bounding box touches more chunks than this are rejected when loading.
+     */
+    public static final long MAX_CHUNKS_PER_REGION = 65536;
+
+    private final List<TimeRegion> regions;
+    private final Map<Long, Cell> cells;
+
+    public RegionIndex(List<TimeRegion> regions) {
+        List<TimeRegion> sorted = new ArrayList<>(regions);
+        sorted.sort(Comparator.comparingInt(TimeRegion::getPriority).reversed());
+        this.regions = Collections.unmodifiableList(sorted);
+
+        Map<Long, List<TimeRegion>> buckets = new HashMap<>();
+        for (TimeRegion region : sorted) {
+            for (int x = region.getMinChunkX(); x <= region.getMaxChunkX(); x++) {
+                for (int z = region.getMinChunkZ(); z <= region.getMaxChunkZ(); z++) {
+                    buckets.computeIfAbsent(chunkKey(x, z), key -> new ArrayList<>()).add(region);
+                }
+            }
+        }
+
+        this.cells = new HashMap<>(buckets.size() * 4 / 3 + 1);
+        buckets.forEach((key, bucket) -> {
+            TimeRegion[] cellRegions = bucket.toArray(new TimeRegion[0]);
+            // The top region covering the whole chunk decides every position in it
+            int chunkX = (int) (key >> 32);
+            int chunkZ = (int) (long) key;
+            boolean uniform = cellRegions[0].coversChunk(chunkX, chunkZ);
+            cells.put(key, new Cell(cellRegions, uniform));
+        });
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public boolean isEmpty() {
+        return regions.isEmpty();
+    }
+
+    public List<TimeRegion> getRegions() {
+        return regions;
+    }
+
+    /**
+     * @return the cell for a chunk, or null if no region touches it
+     */
+    public Cell getCell(long chunkKey) {
+        return cells.get(chunkKey);
+    }
+
+    /**
+     * Regions touching one chunk column.
+     */
+    public static final class Cell {
+        private final TimeRegion[] regions;
+        private final boolean uniform;
+
+        private Cell(TimeRegion[] regions, boolean uniform) {
+            this.regions = regions;
+            this.uniform = uniform;
+        }
+
+        /**
+         * @return true if the same region applies everywhere in the chunk
+         */
+        public boolean isUniform() {
+            return uniform;
+        }
+
+        /**
+         * @return the highest-priority region containing the position, or null
+         */
+        public TimeRegion find(double x, double y, double z) {
+            if (uniform) {
+                return regions[0];
+            }
+            for (TimeRegion region : regions) {
+                if (region.contains(x, y, z)) {
+                    return region;
+                }
+            }
+            return null;
+        }
+    }
+}
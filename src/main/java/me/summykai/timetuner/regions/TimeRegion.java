@@ -0,0 +1,154 @@
+package me.summykai.timetuner.regions;
+
+import me.summykai.timetuner.players.PersonalClock;
+
+/**
+ * A cuboid or cylinder in one world whose players see their own time.
+ * Regions without a height range span the whole world height.
+ */
+public final class TimeRegion {
+    public enum Shape {
+        CUBOID,
+        RADIUS
+    }
+
+    private final String name;
+    private final Shape shape;
+    private final double minX;
+    private final double minY;
+    private final double minZ;
+    private final double maxX;
+    private final double maxY;
+    private final double maxZ;
+    private final double centerX;
+    private final double centerZ;
+    private final double radiusSquared;
+    private final PersonalClock.Mode mode;
+    private final double value;
+    private final int priority;
+
+    private TimeRegion(String name, Shape shape, double minX, double minY, double minZ,
+                       double maxX, double maxY, double maxZ, double radius,
+                       PersonalClock.Mode mode, double value, int priority) {
+        this.name = name;
+        this.shape = shape;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.centerX = (minX + maxX) / 2;
+        this.centerZ = (minZ + maxZ) / 2;
+        this.radiusSquared = radius * radius;
+        this.mode = mode;
+        this.value = value;
+        this.priority = priority;
+    }
+
+    /**
+     * Creates a box between two corners (block coordinates, both inclusive).
+     */
+    public static TimeRegion cuboid(String name, double x1, double y1, double z1, double x2, double y2, double z2,
+                                    PersonalClock.Mode mode, double value, int priority) {
+        return new TimeRegion(name, Shape.CUBOID,
+            Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2),
+            Math.max(x1, x2) + 1, Math.max(y1, y2) + 1, Math.max(z1, z2) + 1,
+            0, mode, value, priority);
+    }
+
+    /**
+     * Creates a vertical cylinder around a center, limited to the given height range.
+     */
+    public static TimeRegion radius(String name, double centerX, double centerZ, double radius, double minY, double maxY,
+                                    PersonalClock.Mode mode, double value, int priority) {
+        return new TimeRegion(name, Shape.RADIUS,
+            centerX - radius, Math.min(minY, maxY), centerZ - radius,
+            centerX + radius, Math.max(minY, maxY), centerZ + radius,
+            radius, mode, value, priority);
+    }
+
+    public boolean contains(double x, double y, double z) {
+        if (x < minX || x >= maxX || y < minY || y >= maxY || z < minZ || z >= maxZ) {
+            return false;
+        }
+        if (shape == Shape.CUBOID) {
+            return true;
+        }
+        double dx = x - centerX;
+        double dz = z - centerZ;
+        return dx * dx + dz * dz <= radiusSquared;
+    }
+
+    /**
+     * @return true if every position in the chunk column is inside the region
+     */
+    public boolean coversChunk(int chunkX, int chunkZ) {
+        if (minY != Double.NEGATIVE_INFINITY || maxY != Double.POSITIVE_INFINITY) {
+            return false;
+        }
+        double x0 = chunkX * 16.0;
+        double z0 = chunkZ * 16.0;
+        double x1 = x0 + 16;
+        double z1 = z0 + 16;
+        if (x0 < minX || x1 > maxX || z0 < minZ || z1 > maxZ) {
+            return false;
+        }
+        if (shape == Shape.CUBOID) {
+            return true;
+        }
+        // A cylinder covers the chunk if its farthest corner is inside
+        double dx = Math.max(Math.abs(x0 - centerX), Math.abs(x1 - centerX));
+        double dz = Math.max(Math.abs(z0 - centerZ), Math.abs(z1 - centerZ));
+        return dx * dx + dz * dz <= radiusSquared;
+    }
+
+    public int getMinChunkX() {
+        return (int) Math.floor(minX) >> 4;
+    }
+
+    public int getMinChunkZ() {
+        return (int) Math.floor(minZ) >> 4;
+    }
+
+    public int getMaxChunkX() {
+        return (int) Math.ceil(maxX - 1) >> 4;
+    }
+
+    public int getMaxChunkZ() {
+        return (int) Math.ceil(maxZ - 1) >> 4;
+    }
+
+    /**
+     * @return the number of chunk columns the region's bounding box touches
+     */
+    public long getChunkCount() {
+        return (long) (getMaxChunkX() - getMinChunkX() + 1) * (getMaxChunkZ() - getMinChunkZ() + 1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public PersonalClock.Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the fixed time of day or speed multiplier, depending on the mode
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return priority among overlapping regions, higher wins
+     */
+    public int getPriority() {
+        return priority;
+    }
+}
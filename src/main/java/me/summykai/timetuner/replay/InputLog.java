@@ -0,0 +1,73 @@
+package me.summykai.timetuner.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Format of an input log: a header followed by records, each a type byte and its fields.
+ * <pre>
+ * header        magic "TTR1", version (byte), start millis (long), tick frequency (varint)
+ * TICK          tick delta
+ * SETTINGS      allow sleep skip, sleep percentage (double), use required players, required players,
+ *               auto-pause empty, tick frequency
+ * WORLD_NAME    world id, name (UTF)
+ * PLAYER_NAME   player id, name (UTF)
+ * WORLD_LOAD    world id
+ * WORLD_UNLOAD  world id
+ * MANAGED       world id, full time, day speed, night speed (doubles), paused, thunderstorm sleep, modelled
+ * UNMANAGED     world id
+ * STATE         world id, full time, day speed, night speed (doubles), paused
+ * JOIN          player id, world id, ignores sleep
+ * QUIT          player id
+ * CHANGE_WORLD  player id, world id, ignores sleep
+ * BED_ENTER     player id, world id, bed usable, thundering
+ * BED_LEAVE     player id
+ * COMMAND       sender (UTF), command line (UTF)
+ * RELOAD        (no fields; followed by SETTINGS)
+ * SLEEP_SKIP    world id
+ * SKIP          world id, full time after the skip
+ * EXTERNAL      world id, new full time, adopted
+ * REBASE        world id, offset
+ * CHECKPOINT    world id, full time
+ * </pre>
+ * Ids, counts and times are zig-zag varints; flags are single bytes. Ids are assigned in order
+ * of first appearance and announced by a {@code WORLD_NAME} or {@code PLAYER_NAME} record.
+ */
+public final class InputLog {
+    static final int MAGIC = 0x54545231; // "TTR1"
+    static final int VERSION = 1;
+    public static final String EXTENSION = ".ttr";
+
+    private InputLog() {
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        long value = readVarLong(in);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("Varint out of range: " + value);
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,371 @@
+package me.summykai.timetuner.replay;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.time.WorldTimeManager;
+import me.summykai.timetuner.utils.ErrorHandler;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records every input TimeTuner reacts to into a compact binary log, for offline replay
+ * through the test server (see {@code InputReplayer} in the tests).
+ * <p>
+ * Records go through a 64 KB buffer, so a busy tick costs a few bytes of copying and no
+ * system call. Worlds and players are written as small ids, announced once by name. Every
+ * hook returns immediately while no recording runs. See {@link InputLog} for the format.
+ */
+public class InputRecorder {
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final TimeTuner plugin;
+    private final Map<UUID, Integer> worldIds = new HashMap<>();
+    private final Map<UUID, Integer> playerIds = new HashMap<>();
+    private volatile boolean recording;
+    private DataOutputStream out;
+    private File file;
+    private long lastTick;
+    private long nextCheckpoint;
+    private int checkpointInterval;
+
+    public InputRecorder(TimeTuner plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * @return the file being recorded, or the last one recorded
+     */
+    public synchronized File getFile() {
+        return file;
+    }
+
+    /**
+     * Starts a new log in the recordings folder, opening with the current settings, worlds and players.
+     *
+     * @throws IOException if the file cannot be created
+     */
+    public synchronized void start() throws IOException {
+        if (recording) {
+            return;
+        }
+        checkpointInterval = Math.max(1, plugin.getConfig().getInt("recording.checkpoint-ticks", 100));
+        File directory = new File(plugin.getDataFolder(), plugin.getConfig().getString("recording.directory", "recordings"));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        file = new File(directory, LocalDateTime.now().format(FILE_NAME_FORMAT) + InputLog.EXTENSION);
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+        worldIds.clear();
+        playerIds.clear();
+        lastTick = plugin.getCurrentTick();
+        nextCheckpoint = lastTick;
+
+        out.writeInt(InputLog.MAGIC);
+        out.writeByte(InputLog.VERSION);
+        out.writeLong(System.currentTimeMillis());
+        InputLog.writeVarLong(out, plugin.getTickFrequency());
+        recording = true;
+
+        writeSettings();
+        for (World world : plugin.getServer().getWorlds()) {
+            world(world);
+        }
+        for (WorldTimeManager manager : plugin.getWorldManagers().values()) {
+            managed(manager);
+        }
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            join(player);
+        }
+        if (plugin.isDebugMode()) {
+            plugin.getLogger().info(() -> "Recording inputs to " + file.getName());
+        }
+    }
+
+    /**
+     * Flushes and closes the log. Called by {@code /timetuner record stop} and on disable.
+     */
+    public synchronized void stop() {
+        if (!recording) {
+            return;
+        }
+        recording = false;
+        try {
+            out.close();
+        } catch (IOException e) {
+            ErrorHandler.logPluginError("Could not close input recording " + file.getName(), e);
+        }
+        out = null;
+    }
+
+    /**
+     * Marks the end of an update, after every world advanced. Also writes the checkpoints that are due.
+     */
+    public synchronized void tick(long currentTick) {
+        if (!recording) {
+            return;
+        }
+        try {
+            begin(InputType.TICK);
+            InputLog.writeVarLong(out, currentTick - lastTick);
+            lastTick = currentTick;
+            if (currentTick >= nextCheckpoint) {
+                nextCheckpoint = currentTick + checkpointInterval;
+                for (WorldTimeManager manager : plugin.getWorldManagers().values()) {
+                    int world = world(manager.getWorld());
+                    begin(InputType.CHECKPOINT);
+                    InputLog.writeVarLong(out, world);
+                    InputLog.writeVarLong(out, manager.getWorld().getFullTime());
+                }
+            }
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    public synchronized void reload() {
+        if (!recording) {
+            return;
+        }
+        try {
+            begin(InputType.RELOAD);
+            writeSettings();
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    public synchronized void worldLoaded(World world) {
+        worldEvent(InputType.WORLD_LOAD, world);
+    }
+
+    public synchronized void worldUnloaded(World world) {
+        worldEvent(InputType.WORLD_UNLOAD, world);
+    }
+
+    public synchronized void unmanaged(World world) {
+        worldEvent(InputType.UNMANAGED, world);
+    }
+
+    public synchronized void sleepSkip(World world) {
+        worldEvent(InputType.SLEEP_SKIP, world);
+    }
+
+    public synchronized void managed(WorldTimeManager manager) {
+        if (!recording) {
+            return;
+        }
+        try {
+            int world = world(manager.getWorld());
+            // Curves, seasons, wall clocks and cluster clocks are not reproduced by the replay
+            boolean modelled = manager.getSpeedCurve() == null && manager.getSeasons() == null
+                && manager.getRealTimeZone() == null && manager.getClusterClock() == null;
+            begin(InputType.MANAGED);
+            InputLog.writeVarLong(out, world);
+            InputLog.writeVarLong(out, manager.getWorld().getFullTime());
+            out.writeDouble(manager.getDaySpeed());
+            out.writeDouble(manager.getNightSpeed());
+            out.writeBoolean(manager.isPaused());
+            out.writeBoolean(plugin.getWorldConfig(manager.getWorld()).isAllowThunderstormSleep());
+            out.writeBoolean(modelled);
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    public synchronized void state(WorldTimeManager manager) {
+        if (!recording) {
+            return;
+        }
+        try {
+            int world = world(manager.getWorld());
+            begin(InputType.STATE);
+            InputLog.writeVarLong(out, world);
+            InputLog.writeVarLong(out, manager.getWorld().getFullTime());
+            out.writeDouble(manager.getDaySpeed());
+            out.writeDouble(manager.getNightSpeed());
+            out.writeBoolean(manager.isPaused());
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    public synchronized void join(Player player) {
+        playerEvent(InputType.JOIN, player, true);
+    }
+
+    public synchronized void quit(Player player) {
+        playerEvent(InputType.QUIT, player, false);
+    }
+
+    public synchronized void changedWorld(Player player) {
+        playerEvent(InputType.CHANGE_WORLD, player, true);
+    }
+
+    public synchronized void bedLeave(Player player) {
+        playerEvent(InputType.BED_LEAVE, player, false);
+    }
+
+    /**
+     * @param usable false if the bed enter result already rules out sleeping
+     */
+    public synchronized void bedEnter(Player player, boolean usable) {
+        if (!recording) {
+            return;
+        }
+        try {
+            int id = player(player);
+            int world = world(player.getWorld());
+            begin(InputType.BED_ENTER);
+            InputLog.writeVarLong(out, id);
+            InputLog.writeVarLong(out, world);
+            out.writeBoolean(usable);
+            out.writeBoolean(player.getWorld().isThundering());
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    public synchronized void command(CommandSender sender, String[] args) {
+        if (!recording) {
+            return;
+        }
+        try {
+            begin(InputType.COMMAND);
+            out.writeUTF(sender.getName());
+            out.writeUTF(String.join(" ", args));
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    public synchronized void skip(World world, long fullTime) {
+        worldValue(InputType.SKIP, world, fullTime);
+    }
+
+    public synchronized void rebase(World world, long offset) {
+        worldValue(InputType.REBASE, world, offset);
+    }
+
+    public synchronized void external(World world, long newFullTime, boolean adopted) {
+        if (!recording) {
+            return;
+        }
+        try {
+            int id = world(world);
+            begin(InputType.EXTERNAL);
+            InputLog.writeVarLong(out, id);
+            InputLog.writeVarLong(out, newFullTime);
+            out.writeBoolean(adopted);
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private void worldEvent(InputType type, World world) {
+        if (!recording) {
+            return;
+        }
+        try {
+            int id = world(world);
+            begin(type);
+            InputLog.writeVarLong(out, id);
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private void worldValue(InputType type, World world, long value) {
+        if (!recording) {
+            return;
+        }
+        try {
+            int id = world(world);
+            begin(type);
+            InputLog.writeVarLong(out, id);
+            InputLog.writeVarLong(out, value);
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private void playerEvent(InputType type, Player player, boolean withWorld) {
+        if (!recording) {
+            return;
+        }
+        try {
+            int id = player(player);
+            int world = withWorld ? world(player.getWorld()) : -1;
+            begin(type);
+            InputLog.writeVarLong(out, id);
+            if (withWorld) {
+                InputLog.writeVarLong(out, world);
+                out.writeBoolean(player.isSleepingIgnored());
+            }
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private void writeSettings() throws IOException {
+        begin(InputType.SETTINGS);
+        out.writeBoolean(plugin.isAllowSleepSkip());
+        out.writeDouble(plugin.getSleepPercentage());
+        out.writeBoolean(plugin.isUseRequiredPlayers());
+        InputLog.writeVarLong(out, plugin.getRequiredPlayers());
+        out.writeBoolean(plugin.isAutoPauseEmpty());
+        InputLog.writeVarLong(out, plugin.getTickFrequency());
+    }
+
+    /**
+     * @return the world's id, announcing it first if it is new
+     */
+    private int world(World world) throws IOException {
+        Integer id = worldIds.get(world.getUID());
+        if (id == null) {
+            id = worldIds.size();
+            worldIds.put(world.getUID(), id);
+            begin(InputType.WORLD_NAME);
+            InputLog.writeVarLong(out, id);
+            out.writeUTF(world.getName());
+        }
+        return id;
+    }
+
+    private int player(Player player) throws IOException {
+        Integer id = playerIds.get(player.getUniqueId());
+        if (id == null) {
+            id = playerIds.size();
+            playerIds.put(player.getUniqueId(), id);
+            begin(InputType.PLAYER_NAME);
+            InputLog.writeVarLong(out, id);
+            out.writeUTF(player.getName());
+        }
+        return id;
+    }
+
+    private void begin(InputType type) throws IOException {
+        out.writeByte(type.ordinal());
+    }
+
+    private void failed(IOException e) {
+        ErrorHandler.logPluginError("Input recording stopped; could not write " + file.getName(), e);
+        stop();
+    }
+}
@@ -0,0 +1,45 @@
+package me.summykai.timetuner.replay;
+
+/**
+ * Record types of an input log. Stored as the ordinal, so new types are only ever appended.
+ * The fields of each type are listed in {@link InputLog}.
+ */
+public enum InputType {
+    /** End of an update: every world advanced by the tick delta */
+    TICK,
+    SETTINGS,
+    WORLD_NAME,
+    PLAYER_NAME,
+    WORLD_LOAD,
+    WORLD_UNLOAD,
+    /** A world manager was created, with its starting state */
+    MANAGED,
+    /** A world manager was removed while its world stayed loaded */
+    UNMANAGED,
+    /** Effective speeds or pause state of a managed world changed */
+    STATE,
+    JOIN,
+    QUIT,
+    CHANGE_WORLD,
+    BED_ENTER,
+    BED_LEAVE,
+    COMMAND,
+    RELOAD,
+    /** Outcome: the sleep vote skipped the night */
+    SLEEP_SKIP,
+    /** A world skipped to the next day, by a sleep vote or anything else */
+    SKIP,
+    EXTERNAL,
+    REBASE,
+    /** A world's actual full time, to verify the replay against */
+    CHECKPOINT;
+
+    private static final InputType[] VALUES = values();
+
+    /**
+     * @return the type stored as {@code ordinal}, or null for a type this version does not know
+     */
+    public static InputType of(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+    }
+}
@@ -0,0 +1,12 @@
+package me.summykai.timetuner.schedule;
+
+/**
+ * What a schedule entry does to its worlds when it comes due.
+ */
+public enum ScheduleAction {
+    SPEED,
+    PAUSE,
+    RESUME,
+    RESET,
+    PROFILE
+}
@@ -0,0 +1,94 @@
+package me.summykai.timetuner.schedule;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One configured wall-clock action: either a one-shot on a date or a daily/weekly recurrence.
+ */
+public final class ScheduleEntry {
+    private final String name;
+    private final ScheduleAction action;
+    private final LocalTime at;
+    private final LocalDate date;
+    private final Set<DayOfWeek> days;
+    private final List<String> worlds;
+    private final double daySpeed;
+    private final double nightSpeed;
+    private final String profile;
+
+    public ScheduleEntry(String name, ScheduleAction action, LocalTime at, LocalDate date, Set<DayOfWeek> days,
+                         List<String> worlds, double daySpeed, double nightSpeed, String profile) {
+        this.name = name;
+        this.action = action;
+        this.at = at;
+        this.date = date;
+        this.days = Collections.unmodifiableSet(days);
+        this.worlds = Collections.unmodifiableList(worlds);
+        this.daySpeed = daySpeed;
+        this.nightSpeed = nightSpeed;
+        this.profile = profile;
+    }
+
+    /**
+     * @return the first run strictly after {@code afterMillis}, or -1 if a one-shot entry has no run left
+     */
+    public long nextRunAfter(long afterMillis, ZoneId zone) {
+        if (date != null) {
+            long run = ZonedDateTime.of(date, at, zone).toInstant().toEpochMilli();
+            return run > afterMillis ? run : -1;
+        }
+
+        LocalDate day = Instant.ofEpochMilli(afterMillis).atZone(zone).toLocalDate();
+        // At most a week ahead for weekly entries, plus one day for today's time having passed
+        for (int i = 0; i <= 7; i++) {
+            LocalDate candidate = day.plusDays(i);
+            if (!days.isEmpty() && !days.contains(candidate.getDayOfWeek())) {
+                continue;
+            }
+            long run = ZonedDateTime.of(candidate, at, zone).toInstant().toEpochMilli();
+            if (run > afterMillis) {
+                return run;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isOneShot() {
+        return date != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ScheduleAction getAction() {
+        return action;
+    }
+
+    /**
+     * @return target world names; empty means every managed world
+     */
+    public List<String> getWorlds() {
+        return worlds;
+    }
+
+    public double getDaySpeed() {
+        return daySpeed;
+    }
+
+    public double getNightSpeed() {
+        return nightSpeed;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+}
@@ -0,0 +1,331 @@
+package me.summykai.timetuner.schedule;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.TimeTuner.SpeedProfile;
+import me.summykai.timetuner.api.WorldTimeSnapshot;
+import me.summykai.timetuner.control.ControlQueue;
+import me.summykai.timetuner.time.WorldTimeManager;
+import me.summykai.timetuner.utils.AtomicFiles;
+import me.summykai.timetuner.utils.ErrorHandler;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs configured actions at real wall-clock times.
+ * <p>
+ * Pending runs live in a priority queue ordered by due time, so the periodic check
+ * only peeks at the head. The last run of every entry is persisted to
+ * {@code schedule-state.yml} so one-shot entries are not repeated after a restart and
+ * one-shots missed while the server was down run once on startup.
+ */
+public class ScheduleManager {
+    private static final String STATE_FILE = "schedule-state.yml";
+
+    private final TimeTuner plugin;
+    private final PriorityQueue<PendingRun> queue;
+    private final Map<String, Long> lastRuns;
+    private final AtomicReference<String> pendingState = new AtomicReference<>();
+    private final Object stateWriteLock = new Object();
+    private ZoneId zone;
+
+    public ScheduleManager(TimeTuner plugin) {
+        this.plugin = plugin;
+        this.queue = new PriorityQueue<>();
+        this.lastRuns = new HashMap<>();
+        this.zone = ZoneId.systemDefault();
+    }
+
+    /**
+     * Rebuilds the queue from the {@code schedule} config section and the persisted state.
+     */
+    public void load() {
+        queue.clear();
+        lastRuns.clear();
+        loadState();
+
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("schedule");
+        if (section == null) {
+            return;
+        }
+        zone = parseZone(section.getString("time-zone"), "schedule.time-zone");
+
+        ConfigurationSection entries = section.getConfigurationSection("entries");
+        if (entries == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (String name : entries.getKeys(false)) {
+            ScheduleEntry entry = parseEntry(name, entries.getConfigurationSection(name));
+            if (entry == null) {
+                continue;
+            }
+
+            Long lastRun = lastRuns.get(name);
+            long next;
+            if (entry.isOneShot()) {
+                // Missed while offline: run on the next check; already run: drop
+                next = lastRun != null ? -1 : entry.nextRunAfter(Long.MIN_VALUE, zone);
+            } else {
+                next = entry.nextRunAfter(Math.max(now, lastRun != null ? lastRun : now), zone);
+            }
+            if (next >= 0) {
+                queue.add(new PendingRun(entry, next));
+            }
+        }
+
+        if (plugin.isDebugMode()) {
+            plugin.getLogger().info(() -> String.format("Loaded %d scheduled actions (zone %s)", queue.size(), zone));
+        }
+    }
+
+    /**
+     * Runs every entry that is due. Called periodically from the main thread.
+     */
+    public void tick() {
+        long now = System.currentTimeMillis();
+        boolean ran = false;
+        while (!queue.isEmpty() && queue.peek().runAt <= now) {
+            PendingRun run = queue.poll();
+            execute(run.entry);
+            lastRuns.put(run.entry.getName(), now);
+            ran = true;
+
+            long next = run.entry.nextRunAfter(now, zone);
+            if (next >= 0) {
+                queue.add(new PendingRun(run.entry, next));
+            }
+        }
+        if (ran) {
+            saveState();
+        }
+    }
+
+    private void execute(ScheduleEntry entry) {
+        double daySpeed = entry.getDaySpeed();
+        double nightSpeed = entry.getNightSpeed();
+        if (entry.getAction() == ScheduleAction.PROFILE) {
+            SpeedProfile profile = plugin.getProfile(entry.getProfile());
+            if (profile == null) {
+                ErrorHandler.logWarning("Scheduled action '%s' uses unknown profile: %s", entry.getName(), entry.getProfile());
+                return;
+            }
+            daySpeed = profile.getDaySpeed();
+            nightSpeed = profile.getNightSpeed();
+        }
+
+        // Applied through the control queue so scheduled changes are ordered with commands and API calls
+        ControlQueue control = plugin.getControlQueue();
+        List<CompletableFuture<WorldTimeSnapshot>> changes = new ArrayList<>();
+        for (WorldTimeManager manager : resolveWorlds(entry)) {
+            UUID worldId = manager.getWorld().getUID();
+            switch (entry.getAction()) {
+                case SPEED:
+                case PROFILE:
+                    changes.add(control.setSpeeds(worldId, daySpeed, nightSpeed));
+                    break;
+                case PAUSE:
+                    changes.add(control.setPaused(worldId, true));
+                    break;
+                case RESUME:
+                    changes.add(control.setPaused(worldId, false));
+                    break;
+                case RESET:
+                    changes.add(control.skipToDay(worldId));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        int affectedWorlds = changes.size();
+        CompletableFuture.allOf(changes.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                ErrorHandler.logWarning("Scheduled action '%s' failed: %s", entry.getName(), cause.getMessage());
+                return;
+            }
+            plugin.getLogger().info(() -> String.format(
+                "Ran scheduled action '%s' (%s) in %d worlds", entry.getName(), entry.getAction(), affectedWorlds
+            ));
+        });
+    }
+
+    private Collection<WorldTimeManager> resolveWorlds(ScheduleEntry entry) {
+        if (entry.getWorlds().isEmpty()) {
+            return plugin.getWorldManagers().values();
+        }
+        List<WorldTimeManager> managers = new ArrayList<>();
+        for (String worldName : entry.getWorlds()) {
+            World world = plugin.getServer().getWorld(worldName);
+            WorldTimeManager manager = world != null ? plugin.getWorldManagers().get(world.getUID()) : null;
+            if (manager != null) {
+                managers.add(manager);
+            }
+        }
+        return managers;
+    }
+
+    private ScheduleEntry parseEntry(String name, ConfigurationSection section) {
+        if (section == null) {
+            return null;
+        }
+        String path = "schedule.entries." + name;
+
+        ScheduleAction action;
+        try {
+            action = ScheduleAction.valueOf(section.getString("action", "").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            ErrorHandler.logConfigError(path + ".action", "entry skipped");
+            return null;
+        }
+
+        LocalTime at;
+        LocalDate date = null;
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        try {
+            at = LocalTime.parse(section.getString("at", "00:00"));
+            if (section.getString("date") != null) {
+                date = LocalDate.parse(section.getString("date"));
+            }
+            for (String day : section.getStringList("days")) {
+                days.add(DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT)));
+            }
+        } catch (DateTimeException | IllegalArgumentException e) {
+            ErrorHandler.logConfigError(path, "entry skipped (" + e.getMessage() + ")");
+            return null;
+        }
+
+        if (action == ScheduleAction.PROFILE && section.getString("profile") == null) {
+            ErrorHandler.logConfigError(path + ".profile", "entry skipped");
+            return null;
+        }
+
+        return new ScheduleEntry(
+            name,
+            action,
+            at,
+            date,
+            days,
+            section.getStringList("worlds"),
+            section.getDouble("day-speed", plugin.getDaySpeed()),
+            section.getDouble("night-speed", plugin.getNightSpeed()),
+            section.getString("profile")
+        );
+    }
+
+    /**
+     * Parses a time zone id, falling back to the system zone.
+     */
+    public static ZoneId parseZone(String id, String path) {
+        if (id == null || id.isEmpty()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(id);
+        } catch (DateTimeException e) {
+            ErrorHandler.logConfigError(path, ZoneId.systemDefault());
+            return ZoneId.systemDefault();
+        }
+    }
+
+    private void loadState() {
+        File file = new File(plugin.getDataFolder(), STATE_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration state = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection runs = state.getConfigurationSection("last-run");
+        if (runs != null) {
+            for (String name : runs.getKeys(false)) {
+                lastRuns.put(name, runs.getLong(name, 0L));
+            }
+        }
+    }
+
+    private void saveState() {
+        YamlConfiguration state = new YamlConfiguration();
+        lastRuns.forEach((name, time) -> state.set("last-run." + name, time));
+        // Serialize on the main thread, write off it. A write still queued picks up the newer state.
+        if (pendingState.getAndSet(state.saveToString()) == null) {
+            plugin.getTaskScheduler().runAsync(this::writeState);
+        }
+    }
+
+    /**
+     * Writes the latest serialized state. Writes run one at a time, so an older state can never
+     * replace a newer one and no two writers share the temporary file.
+     */
+    private void writeState() {
+        synchronized (stateWriteLock) {
+            String contents = pendingState.getAndSet(null);
+            if (contents == null) {
+                return;
+            }
+            try {
+                AtomicFiles.write(new File(plugin.getDataFolder(), STATE_FILE).toPath(), contents.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                ErrorHandler.logPluginError("Could not save " + STATE_FILE, e);
+            }
+        }
+    }
+
+    /**
+     * @return pending runs in due order, for display
+     */
+    public List<PendingRun> getPending() {
+        List<PendingRun> pending = new ArrayList<>(queue);
+        pending.sort(null);
+        return pending;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public static final class PendingRun implements Comparable<PendingRun> {
+        private final ScheduleEntry entry;
+        private final long runAt;
+
+        private PendingRun(ScheduleEntry entry, long runAt) {
+            this.entry = entry;
+            this.runAt = runAt;
+        }
+
+        public ScheduleEntry getEntry() {
+            return entry;
+        }
+
+        public long getRunAt() {
+            return runAt;
+        }
+
+        @Override
+        public int compareTo(PendingRun other) {
+            return Long.compare(runAt, other.runAt);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package me.summykai.timetuner.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.AsyncScheduler;
+import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Region-threaded servers: world clocks on the global region scheduler, player work on
+ * each entity's scheduler and I/O on the async scheduler.
+ */
+public class FoliaTaskScheduler implements TaskScheduler {
+    private final Plugin plugin;
+    private final GlobalRegionScheduler globalScheduler;
+    private final AsyncScheduler asyncScheduler;
+
+    public FoliaTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        this.globalScheduler = plugin.getServer().getGlobalRegionScheduler();
+        this.asyncScheduler = plugin.getServer().getAsyncScheduler();
+    }
+
+    @Override
+    public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        // Folia requires a positive initial delay
+        globalScheduler.runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1, delayTicks), periodTicks);
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        globalScheduler.runDelayed(plugin, scheduled -> task.run(), Math.max(1, delayTicks));
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return Bukkit.isGlobalTickThread();
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        if (isGlobalThread()) {
+            task.run();
+        } else {
+            globalScheduler.execute(plugin, task);
+        }
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            entity.getScheduler().run(plugin, scheduled -> task.run(), null);
+        }
+    }
+
+    @Override
+    public void runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        entity.getScheduler().runDelayed(plugin, scheduled -> task.run(), null, Math.max(1, delayTicks));
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        asyncScheduler.runNow(plugin, scheduled -> task.run());
+    }
+
+    @Override
+    public void cancelAll() {
+        globalScheduler.cancelTasks(plugin);
+        asyncScheduler.cancelTasks(plugin);
+    }
+}
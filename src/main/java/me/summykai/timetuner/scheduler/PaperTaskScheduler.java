@@ -0,0 +1,63 @@
+package me.summykai.timetuner.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+
+/**
+ * Single main thread: global and entity work both go to the Bukkit scheduler.
+ */
+public class PaperTaskScheduler implements TaskScheduler {
+    private final Plugin plugin;
+    private final BukkitScheduler scheduler;
+
+    public PaperTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getServer().getScheduler();
+    }
+
+    @Override
+    public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        scheduler.runTaskTimer(plugin, task, delayTicks, periodTicks);
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        scheduler.runTaskLater(plugin, task, delayTicks);
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        if (isGlobalThread()) {
+            task.run();
+        } else {
+            scheduler.runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        runGlobal(task);
+    }
+
+    @Override
+    public void runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        scheduler.runTaskLater(plugin, task, delayTicks);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        scheduler.runTaskAsynchronously(plugin, task);
+    }
+
+    @Override
+    public void cancelAll() {
+        scheduler.cancelTasks(plugin);
+    }
+}
@@ -0,0 +1,54 @@
+package me.summykai.timetuner.scheduler;
+
+import org.bukkit.entity.Entity;
+
+/**
+ * Thread model used by TimeTuner's tasks, so the same code runs on Paper and on Folia.
+ * <p>
+ * World clock work runs on the global region (the main thread on Paper), work that touches
+ * a player runs on the thread owning that player, and I/O runs asynchronously.
+ */
+public interface TaskScheduler {
+
+    /**
+     * Runs a repeating task on the global region.
+     */
+    void runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task on the global region after a delay.
+     */
+    void runGlobalLater(Runnable task, long delayTicks);
+
+    /**
+     * Runs a task on the global region, immediately if already on it.
+     */
+    void runGlobal(Runnable task);
+
+    /**
+     * @return true on the global region's thread (the main thread on Paper), which owns world clock state
+     */
+    boolean isGlobalThread();
+
+    /**
+     * Runs a task on the thread owning the entity, immediately if already on it.
+     * The task is dropped if the entity is removed first.
+     */
+    void runForEntity(Entity entity, Runnable task);
+
+    /**
+     * Runs a task on the thread owning the entity after a delay.
+     * The task is dropped if the entity is removed first.
+     */
+    void runForEntityLater(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * Runs a task off the server threads.
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Cancels every task this plugin scheduled.
+     */
+    void cancelAll();
+}
@@ -0,0 +1,26 @@
+package me.summykai.timetuner.scheduler;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Picks the scheduler matching the running server.
+ */
+public final class TaskSchedulers {
+    private static final String FOLIA_MARKER = "io.papermc.paper.threadedregions.RegionizedServer";
+
+    private TaskSchedulers() {
+    }
+
+    public static boolean isFolia() {
+        try {
+            Class.forName(FOLIA_MARKER);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public static TaskScheduler create(Plugin plugin) {
+        return isFolia() ? new FoliaTaskScheduler(plugin) : new PaperTaskScheduler(plugin);
+    }
+}
@@ -0,0 +1,267 @@
+package me.summykai.timetuner.state;
+
+import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.utils.AtomicFiles;
+import me.summykai.timetuner.utils.ErrorHandler;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speeds and pause states changed at runtime, kept in {@code runtime.yml} on top of {@code config.yml}.
+ * <p>
+ * Changes are recorded in memory and written behind: the first change after a write schedules
+ * one on a background thread after the write delay, and later changes are folded into it, so
+ * a burst of commands costs a single write and never blocks a tick. The file is written to a
+ * temporary file and renamed over the old one, so a crash never leaves it half written. The
+ * overlay is merged into the config during {@link TimeTuner#loadConfigValues()}, so it also
+ * survives {@code /timetuner reload}.
+ */
+public class RuntimeOverlay {
+    private static final String FILE_NAME = "runtime.yml";
+
+    private final TimeTuner plugin;
+    private final Map<String, WorldState> worlds; // By lowercase world name
+    private final ScheduledExecutorService writer;
+    private Double globalDaySpeed;
+    private Double globalNightSpeed;
+    private boolean enabled;
+    private long writeDelayMillis;
+    private boolean writeScheduled;
+    private boolean dirty;
+
+    public RuntimeOverlay(TimeTuner plugin) {
+        this.plugin = plugin;
+        this.worlds = new LinkedHashMap<>();
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TimeTuner-RuntimeWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads {@code runtime.yml}. Called once on enable; afterwards memory is authoritative.
+     */
+    public synchronized void load() {
+        worlds.clear();
+        globalDaySpeed = null;
+        globalNightSpeed = null;
+
+        File file = getFile();
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration state = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection global = state.getConfigurationSection("global-speeds");
+        if (global != null) {
+            globalDaySpeed = global.contains("day-speed") ? global.getDouble("day-speed") : null;
+            globalNightSpeed = global.contains("night-speed") ? global.getDouble("night-speed") : null;
+        }
+        ConfigurationSection worldsSection = state.getConfigurationSection("worlds");
+        if (worldsSection != null) {
+            for (String name : worldsSection.getKeys(false)) {
+                ConfigurationSection section = worldsSection.getConfigurationSection(name);
+                if (section == null) {
+                    continue;
+                }
+                WorldState world = new WorldState(name);
+                world.daySpeed = section.contains("day-speed") ? section.getDouble("day-speed") : null;
+                world.nightSpeed = section.contains("night-speed") ? section.getDouble("night-speed") : null;
+                world.paused = section.contains("paused") ? section.getBoolean("paused") : null;
+                worlds.put(name.toLowerCase(Locale.ROOT), world);
+            }
+        }
+    }
+
+    /**
+     * Reads the {@code runtime-state} settings from the freshly loaded config.
+     */
+    public synchronized void configure(FileConfiguration config) {
+        ConfigurationSection section = config.getConfigurationSection("runtime-state");
+        enabled = section == null || section.getBoolean("enabled", true);
+        writeDelayMillis = Math.max(0, section != null ? section.getLong("write-delay-millis", 2000) : 2000);
+    }
+
+    /**
+     * Overlays the recorded speeds onto the config's {@code global-speeds} and {@code worlds} sections.
+     */
+    public synchronized void mergeInto(FileConfiguration config) {
+        if (!enabled) {
+            return;
+        }
+        if (globalDaySpeed != null) {
+            config.set("global-speeds.day-speed", globalDaySpeed);
+        }
+        if (globalNightSpeed != null) {
+            config.set("global-speeds.night-speed", globalNightSpeed);
+        }
+
+        ConfigurationSection worldsSection = config.getConfigurationSection("worlds");
+        if (worldsSection == null) {
+            worldsSection = config.createSection("worlds");
+        }
+        for (WorldState world : worlds.values()) {
+            if (world.daySpeed == null && world.nightSpeed == null) {
+                continue;
+            }
+            // Reuse the config's own key so its other world settings stay together
+            String key = world.name;
+            for (String existing : worldsSection.getKeys(false)) {
+                if (existing.equalsIgnoreCase(world.name)) {
+                    key = existing;
+                    break;
+                }
+            }
+            if (world.daySpeed != null) {
+                worldsSection.set(key + ".day-speed", world.daySpeed);
+            }
+            if (world.nightSpeed != null) {
+                worldsSection.set(key + ".night-speed", world.nightSpeed);
+            }
+        }
+    }
+
+    public synchronized void recordGlobalSpeeds(double daySpeed, double nightSpeed) {
+        globalDaySpeed = daySpeed;
+        globalNightSpeed = nightSpeed;
+        changed();
+    }
+
+    public synchronized void recordSpeeds(String worldName, double daySpeed, double nightSpeed) {
+        WorldState world = getOrCreate(worldName);
+        world.daySpeed = daySpeed;
+        world.nightSpeed = nightSpeed;
+        changed();
+    }
+
+    public synchronized void recordPaused(String worldName, boolean paused) {
+        // Only a pause needs remembering; running is the default
+        if (paused) {
+            getOrCreate(worldName).paused = true;
+        } else {
+            WorldState world = worlds.get(worldName.toLowerCase(Locale.ROOT));
+            if (world == null || world.paused == null) {
+                return;
+            }
+            world.paused = null;
+        }
+        changed();
+    }
+
+    /**
+     * @return true if the world was paused at runtime and should start paused
+     */
+    public synchronized boolean isPaused(String worldName) {
+        WorldState world = worlds.get(worldName.toLowerCase(Locale.ROOT));
+        return enabled && world != null && Boolean.TRUE.equals(world.paused);
+    }
+
+    /**
+     * Forgets every runtime change, so {@code config.yml} applies again.
+     */
+    public synchronized void clear() {
+        worlds.clear();
+        globalDaySpeed = null;
+        globalNightSpeed = null;
+        changed();
+    }
+
+    private WorldState getOrCreate(String worldName) {
+        return worlds.computeIfAbsent(worldName.toLowerCase(Locale.ROOT), key -> new WorldState(worldName));
+    }
+
+    private void changed() {
+        if (!enabled) {
+            return;
+        }
+        dirty = true;
+        if (!writeScheduled) {
+            writeScheduled = true;
+            writer.schedule(this::write, writeDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Serializes the current state and replaces the file. Runs on the writer thread.
+     */
+    private void write() {
+        String contents;
+        synchronized (this) {
+            writeScheduled = false;
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            contents = serialize();
+        }
+
+        try {
+            AtomicFiles.write(getFile().toPath(), contents.getBytes(StandardCharsets.UTF_8));
+            if (plugin.isDebugMode()) {
+                plugin.getLogger().info(() -> "Saved runtime changes to " + FILE_NAME);
+            }
+        } catch (IOException e) {
+            ErrorHandler.logPluginError("Could not save " + FILE_NAME, e);
+        }
+    }
+
+    private String serialize() {
+        YamlConfiguration state = new YamlConfiguration();
+        if (globalDaySpeed != null) {
+            state.set("global-speeds.day-speed", globalDaySpeed);
+            state.set("global-speeds.night-speed", globalNightSpeed);
+        }
+        for (WorldState world : worlds.values()) {
+            String path = "worlds." + world.name;
+            if (world.daySpeed != null) {
+                state.set(path + ".day-speed", world.daySpeed);
+            }
+            if (world.nightSpeed != null) {
+                state.set(path + ".night-speed", world.nightSpeed);
+            }
+            if (world.paused != null) {
+                state.set(path + ".paused", world.paused);
+            }
+        }
+        return state.saveToString();
+    }
+
+    /**
+     * Writes any pending change right away and stops the writer. Called on disable.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        write();
+    }
+
+    private File getFile() {
+        return new File(plugin.getDataFolder(), FILE_NAME);
+    }
+
+    private static final class WorldState {
+        private final String name;
+        private Double daySpeed;
+        private Double nightSpeed;
+        private Boolean paused;
+
+        private WorldState(String name) {
+            this.name = name;
+        }
+    }
+}
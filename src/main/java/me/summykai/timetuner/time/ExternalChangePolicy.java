@@ -0,0 +1,19 @@
+package me.summykai.timetuner.time;
+
+/**
+ * What a world does when its time is changed outside TimeTuner (vanilla /time, other plugins).
+ */
+public enum ExternalChangePolicy {
+    /**
+     * Re-anchor the engine at the new time and continue from there.
+     */
+    ADOPT,
+    /**
+     * Cancel the change where possible, otherwise restore TimeTuner's time on the next update.
+     */
+    REJECT,
+    /**
+     * Log the change and let TimeTuner's next update overwrite it.
+     */
+    LOG
+}
@@ -0,0 +1,145 @@
+package me.summykai.timetuner.time;
+
+import me.summykai.timetuner.api.SpeedModifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-world set of speed modifiers over the configured base speeds.
+ * <p>
+ * The effective speeds are recomputed only when the set or the base changes and cached,
+ * and the earliest expiry is kept so the update loop checks expiry with one comparison.
+ */
+public class ModifierStack {
+    private final Map<String, Entry> entries;
+    private final List<Entry> ordered;
+    private double baseDaySpeed;
+    private double baseNightSpeed;
+    private double effectiveDaySpeed;
+    private double effectiveNightSpeed;
+    private long nextExpiry = Long.MAX_VALUE;
+
+    public ModifierStack(double baseDaySpeed, double baseNightSpeed) {
+        this.entries = new HashMap<>();
+        this.ordered = new ArrayList<>();
+        this.baseDaySpeed = baseDaySpeed;
+        this.baseNightSpeed = baseNightSpeed;
+        recompute();
+    }
+
+    public void setBase(double daySpeed, double nightSpeed) {
+        this.baseDaySpeed = daySpeed;
+        this.baseNightSpeed = nightSpeed;
+        recompute();
+    }
+
+    /**
+     * Adds or replaces a modifier.
+     *
+     * @param now current server tick, used to resolve the expiry
+     */
+    public void put(SpeedModifier modifier, long now) {
+        long expiresAt = modifier.isPermanent() ? Long.MAX_VALUE : now + modifier.getDurationTicks();
+        entries.put(modifier.getName().toLowerCase(), new Entry(modifier, expiresAt));
+        recompute();
+    }
+
+    /**
+     * @return true if a modifier with that name was removed
+     */
+    public boolean remove(String name) {
+        if (entries.remove(name.toLowerCase()) == null) {
+            return false;
+        }
+        recompute();
+        return true;
+    }
+
+    /**
+     * Drops modifiers that expired at or before {@code now}.
+     *
+     * @return true if any modifier was dropped
+     */
+    public boolean expire(long now) {
+        if (now < nextExpiry) {
+            return false;
+        }
+        boolean removed = entries.values().removeIf(entry -> entry.expiresAt <= now);
+        recompute();
+        return removed;
+    }
+
+    public long getNextExpiry() {
+        return nextExpiry;
+    }
+
+    public double getBaseDaySpeed() {
+        return baseDaySpeed;
+    }
+
+    public double getBaseNightSpeed() {
+        return baseNightSpeed;
+    }
+
+    public double getEffectiveDaySpeed() {
+        return effectiveDaySpeed;
+    }
+
+    public double getEffectiveNightSpeed() {
+        return effectiveNightSpeed;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return the active modifiers in application order
+     */
+    public List<SpeedModifier> getModifiers() {
+        List<SpeedModifier> modifiers = new ArrayList<>(ordered.size());
+        for (Entry entry : ordered) {
+            modifiers.add(entry.modifier);
+        }
+        return Collections.unmodifiableList(modifiers);
+    }
+
+    private void recompute() {
+        ordered.clear();
+        ordered.addAll(entries.values());
+        ordered.sort(Comparator.comparingInt(entry -> entry.modifier.getPriority()));
+
+        double day = baseDaySpeed;
+        double night = baseNightSpeed;
+        long expiry = Long.MAX_VALUE;
+        for (Entry entry : ordered) {
+            SpeedModifier modifier = entry.modifier;
+            if (modifier.getOperation() == SpeedModifier.Operation.OVERRIDE) {
+                day = modifier.getDayValue();
+                night = modifier.getNightValue();
+            } else {
+                day *= modifier.getDayValue();
+                night *= modifier.getNightValue();
+            }
+            expiry = Math.min(expiry, entry.expiresAt);
+        }
+        this.effectiveDaySpeed = day;
+        this.effectiveNightSpeed = night;
+        this.nextExpiry = expiry;
+    }
+
+    private static final class Entry {
+        private final SpeedModifier modifier;
+        private final long expiresAt;
+
+        private Entry(SpeedModifier modifier, long expiresAt) {
+            this.modifier = modifier;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
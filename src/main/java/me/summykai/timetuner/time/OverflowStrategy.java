@@ -0,0 +1,16 @@
+package me.summykai.timetuner.time;
+
+/**
+ * How the engine keeps a world's full time bounded on long-running servers.
+ */
+public enum OverflowStrategy {
+    /**
+     * Full time grows forever; the day counter is never touched.
+     */
+    NONE,
+    /**
+     * Past the threshold, full time is rebased by whole 8-day moon cycles, so the
+     * time of day and moon phase are unchanged and only the day counter drops.
+     */
+    MOON_CYCLE
+}
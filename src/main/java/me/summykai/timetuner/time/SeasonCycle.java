@@ -0,0 +1,91 @@
+package me.summykai.timetuner.time;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multi-day season cycle that shifts the day/night split while keeping the full day length.
+ * <p>
+ * The daylight fraction follows a cosine over the cycle, peaking on {@code summerPeakDay},
+ * and is tabulated once per cycle day when the config loads.
+ */
+public final class SeasonCycle {
+    private final int cycleDays;
+    private final double[] daylight;
+    private final String[] seasonNames;
+
+    private SeasonCycle(int cycleDays, double[] daylight, String[] seasonNames) {
+        this.cycleDays = cycleDays;
+        this.daylight = daylight;
+        this.seasonNames = seasonNames;
+    }
+
+    /**
+     * @param cycleDays      in-game days per full cycle of seasons
+     * @param summerDaylight share of the real day length spent in daytime at the summer peak (0-1)
+     * @param winterDaylight share of the real day length spent in daytime at the winter low (0-1)
+     * @param summerPeakDay  cycle day with the longest day
+     * @param seasonNames    names splitting the cycle into equal seasons, starting at cycle day 0
+     * @throws IllegalArgumentException on out-of-range values
+     */
+    public static SeasonCycle create(int cycleDays, double summerDaylight, double winterDaylight,
+                                     int summerPeakDay, List<String> seasonNames) {
+        if (cycleDays < 1) {
+            throw new IllegalArgumentException("cycle-days must be at least 1");
+        }
+        if (summerDaylight <= 0 || summerDaylight >= 1 || winterDaylight <= 0 || winterDaylight >= 1) {
+            throw new IllegalArgumentException("daylight fractions must be between 0 and 1");
+        }
+
+        double middle = (summerDaylight + winterDaylight) / 2;
+        double amplitude = (summerDaylight - winterDaylight) / 2;
+        double[] daylight = new double[cycleDays];
+        for (int day = 0; day < cycleDays; day++) {
+            daylight[day] = middle + amplitude * Math.cos(2 * Math.PI * (day - summerPeakDay) / cycleDays);
+        }
+        return new SeasonCycle(cycleDays, daylight, seasonNames.toArray(new String[0]));
+    }
+
+    public int getCycleDays() {
+        return cycleDays;
+    }
+
+    public int dayInCycle(long day) {
+        return (int) Math.floorMod(day, (long) cycleDays);
+    }
+
+    public double getDaylight(int dayInCycle) {
+        return daylight[dayInCycle];
+    }
+
+    /**
+     * @return the season name for the cycle day, or null if no names are configured
+     */
+    public String getSeasonName(int dayInCycle) {
+        if (seasonNames.length == 0) {
+            return null;
+        }
+        return seasonNames[(int) ((long) dayInCycle * seasonNames.length / cycleDays)];
+    }
+
+    /**
+     * Fills per-cycle-day speed tables from base speeds, keeping each day's total
+     * real length equal to the base day's.
+     */
+    public void fillSpeeds(double daySpeed, double nightSpeed, double[] daySpeeds, double[] nightSpeeds) {
+        if (daySpeed <= 0 || nightSpeed <= 0) {
+            // Cannot rebalance a stopped phase, keep the base speeds
+            Arrays.fill(daySpeeds, daySpeed);
+            Arrays.fill(nightSpeeds, nightSpeed);
+            return;
+        }
+
+        double dayTicks = Time.NIGHT_START / daySpeed;
+        double nightTicks = (Time.DAY_LENGTH - Time.NIGHT_START) / nightSpeed;
+        double total = dayTicks + nightTicks;
+        for (int day = 0; day < cycleDays; day++) {
+            daySpeeds[day] = Time.NIGHT_START / (daylight[day] * total);
+            nightSpeeds[day] = (Time.DAY_LENGTH - Time.NIGHT_START) / ((1 - daylight[day]) * total);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package me.summykai.timetuner.time;
+
+/**
+ * The sleep vote of the player listener, free of Bukkit.
+ */
+public final class SleepRules {
+    private SleepRules() {
+    }
+
+    /**
+     * @param timeOfDay the world's time of day
+     * @return true if players may sleep through this time
+     */
+    public static boolean isNight(long timeOfDay) {
+        return timeOfDay >= Time.NIGHT_START || timeOfDay < Time.DAY_START; // Checks if time is in the wrap-around night period
+    }
+
+    /**
+     * @param sleeping           players in bed
+     * @param eligible           players in the world who do not ignore sleep
+     * @param useRequiredPlayers count players instead of a percentage
+     * @return true if enough players sleep to skip the night
+     */
+    public static boolean shouldSkip(int sleeping, int eligible, boolean useRequiredPlayers, int requiredPlayers, double percentage) {
+        if (eligible <= 0) {
+            return false;
+        }
+        if (eligible == 1 && sleeping == 1) {
+            return true;
+        }
+        if (useRequiredPlayers) {
+            return sleeping >= Math.min(requiredPlayers, eligible);
+        }
+        return (double) sleeping / eligible >= percentage;
+    }
+}
@@ -0,0 +1,139 @@
+package me.summykai.timetuner.time;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Speed keyframes across the 24000-tick day, compiled into lookup tables.
+ * <p>
+ * Keyframes are linearly interpolated (wrapping past midnight) into a per-game-tick speed
+ * table, and a cumulative table holds the server ticks needed to reach each game tick from 0.
+ * Advancing is a direct table read when the step stays within the next two game ticks and a
+ * binary search over the cumulative table otherwise, so large steps are still exact.
+ */
+public final class SpeedCurve {
+    public static final double MIN_SPEED = 0.001;
+
+    private final int length = (int) Time.DAY_LENGTH;
+    private final double[] speeds;
+    private final double[] cumulative;
+    private final double cycleTicks;
+
+    private SpeedCurve(double[] speeds) {
+        this.speeds = speeds;
+        this.cumulative = new double[length + 1];
+        for (int i = 0; i < length; i++) {
+            cumulative[i + 1] = cumulative[i] + 1.0 / speeds[i];
+        }
+        this.cycleTicks = cumulative[length];
+    }
+
+    /**
+     * Compiles keyframes (time of day to speed) into a curve.
+     *
+     * @throws IllegalArgumentException if there are no keyframes or a time is outside 0-23999
+     */
+    public static SpeedCurve compile(Map<Long, Double> keyframes) {
+        if (keyframes.isEmpty()) {
+            throw new IllegalArgumentException("A speed curve needs at least one keyframe");
+        }
+
+        TreeMap<Long, Double> sorted = new TreeMap<>();
+        for (Map.Entry<Long, Double> keyframe : keyframes.entrySet()) {
+            long time = keyframe.getKey();
+            if (time < 0 || time >= Time.DAY_LENGTH) {
+                throw new IllegalArgumentException("Keyframe time out of range: " + time);
+            }
+            sorted.put(time, Math.max(MIN_SPEED, keyframe.getValue()));
+        }
+
+        double[] speeds = new double[(int) Time.DAY_LENGTH];
+        for (int i = 0; i < speeds.length; i++) {
+            Map.Entry<Long, Double> previous = sorted.floorEntry((long) i);
+            if (previous == null) {
+                // Before the first keyframe: continue from the last one of the previous day
+                Map.Entry<Long, Double> last = sorted.lastEntry();
+                previous = Map.entry(last.getKey() - Time.DAY_LENGTH, last.getValue());
+            }
+            Map.Entry<Long, Double> next = sorted.higherEntry((long) i);
+            if (next == null) {
+                Map.Entry<Long, Double> first = sorted.firstEntry();
+                next = Map.entry(first.getKey() + Time.DAY_LENGTH, first.getValue());
+            }
+
+            double span = next.getKey() - previous.getKey();
+            double progress = span > 0 ? (i - previous.getKey()) / span : 0;
+            speeds[i] = previous.getValue() + (next.getValue() - previous.getValue()) * progress;
+        }
+        return new SpeedCurve(speeds);
+    }
+
+    /**
+     * @return the full time reached from {@code fullTime} after {@code serverTicks}
+     */
+    public double advance(double fullTime, double serverTicks) {
+        double dayBase = Math.floor(fullTime / Time.DAY_LENGTH) * Time.DAY_LENGTH;
+        double timeOfDay = fullTime - dayBase;
+        int cell = Math.min(length - 1, (int) timeOfDay);
+
+        double position = cumulative[cell] + (timeOfDay - cell) / speeds[cell];
+        double target = position + serverTicks;
+
+        // Fast path: the step ends in this game tick or the next one
+        if (target < cumulative[cell + 1]) {
+            return dayBase + cell + (target - cumulative[cell]) * speeds[cell];
+        }
+        if (cell + 2 <= length && target < cumulative[cell + 2]) {
+            return dayBase + cell + 1 + (target - cumulative[cell + 1]) * speeds[cell + 1];
+        }
+
+        double days = Math.floor(target / cycleTicks);
+        target -= days * cycleTicks;
+        int targetCell = findCell(target);
+        return dayBase + days * Time.DAY_LENGTH + targetCell + (target - cumulative[targetCell]) * speeds[targetCell];
+    }
+
+    /**
+     * @return server ticks needed to move from one time of day to a later one on the same day (0-24000)
+     */
+    public double ticksBetween(double fromTimeOfDay, double toTimeOfDay) {
+        return position(toTimeOfDay) - position(fromTimeOfDay);
+    }
+
+    private double position(double timeOfDay) {
+        if (timeOfDay >= length) {
+            return cycleTicks;
+        }
+        int cell = (int) timeOfDay;
+        return cumulative[cell] + (timeOfDay - cell) / speeds[cell];
+    }
+
+    /**
+     * @return the speed at the given time of day
+     */
+    public double speedAt(double timeOfDay) {
+        int cell = (int) Math.floorMod((long) Math.floor(timeOfDay), Time.DAY_LENGTH);
+        return speeds[cell];
+    }
+
+    /**
+     * @return server ticks for one full day on this curve
+     */
+    public double getCycleTicks() {
+        return cycleTicks;
+    }
+
+    private int findCell(double position) {
+        int low = 0;
+        int high = length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cumulative[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -1,16 +1,21 @@
 // TimeAdjuster.java
 package me.summykai.timetuner.time;
 
-import org.bukkit.World;
-
 public class TimeAdjuster {
-    private static final long OVERFLOW_RESET = 1728000; // 72 days
-    
-    public static void safeTimeUpdate(World world, long newTime) {
-        long currentFullTime = world.getFullTime();
-        if (currentFullTime > OVERFLOW_RESET) {
-            world.setFullTime(currentFullTime % OVERFLOW_RESET);
+    public static final long MOON_CYCLE = 8 * Time.DAY_LENGTH; // 8 days, one full set of moon phases
+    public static final long DEFAULT_OVERFLOW_THRESHOLD = 1728000; // 72 days
+
+    /**
+     * The rebased days are kept as the engine's day offset (see {@link TimeEngine#rebase(long)}),
+     * so the day counter, seasons and day events keep counting past a rebase.
+     *
+     * @return the amount to subtract from {@code fullTime} to keep it bounded, always a whole
+     *         number of moon cycles, or 0 if no rebase is needed
+     */
+    public static long overflowRebase(long fullTime, OverflowStrategy strategy, long threshold) {
+        if (strategy != OverflowStrategy.MOON_CYCLE || fullTime <= threshold) {
+            return 0;
         }
-        world.setTime(newTime);
+        return Math.floorDiv(fullTime, MOON_CYCLE) * MOON_CYCLE;
     }
-}
\ No newline at end of file
+}
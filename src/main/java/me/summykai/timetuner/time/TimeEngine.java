@@ -0,0 +1,357 @@
+package me.summykai.timetuner.time;
+
+/**
+ * Bukkit-free time accumulator used by {@link WorldTimeManager}.
+ * Holds the fractional world time and the day/night speeds so the stepping
+ * math can be driven without a running server (see the tests).
+ */
+public class TimeEngine {
+    private double daySpeed;
+    private double nightSpeed;
+    private double accumulatedTime;
+    private long dayOffset; // Days taken out of the accumulator by rebases, still part of the day counter
+    private long lastTimeOfDay;
+    private SpeedCurve curve; // When set, the day/night pair scales it instead of being the speed itself
+    private SeasonCycle seasons; // Rebalances the day/night pair per day when set
+    private double[] seasonDaySpeeds;
+    private double[] seasonNightSpeeds;
+
+    public TimeEngine(long startTime, double daySpeed, double nightSpeed) {
+        this.daySpeed = daySpeed;
+        this.nightSpeed = nightSpeed;
+        reset(startTime);
+    }
+
+    /**
+     * Advances the accumulator by the given number of server ticks.
+     * Day/night steps are split exactly at every phase boundary and whole days are
+     * jumped in one step, so any speed and step size lands on the exact time.
+     *
+     * @return true if the integer time of day changed and the world needs a write
+     */
+    public boolean advance(double serverTicks) {
+        long before = (long) Math.floor(accumulatedTime);
+        if (curve != null) {
+            advanceCurve(serverTicks);
+        } else {
+            advanceDayNight(serverTicks);
+        }
+
+        long after = (long) Math.floor(accumulatedTime);
+        if (after == before) {
+            return false;
+        }
+        lastTimeOfDay = Math.floorMod(after, Time.DAY_LENGTH);
+        return true;
+    }
+
+    private void advanceDayNight(double serverTicks) {
+        double remaining = serverTicks;
+        while (remaining > 0) {
+            double timeOfDay = accumulatedTime - Math.floor(accumulatedTime / Time.DAY_LENGTH) * Time.DAY_LENGTH;
+            boolean day = timeOfDay < Time.NIGHT_START;
+            double speed = day ? currentDaySpeed() : currentNightSpeed();
+            if (speed <= 0) {
+                return; // A stopped phase holds time until speeds change
+            }
+
+            double boundary = accumulatedTime - timeOfDay + (day ? Time.NIGHT_START : Time.DAY_LENGTH);
+            double needed = (boundary - accumulatedTime) / speed;
+            if (remaining < needed) {
+                accumulatedTime += remaining * speed;
+                return;
+            }
+            accumulatedTime = boundary;
+            remaining -= needed;
+
+            if (!day) {
+                // At a day start: jump whole days at once. Seasons keep the full day length constant.
+                double dayTicks = Time.NIGHT_START / currentDaySpeed() + (Time.DAY_LENGTH - Time.NIGHT_START) / currentNightSpeed();
+                if (remaining >= dayTicks) {
+                    double days = Math.floor(remaining / dayTicks);
+                    accumulatedTime += days * Time.DAY_LENGTH;
+                    remaining -= days * dayTicks;
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances along the speed curve, scaled by the day speed during the day and the night speed
+     * at night. Like {@link #advanceDayNight(double)}, steps are split at phase boundaries and the
+     * scale is re-read on every pass, since seasons change it at each midnight. Whole days are
+     * jumped without seasons; with seasons only whole cycles are, as the days differ in length.
+     */
+    private void advanceCurve(double serverTicks) {
+        if (seasons == null && daySpeed == 1 && nightSpeed == 1) {
+            accumulatedTime = curve.advance(accumulatedTime, serverTicks); // Unscaled: one table walk
+            return;
+        }
+
+        double remaining = serverTicks;
+        while (remaining > 0) {
+            double timeOfDay = accumulatedTime - Math.floor(accumulatedTime / Time.DAY_LENGTH) * Time.DAY_LENGTH;
+            boolean day = timeOfDay < Time.NIGHT_START;
+            double scale = day ? currentDaySpeed() : currentNightSpeed();
+            if (scale <= 0) {
+                return;
+            }
+
+            double boundary = accumulatedTime - timeOfDay + (day ? Time.NIGHT_START : Time.DAY_LENGTH);
+            double needed = curve.ticksBetween(timeOfDay, day ? Time.NIGHT_START : Time.DAY_LENGTH) / scale;
+            if (remaining < needed) {
+                // Rounding in the table walk must not carry the step past the boundary
+                accumulatedTime = Math.min(boundary, curve.advance(accumulatedTime, remaining * scale));
+                return;
+            }
+            accumulatedTime = boundary;
+            remaining -= needed;
+
+            if (!day) {
+                int jumpDays = seasons != null ? seasons.getCycleDays() : 1;
+                double jumpTicks = curveTicks(jumpDays);
+                if (remaining >= jumpTicks) {
+                    double jumps = Math.floor(remaining / jumpTicks);
+                    accumulatedTime += jumps * jumpDays * Time.DAY_LENGTH;
+                    remaining -= jumps * jumpTicks;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return server ticks to run the scaled curve through the given number of days from the
+     *         current day, or infinity if a phase on the way is stopped
+     */
+    private double curveTicks(int days) {
+        double dayCurve = curve.ticksBetween(Time.DAY_START, Time.NIGHT_START);
+        double nightCurve = curve.ticksBetween(Time.NIGHT_START, Time.DAY_LENGTH);
+        if (seasons == null) {
+            return daySpeed > 0 && nightSpeed > 0 ? dayCurve / daySpeed + nightCurve / nightSpeed : Double.POSITIVE_INFINITY;
+        }
+
+        double ticks = 0;
+        for (int i = 0; i < days; i++) {
+            int cycleDay = seasons.dayInCycle(getDay() + i);
+            if (seasonDaySpeeds[cycleDay] <= 0 || seasonNightSpeeds[cycleDay] <= 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            ticks += dayCurve / seasonDaySpeeds[cycleDay] + nightCurve / seasonNightSpeeds[cycleDay];
+        }
+        return ticks;
+    }
+
+    /**
+     * Exact world time reached from {@code start} after {@code serverTicks},
+     * integrating day and night speeds piecewise across every phase boundary.
+     * Used to predict a clock from shared parameters and to check the engine against.
+     */
+    public static double timeAfter(double start, double daySpeed, double nightSpeed, double serverTicks) {
+        double time = start;
+        double remaining = serverTicks;
+        double cycleTicks = daySpeed > 0 && nightSpeed > 0
+            ? (Time.NIGHT_START / daySpeed) + ((Time.DAY_LENGTH - Time.NIGHT_START) / nightSpeed)
+            : Double.POSITIVE_INFINITY;
+
+        while (remaining > 0) {
+            double timeOfDay = time - Math.floor(time / Time.DAY_LENGTH) * Time.DAY_LENGTH;
+            boolean day = timeOfDay < Time.NIGHT_START;
+            double speed = day ? daySpeed : nightSpeed;
+            if (speed <= 0) {
+                break;
+            }
+
+            double boundary = time - timeOfDay + (day ? Time.NIGHT_START : Time.DAY_LENGTH);
+            double needed = (boundary - time) / speed;
+            if (remaining < needed) {
+                return time + remaining * speed;
+            }
+            time = boundary;
+            remaining -= needed;
+
+            if (!day && remaining >= cycleTicks) {
+                // Back at day start: jump whole days at once
+                double cycles = Math.floor(remaining / cycleTicks);
+                time += cycles * Time.DAY_LENGTH;
+                remaining -= cycles * cycleTicks;
+            }
+        }
+        return time;
+    }
+
+    /**
+     * Re-anchors the accumulator at the given world time, dropping any fraction.
+     */
+    public void reset(long time) {
+        this.accumulatedTime = time;
+        this.lastTimeOfDay = Math.floorMod(time, Time.DAY_LENGTH);
+    }
+
+    /**
+     * Moves the accumulator to the given fractional world time, forwards or backwards.
+     */
+    public void moveTo(double fullTime) {
+        this.accumulatedTime = fullTime;
+        this.lastTimeOfDay = Math.floorMod((long) Math.floor(fullTime), Time.DAY_LENGTH);
+    }
+
+    /**
+     * Shifts the accumulator back by {@code offset} ticks, keeping the fraction. The offset is a
+     * whole number of days, which move into the day offset so the day counter keeps counting.
+     */
+    public void rebase(long offset) {
+        this.accumulatedTime -= offset;
+        this.dayOffset += offset / Time.DAY_LENGTH;
+        this.lastTimeOfDay = Math.floorMod((long) Math.floor(accumulatedTime), Time.DAY_LENGTH);
+    }
+
+    /**
+     * @return the integer full time (days included) the world should show
+     */
+    public long getFullTime() {
+        return (long) Math.floor(accumulatedTime);
+    }
+
+    public boolean isDay() {
+        return lastTimeOfDay >= Time.DAY_START && lastTimeOfDay < Time.NIGHT_START;
+    }
+
+    /**
+     * @return server ticks until the next day/night boundary at the current speed, or -1 if time is not moving
+     */
+    public long ticksUntilNextPhase() {
+        double speed = isDay() ? currentDaySpeed() : currentNightSpeed();
+        if (speed <= 0) {
+            return -1;
+        }
+        double timeOfDay = accumulatedTime - Math.floor(accumulatedTime / Time.DAY_LENGTH) * Time.DAY_LENGTH;
+        double boundary = isDay() ? Time.NIGHT_START : Time.DAY_LENGTH;
+        return (long) Math.ceil(Math.max(0, segmentTicks(timeOfDay, boundary)) / speed);
+    }
+
+    /**
+     * @return game ticks between two times of the same day at speed 1, or the curve's server ticks between them
+     */
+    private double segmentTicks(double fromTimeOfDay, double toTimeOfDay) {
+        if (curve == null) {
+            return toTimeOfDay - fromTimeOfDay;
+        }
+        return curve.ticksBetween(fromTimeOfDay, toTimeOfDay);
+    }
+
+    /**
+     * @return the day counter: accumulated full time / 24000, plus the days removed by rebases
+     */
+    public long getDay() {
+        return Math.floorDiv((long) Math.floor(accumulatedTime), Time.DAY_LENGTH) + dayOffset;
+    }
+
+    /**
+     * @return days removed from the accumulator by rebases
+     */
+    public long getDayOffset() {
+        return dayOffset;
+    }
+
+    /**
+     * Restores the day offset of a world rebased before a restart.
+     */
+    public void setDayOffset(long dayOffset) {
+        this.dayOffset = dayOffset;
+    }
+
+    public long getTimeOfDay() {
+        return lastTimeOfDay;
+    }
+
+    public double getAccumulatedTime() {
+        return accumulatedTime;
+    }
+
+    public double getDaySpeed() {
+        return daySpeed;
+    }
+
+    public double getNightSpeed() {
+        return nightSpeed;
+    }
+
+    /**
+     * @return server ticks until the next occurrence of the given time of day, or -1 if time is not moving
+     */
+    public long ticksUntil(long timeOfDay) {
+        double current = accumulatedTime - Math.floor(accumulatedTime / Time.DAY_LENGTH) * Time.DAY_LENGTH;
+        double target = Math.floorMod(timeOfDay, Time.DAY_LENGTH);
+        if (target <= current) {
+            target += Time.DAY_LENGTH;
+        }
+
+        // Walk the day/night segments between the two times
+        double ticks = 0;
+        double position = current;
+        while (position < target) {
+            double segmentEnd = (Math.floor(position / Time.NIGHT_START) + 1) * Time.NIGHT_START;
+            boolean day = Math.floorMod((long) Math.floor(position / Time.NIGHT_START), 2L) == 0;
+            double speed = day ? currentDaySpeed() : currentNightSpeed();
+            if (speed <= 0) {
+                return -1;
+            }
+            double end = Math.min(segmentEnd, target);
+            double dayBase = Math.floor(position / Time.DAY_LENGTH) * Time.DAY_LENGTH; // Segments never span midnight
+            ticks += segmentTicks(position - dayBase, end - dayBase) / speed;
+            position = end;
+        }
+        return (long) Math.ceil(ticks);
+    }
+
+    public SpeedCurve getCurve() {
+        return curve;
+    }
+
+    /**
+     * Sets a speed curve, which the day and night speeds then scale, or restores plain speeds when null.
+     */
+    public void setCurve(SpeedCurve curve) {
+        this.curve = curve;
+    }
+
+    public SeasonCycle getSeasons() {
+        return seasons;
+    }
+
+    public void setSeasons(SeasonCycle seasons) {
+        this.seasons = seasons;
+        rebuildSeasonTables();
+    }
+
+    public void setSpeeds(double daySpeed, double nightSpeed) {
+        this.daySpeed = daySpeed;
+        this.nightSpeed = nightSpeed;
+        rebuildSeasonTables();
+    }
+
+    /**
+     * @return the day speed in effect for the current day, after seasons
+     */
+    public double currentDaySpeed() {
+        return seasons != null ? seasonDaySpeeds[seasons.dayInCycle(getDay())] : daySpeed;
+    }
+
+    /**
+     * @return the night speed in effect for the current day, after seasons
+     */
+    public double currentNightSpeed() {
+        return seasons != null ? seasonNightSpeeds[seasons.dayInCycle(getDay())] : nightSpeed;
+    }
+
+    private void rebuildSeasonTables() {
+        if (seasons == null) {
+            seasonDaySpeeds = null;
+            seasonNightSpeeds = null;
+            return;
+        }
+        seasonDaySpeeds = new double[seasons.getCycleDays()];
+        seasonNightSpeeds = new double[seasons.getCycleDays()];
+        seasons.fillSpeeds(daySpeed, nightSpeed, seasonDaySpeeds, seasonNightSpeeds);
+    }
+}
@@ -0,0 +1,43 @@
+package me.summykai.timetuner.time;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A configured action bound to a time of day in one world.
+ */
+public final class TimeTrigger {
+    private final String name;
+    private final long time;
+    private final List<String> commands;
+    private final boolean fireEvent;
+
+    public TimeTrigger(String name, long time, List<String> commands, boolean fireEvent) {
+        this.name = name;
+        this.time = Math.floorMod(time, Time.DAY_LENGTH);
+        this.commands = Collections.unmodifiableList(commands);
+        this.fireEvent = fireEvent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the time of day (0-23999) the trigger fires at
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return console commands to run, with {world} and {day} placeholders
+     */
+    public List<String> getCommands() {
+        return commands;
+    }
+
+    public boolean isFireEvent() {
+        return fireEvent;
+    }
+}
@@ -0,0 +1,87 @@
+package me.summykai.timetuner.time;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable per-world index of triggers sorted by time of day.
+ * Finding the triggers crossed by an update is a binary search plus a scan of the hits.
+ */
+public final class TriggerIndex {
+    public static final TriggerIndex EMPTY = new TriggerIndex(new ArrayList<>());
+
+    private final long[] times;
+    private final TimeTrigger[] triggers;
+
+    public TriggerIndex(List<TimeTrigger> triggers) {
+        List<TimeTrigger> sorted = new ArrayList<>(triggers);
+        sorted.sort(Comparator.comparingLong(TimeTrigger::getTime));
+        this.triggers = sorted.toArray(new TimeTrigger[0]);
+        this.times = new long[this.triggers.length];
+        for (int i = 0; i < this.triggers.length; i++) {
+            this.times[i] = this.triggers[i].getTime();
+        }
+    }
+
+    public boolean isEmpty() {
+        return triggers.length == 0;
+    }
+
+    public int size() {
+        return triggers.length;
+    }
+
+    /**
+     * Visits every trigger whose time of day lies in the full-time interval (from, to], in firing order.
+     * Each trigger is visited at most once, even if the interval spans several days.
+     */
+    public void forEachCrossed(long from, long to, Consumer<TimeTrigger> action) {
+        if (triggers.length == 0 || to <= from) {
+            return;
+        }
+
+        long fromTime = Math.floorMod(from, Time.DAY_LENGTH);
+        if (to - from >= Time.DAY_LENGTH) {
+            // A full day or more: everything fires once, starting after the old time of day
+            int start = upperBound(fromTime);
+            for (int i = 0; i < triggers.length; i++) {
+                action.accept(triggers[(start + i) % triggers.length]);
+            }
+            return;
+        }
+
+        long toTime = Math.floorMod(to, Time.DAY_LENGTH);
+        if (fromTime < toTime) {
+            visit(upperBound(fromTime), upperBound(toTime), action);
+        } else {
+            // Wrapped past midnight
+            visit(upperBound(fromTime), triggers.length, action);
+            visit(0, upperBound(toTime), action);
+        }
+    }
+
+    private void visit(int start, int end, Consumer<TimeTrigger> action) {
+        for (int i = start; i < end; i++) {
+            action.accept(triggers[i]);
+        }
+    }
+
+    /**
+     * @return index of the first trigger with a time strictly greater than {@code time}
+     */
+    private int upperBound(long time) {
+        int low = 0;
+        int high = times.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
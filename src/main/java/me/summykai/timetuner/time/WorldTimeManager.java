@@ -1,35 +1,88 @@
 package me.summykai.timetuner.time;
 
 import me.summykai.timetuner.TimeTuner;
+import me.summykai.timetuner.api.SpeedModifier;
+import me.summykai.timetuner.cluster.ClockState;
+import me.summykai.timetuner.api.TimePhase;
+import me.summykai.timetuner.api.WorldTimeSnapshot;
+import me.summykai.timetuner.events.DayRolloverEvent;
+import me.summykai.timetuner.events.DayStartEvent;
+import me.summykai.timetuner.events.NightStartEvent;
+import me.summykai.timetuner.events.TimePhaseChangeEvent;
+import me.summykai.timetuner.events.TimeTriggerEvent;
+import me.summykai.timetuner.history.HistoryCause;
+import me.summykai.timetuner.history.HistoryFile;
+import me.summykai.timetuner.history.HistoryRecorder;
+import org.bukkit.NamespacedKey;
 import org.bukkit.World;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.PluginManager;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 public class WorldTimeManager {
     private final TimeTuner plugin;
     private final World world;
-    private double daySpeed;
-    private double nightSpeed;
-    private Time accumulatedTime;
-    private boolean skipping; // Flag indicating a sleep skip is in progress
-    private boolean paused;
+    private final TimeEngine engine;
+    private final ModifierStack modifiers; // Base speeds plus plugin modifiers; the engine holds the effective pair
+    private volatile boolean skipping; // Flag indicating a sleep skip is in progress; read from player threads on Folia
+    private volatile boolean paused;
     private long lastProcessedTime; // Tracks the last *tick* value set in the world
-    private boolean isDayCache;
-    private long lastTimeCheck;
-    private static final long TIME_CHECK_INTERVAL = 50; // ms
+    private long lastWrittenFullTime; // Full time (days included) last written to the world
+    private boolean writing; // Set while TimeTuner itself writes, so its own TimeSkipEvents are ignored
+    private ExternalChangePolicy externalChangePolicy = ExternalChangePolicy.ADOPT;
+    private long timeWrites; // Number of world time writes, reported by debug output and checked by the tests
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long REAL_MILLIS_PER_TICK = MILLIS_PER_DAY / Time.DAY_LENGTH; // 3600 ms
+    private static final long CLOCK_OFFSET_TICKS = 6000L; // 06:00 real time maps to tick 0
+    private volatile WorldTimeSnapshot snapshot; // Read by other threads through the service API
+    private TriggerIndex triggers;
+    private ZoneId realTimeZone; // When set, world time follows this zone's wall clock
+    private ClockState clusterClock; // When set, world time follows the cluster leader
+    private long lastClockSlot = -1;
+    private LongSupplier wallClock = System::currentTimeMillis; // Replaced by the tests to cross clock changes
+    private final Consumer<TimeTrigger> triggerRunner = this::runTrigger; // Reused to avoid a lambda per update
+    private final int historyWorld; // Index in the history file, or -1 when not recorded
+    private final NamespacedKey dayOffsetKey; // Rebased days, stored with the world so the day counter survives restarts
+    private long nextHistoryTick;
 
     public WorldTimeManager(TimeTuner plugin, World world, double daySpeed, double nightSpeed) {
         this.plugin = plugin;
         this.world = world;
-        this.daySpeed = daySpeed;
-        this.nightSpeed = nightSpeed;
-        this.accumulatedTime = Time.fromWorldTime(world.getTime());
+        this.engine = new TimeEngine(world.getFullTime(), daySpeed, nightSpeed); // Full time keeps the day counter
+        this.modifiers = new ModifierStack(daySpeed, nightSpeed);
         this.skipping = false; // Initialize as false
         this.paused = false;
         this.lastProcessedTime = world.getTime();
-        updateTimeCache(); // Initial cache population
+        this.lastWrittenFullTime = world.getFullTime();
+        this.triggers = TriggerIndex.EMPTY;
+        this.dayOffsetKey = new NamespacedKey(plugin, "day-offset");
+        Long dayOffset = world.getPersistentDataContainer().get(dayOffsetKey, PersistentDataType.LONG);
+        if (dayOffset != null) {
+            engine.setDayOffset(dayOffset);
+        }
+        HistoryRecorder history = plugin.getHistoryRecorder();
+        this.historyWorld = history != null ? history.register(world.getName()) : -1;
+        publishSnapshot();
     }
 
     public void updateTime() {
-         if (!shouldUpdateTime()) {
+        if (plugin.getCurrentTick() >= modifiers.getNextExpiry() && modifiers.expire(plugin.getCurrentTick())) {
+            applyModifiers();
+        }
+
+        boolean update = shouldUpdateTime();
+        if (historyWorld >= 0 && plugin.getCurrentTick() >= nextHistoryTick) {
+            // Held worlds are sampled too, flagged so the history can tell them from a frozen clock
+            nextHistoryTick = plugin.getCurrentTick() + plugin.getHistoryRecorder().getSampleInterval();
+            recordHistory(HistoryCause.PERIODIC, world.getFullTime(), update ? 0 : HistoryFile.FLAG_STOPPED);
+        }
+
+         if (!update) {
              // If paused or skipping, don't advance time.
              // If auto-pause enabled and world empty, also don't advance.
              // Reset accumulated time to current world time if paused to prevent jump on resume?
@@ -37,52 +90,146 @@ public class WorldTimeManager {
              return;
          }
 
-        double speed = getEffectiveSpeed();
-        if (speed <= 0) {
-            // If speed is zero, effectively paused, do nothing.
+        long worldFullTime = world.getFullTime();
+        if (worldFullTime != lastWrittenFullTime) {
+            // Changed behind our back without a TimeSkipEvent (or while the event was ignored)
+            if (!handleExternalChange(worldFullTime, "direct")) {
+                updateWorldTime(engine.getFullTime());
+            }
+        }
+
+        double before = engine.getAccumulatedTime();
+        long dayOffset = engine.getDayOffset(); // The write below may rebase
+        boolean changed = clusterClock != null
+            ? followCluster()
+            : realTimeZone != null
+                ? syncToClock()
+                : engine.advance(plugin.getTickFrequency());
+        if (!changed) {
+            // Zero speed or no change in the integer tick value, nothing to write
+            publishSnapshot(); // Fractional time moves even when the integer tick does not
             return;
         }
 
-        Time delta = new Time(speed * plugin.getTickFrequency());
-        accumulatedTime = accumulatedTime.add(delta);
+        double after = engine.getAccumulatedTime();
+        updateWorldTime(engine.getFullTime()); // One write carries time of day, day counter and moon phase
+        long newTimeModulo = engine.getTimeOfDay(); // A rebase in the write keeps the time of day
+        lastProcessedTime = newTimeModulo;
+        publishSnapshot(); // Once, so readers never see the new time with the old tick
+        firePhaseEvents(before, after, dayOffset);
+        fireTriggers(before, after);
+
+         if (plugin.isDebugMode() && Math.random() < 0.01) { // Log occasionally in debug mode
+             plugin.getLogger().info(() -> String.format(
+                 "Updated time in %s: %d (Accumulated: %.2f, Day: %b, Writes: %d)",
+                 world.getName(), newTimeModulo, engine.getAccumulatedTime(), isDay(), timeWrites
+             ));
+         }
+    }
 
-        long newTimeTicks = accumulatedTime.getTicks(); // Get the integer part for world time
-        long newTimeModulo = newTimeTicks % Time.DAY_LENGTH;
+    /**
+     * Fires phase events for every day/night boundary between two accumulator values.
+     * Boundaries are counted in half-days, so a step spanning several days still
+     * produces exactly one event of each kind.
+     *
+     * @param dayOffset the engine's day offset when both values were taken
+     */
+    private void firePhaseEvents(double before, double after, long dayOffset) {
+        long fromHalf = (long) Math.floor(before / Time.NIGHT_START);
+        long toHalf = (long) Math.floor(after / Time.NIGHT_START);
+        if (toHalf <= fromHalf) {
+            return;
+        }
 
-        // Only update world time if the tick value actually changes
-        if (newTimeModulo != lastProcessedTime) {
-            updateWorldTime(newTimeModulo); // Pass the calculated time
-            lastProcessedTime = newTimeModulo;
-            updateTimeCache(); // Update day/night status based on new time
+        TimePhase fromPhase = Math.floorMod(fromHalf, 2L) == 0 ? TimePhase.DAY : TimePhase.NIGHT;
+        TimePhase toPhase = Math.floorMod(toHalf, 2L) == 0 ? TimePhase.DAY : TimePhase.NIGHT;
+        long fromDay = Math.floorDiv(fromHalf, 2L) + dayOffset;
+        long toDay = Math.floorDiv(toHalf, 2L) + dayOffset;
+        int transitions = (int) Math.min(Integer.MAX_VALUE, toHalf - fromHalf);
 
-             if (plugin.isDebugMode() && Math.random() < 0.01) { // Log occasionally in debug mode
-                 plugin.getLogger().info(() -> String.format(
-                     "Updated time in %s: %d (Accumulated: %.2f, Speed: %.2f, Day: %b)",
-                     world.getName(), newTimeModulo, accumulatedTime.getTotalTime(), speed, isDayCache
-                 ));
-             }
+        PluginManager pluginManager = plugin.getServer().getPluginManager();
+        pluginManager.callEvent(new TimePhaseChangeEvent(world, fromPhase, toPhase, transitions, lastProcessedTime));
+        if (toDay > fromDay) {
+            pluginManager.callEvent(new DayRolloverEvent(world, fromDay, toDay));
+        }
+        if (toPhase == TimePhase.DAY) {
+            pluginManager.callEvent(new DayStartEvent(world, toDay));
+        } else {
+            pluginManager.callEvent(new NightStartEvent(world, toDay));
+        }
+
+        if (plugin.isDebugMode()) {
+            plugin.getLogger().info(() -> String.format(
+                "Phase change in world '%s': %s -> %s (%d transitions, day %d)",
+                world.getName(), fromPhase, toPhase, transitions, toDay
+            ));
         }
     }
 
-    private void updateTimeCache() {
-        // Use the processed world time for cache consistency
-        long currentTime = lastProcessedTime; // Use the value actually set in the world
-        isDayCache = currentTime >= Time.DAY_START && currentTime < Time.NIGHT_START;
-        lastTimeCheck = System.currentTimeMillis();
+    /**
+     * Moves the engine to the wall-clock time of {@link #realTimeZone}, forwards or, when the clock
+     * went back (daylight saving ending), backwards by the short way round.
+     * One game tick is 3.6 real seconds, so the zone offset is only resolved when that slot changes.
+     */
+    private boolean syncToClock() {
+        long now = wallClock.getAsLong();
+        long slot = now / REAL_MILLIS_PER_TICK;
+        if (slot == lastClockSlot) {
+            return false;
+        }
+        lastClockSlot = slot;
 
-         // Debug logging for cache updates can be very verbose, keep commented unless needed
-         /*
-         if (plugin.isDebugMode()) {
-              plugin.getLogger().info(() -> String.format(
-                 "Updated time cache for world '%s' (time: %d, isDay: %b)",
-                 world.getName(), currentTime, isDayCache
-             ));
-         }
-         */
+        int offsetSeconds = realTimeZone.getRules().getOffset(Instant.ofEpochMilli(now)).getTotalSeconds();
+        long localMillis = Math.floorMod(now + offsetSeconds * 1000L, MILLIS_PER_DAY);
+        // Minecraft time 0 is 06:00
+        long target = Math.floorMod(localMillis / REAL_MILLIS_PER_TICK - CLOCK_OFFSET_TICKS, Time.DAY_LENGTH);
+
+        long current = engine.getTimeOfDay();
+        long delta = Math.floorMod(target - current, Time.DAY_LENGTH);
+        if (delta == 0) {
+            return false;
+        }
+        if (delta > Time.DAY_LENGTH / 2) {
+            // A backward correction crosses no boundary forwards, so no phase events or triggers fire
+            engine.moveTo(engine.getAccumulatedTime() - (Time.DAY_LENGTH - delta));
+            return true;
+        }
+        engine.reset((long) Math.floor(engine.getAccumulatedTime()) + delta);
+        return true;
     }
 
-    private double getEffectiveSpeed() {
-        return isDay() ? daySpeed : nightSpeed;
+    /**
+     * Moves the engine to the time computed locally from the leader's shared clock parameters.
+     * The leader shares its unrebased time, so both shards count the same days.
+     */
+    private boolean followCluster() {
+        long before = engine.getFullTime();
+        engine.moveTo(clusterClock.timeAt(wallClock.getAsLong()) - engine.getDayOffset() * (double) Time.DAY_LENGTH);
+        return engine.getFullTime() != before;
+    }
+
+    private void fireTriggers(double before, double after) {
+        if (triggers.isEmpty()) {
+            return;
+        }
+        triggers.forEachCrossed((long) Math.floor(before), (long) Math.floor(after), triggerRunner);
+    }
+
+    private void runTrigger(TimeTrigger trigger) {
+        if (plugin.isDebugMode()) {
+            plugin.getLogger().info(() -> String.format(
+                "Trigger '%s' (time %d) fired in world '%s'", trigger.getName(), trigger.getTime(), world.getName()
+            ));
+        }
+
+        String day = String.valueOf(engine.getDay());
+        for (String command : trigger.getCommands()) {
+            String resolved = command.replace("{world}", world.getName()).replace("{day}", day);
+            plugin.getServer().dispatchCommand(plugin.getServer().getConsoleSender(), resolved);
+        }
+        if (trigger.isFireEvent()) {
+            plugin.getServer().getPluginManager().callEvent(new TimeTriggerEvent(world, trigger.getName(), trigger.getTime()));
+        }
     }
 
     private boolean shouldUpdateTime() {
@@ -99,12 +246,19 @@ public class WorldTimeManager {
         boolean wasStorming = world.hasStorm();
         boolean wasThundering = world.isThundering();
 
-        // Reset accumulated time and world time to day start (0)
-        this.accumulatedTime = new Time(Time.DAY_START);
+        // Move accumulated time forward to the next day start, rolling the day counter and moon phase
+        double before = engine.getAccumulatedTime();
+        long dayOffset = engine.getDayOffset();
+        long nextDayStart = (Math.floorDiv((long) Math.floor(before), Time.DAY_LENGTH) + 1) * Time.DAY_LENGTH;
+        engine.reset(nextDayStart);
         long targetTime = Time.DAY_START; // Explicitly day start
-        updateWorldTime(targetTime);
+        updateWorldTime(nextDayStart);
         this.lastProcessedTime = targetTime;
-        updateTimeCache(); // Update cache immediately
+        publishSnapshot();
+        recordHistory(HistoryCause.SKIP_TO_DAY, lastWrittenFullTime, 0);
+        plugin.getInputRecorder().skip(world, lastWrittenFullTime);
+        firePhaseEvents(before, nextDayStart, dayOffset);
+        fireTriggers(before, nextDayStart);
 
         // Clear Weather if needed
         if (wasStorming) {
@@ -126,36 +280,118 @@ public class WorldTimeManager {
         }
 
         // Reset skipping flag slightly later to allow world state to settle
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> this.setSkipping(false), 2L); // 2 ticks later
+        plugin.getTaskScheduler().runGlobalLater(() -> this.setSkipping(false), 2L); // 2 ticks later
     }
 
-    private void updateWorldTime(long newTimeModulo) {
-        if (plugin.isOverflowProtection()) {
-            // TimeAdjuster handles potential full time overflow if needed elsewhere,
-            // Here we just set the time-of-day part.
-            TimeAdjuster.safeTimeUpdate(world, newTimeModulo);
-
-             // Normalize accumulated time if it went over a day cycle ONLY if precision mode requires it?
-             // Generally, accumulated time should keep growing for precision.
-             // Let's only normalize if it becomes excessively large? Or rely on safeTimeUpdate's fullTime handling.
-             // Keeping accumulated time precise is better. Overflow protection mainly affects setFullTime.
-            // Let's remove the normalization here.
+    private void updateWorldTime(long fullTime) {
+        timeWrites++;
+        long rebase = TimeAdjuster.overflowRebase(fullTime, plugin.getOverflowStrategy(), plugin.getOverflowThreshold());
+        if (rebase > 0) {
+            // Whole moon cycles only, so neither the time of day nor the moon phase moves
+            engine.rebase(rebase);
+            world.getPersistentDataContainer().set(dayOffsetKey, PersistentDataType.LONG, engine.getDayOffset());
+            fullTime -= rebase;
+            long rebasedTo = fullTime;
+            recordHistory(HistoryCause.REBASE, rebasedTo, 0);
+            plugin.getInputRecorder().rebase(world, rebase);
+            if (plugin.isDebugMode()) {
+                plugin.getLogger().info(() -> String.format(
+                    "Rebased full time in world '%s' by %d ticks to %d", world.getName(), rebase, rebasedTo
+                ));
+            }
+        }
+        writing = true;
+        try {
+            world.setFullTime(fullTime);
+        } finally {
+            writing = false;
+        }
+        lastWrittenFullTime = fullTime;
+        // lastProcessedTime is updated by the caller after this call
+    }
 
-        } else {
-            // If overflow protection is disabled, just set the time directly
-            world.setTime(newTimeModulo);
+    /**
+     * Applies the world's external change policy to a time change TimeTuner did not make.
+     *
+     * @param newFullTime the world's full time after the change
+     * @param source      short description for logging
+     * @return false if the change should be cancelled
+     */
+    public boolean handleExternalChange(long newFullTime, String source) {
+        long previous = lastWrittenFullTime;
+        recordHistory(HistoryCause.EXTERNAL, newFullTime, 0);
+        plugin.getInputRecorder().external(world, newFullTime, externalChangePolicy == ExternalChangePolicy.ADOPT);
+        switch (externalChangePolicy) {
+            case ADOPT:
+                engine.reset(newFullTime);
+                lastWrittenFullTime = newFullTime;
+                lastProcessedTime = Math.floorMod(newFullTime, Time.DAY_LENGTH);
+                publishSnapshot();
+                if (plugin.isDebugMode()) {
+                    plugin.getLogger().info(() -> String.format(
+                        "Adopted external time change in world '%s' (%s): %d -> %d", world.getName(), source, previous, newFullTime
+                    ));
+                }
+                return true;
+            case REJECT:
+                if (plugin.isDebugMode()) {
+                    plugin.getLogger().info(() -> String.format(
+                        "Rejected external time change in world '%s' (%s): %d -> %d", world.getName(), source, previous, newFullTime
+                    ));
+                }
+                // Pretend the world still shows our time; the next write restores it
+                return false;
+            case LOG:
+            default:
+                plugin.getLogger().warning(() -> String.format(
+                    "External time change in world '%s' (%s): %d -> %d; TimeTuner keeps its own clock",
+                    world.getName(), source, previous, newFullTime
+                ));
+                lastWrittenFullTime = newFullTime; // Log once, not on every update until our next write
+                return true;
         }
-        // lastProcessedTime is updated in updateTime() after this call
     }
 
+    private void publishSnapshot() {
+        snapshot = new WorldTimeSnapshot(
+            world.getUID(),
+            world.getName(),
+            plugin.getCurrentTick(),
+            lastProcessedTime,
+            engine.getAccumulatedTime(),
+            engine.getDaySpeed(),
+            engine.getNightSpeed(),
+            TimePhase.of(lastProcessedTime),
+            paused,
+            skipping,
+            engine.ticksUntilNextPhase(),
+            engine.getDay(),
+            getSeasonName()
+        );
+    }
 
-    public boolean isDay() {
-        // Check cache validity
-        long now = System.currentTimeMillis();
-        if (now - lastTimeCheck > TIME_CHECK_INTERVAL) {
-            updateTimeCache(); // Refresh cache if stale
+    /**
+     * Appends a record to the history file, if this world is recorded. Allocation-free, as it
+     * runs from the update task.
+     */
+    private void recordHistory(HistoryCause cause, long fullTime, int extraFlags) {
+        if (historyWorld < 0) {
+            return;
         }
-        return isDayCache;
+        boolean day = engine.isDay();
+        int flags = extraFlags
+            | (paused ? HistoryFile.FLAG_PAUSED : 0)
+            | (skipping ? HistoryFile.FLAG_SKIPPING : 0)
+            | (day ? HistoryFile.FLAG_DAY : 0)
+            | (clusterClock != null ? HistoryFile.FLAG_CLUSTER : 0)
+            | (realTimeZone != null ? HistoryFile.FLAG_REAL_TIME : 0);
+        double speed = day ? engine.currentDaySpeed() : engine.currentNightSpeed();
+        plugin.getHistoryRecorder().record(historyWorld, plugin.getCurrentTick(), fullTime, speed, flags, cause);
+    }
+
+    public boolean isDay() {
+        // Derived from the value last written to the world, so it never goes stale
+        return lastProcessedTime >= Time.DAY_START && lastProcessedTime < Time.NIGHT_START;
     }
 
     // --- Getters and Setters ---
@@ -164,22 +400,195 @@ public class WorldTimeManager {
         return world;
     }
 
+    /**
+     * @return the latest immutable snapshot; safe to call from any thread
+     */
+    public WorldTimeSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     public double getDaySpeed() {
-        return daySpeed;
+        return engine.getDaySpeed();
     }
 
     public double getNightSpeed() {
-        return nightSpeed;
+        return engine.getNightSpeed();
+    }
+
+    public TriggerIndex getTriggers() {
+        return triggers;
+    }
+
+    public void setTriggers(TriggerIndex triggers) {
+        this.triggers = triggers != null ? triggers : TriggerIndex.EMPTY;
+    }
+
+    public SpeedCurve getSpeedCurve() {
+        return engine.getCurve();
+    }
+
+    /**
+     * Follows a keyframe curve, scaled by the effective day/night speeds, or plain speeds again when null.
+     */
+    public void setSpeedCurve(SpeedCurve curve) {
+        engine.setCurve(curve);
+        publishSnapshot();
+    }
+
+    /**
+     * @return server ticks until the world reaches the given time of day, or -1 if time is not moving
+     */
+    public long ticksUntil(long timeOfDay) {
+        return engine.ticksUntil(timeOfDay);
+    }
+
+    public SeasonCycle getSeasons() {
+        return engine.getSeasons();
+    }
+
+    public void setSeasons(SeasonCycle seasons) {
+        engine.setSeasons(seasons);
+        publishSnapshot();
+    }
+
+    /**
+     * @return the day counter tracked by the engine, which keeps counting across rebases
+     */
+    public long getDay() {
+        return engine.getDay();
+    }
+
+    /**
+     * @return days removed from the world's full time by rebases
+     */
+    public long getDayOffset() {
+        return engine.getDayOffset();
+    }
+
+    /**
+     * @return the current season name, or null if the world has no season cycle
+     */
+    public String getSeasonName() {
+        SeasonCycle seasons = engine.getSeasons();
+        return seasons != null ? seasons.getSeasonName(seasons.dayInCycle(engine.getDay())) : null;
+    }
+
+    /**
+     * @return true while TimeTuner is writing this world's time
+     */
+    public boolean isWriting() {
+        return writing;
+    }
+
+    public ExternalChangePolicy getExternalChangePolicy() {
+        return externalChangePolicy;
+    }
+
+    public void setExternalChangePolicy(ExternalChangePolicy externalChangePolicy) {
+        this.externalChangePolicy = externalChangePolicy != null ? externalChangePolicy : ExternalChangePolicy.ADOPT;
+    }
+
+    public ZoneId getRealTimeZone() {
+        return realTimeZone;
     }
 
+    /**
+     * Makes the world follow the wall clock of the given zone, or the tuned speeds when null.
+     */
+    public void setRealTimeZone(ZoneId realTimeZone) {
+        this.realTimeZone = realTimeZone;
+        this.lastClockSlot = -1;
+    }
+
+    /**
+     * Replaces the wall clock the real-time and cluster clocks read.
+     */
+    void setWallClock(LongSupplier wallClock) {
+        this.wallClock = wallClock;
+        this.lastClockSlot = -1;
+    }
+
+    public ClockState getClusterClock() {
+        return clusterClock;
+    }
+
+    /**
+     * Makes the world follow a cluster leader's clock, or its own speeds again when null.
+     * Called from the update task.
+     */
+    public void setClusterClock(ClockState clusterClock) {
+        this.clusterClock = clusterClock;
+        applyModifiers();
+    }
+
+    public long getTimeWrites() {
+        return timeWrites;
+    }
+
+    /**
+     * Sets the configured speeds. Active modifiers stay in place and are applied on top.
+     */
     public void updateSpeeds(double daySpeed, double nightSpeed) {
-        this.daySpeed = daySpeed;
-        this.nightSpeed = nightSpeed;
+        modifiers.setBase(daySpeed, nightSpeed);
+        applyModifiers();
         if (plugin.isDebugMode()) {
              plugin.getLogger().info(() -> String.format("Updated speeds for world '%s' (Day: %.2f, Night: %.2f)", world.getName(), daySpeed, nightSpeed));
         }
     }
 
+    public double getBaseDaySpeed() {
+        return modifiers.getBaseDaySpeed();
+    }
+
+    public double getBaseNightSpeed() {
+        return modifiers.getBaseNightSpeed();
+    }
+
+    /**
+     * Adds a speed modifier, replacing any modifier with the same name.
+     */
+    public void addModifier(SpeedModifier modifier) {
+        modifiers.put(modifier, plugin.getCurrentTick());
+        applyModifiers();
+    }
+
+    /**
+     * @return true if a modifier with that name was removed
+     */
+    public boolean removeModifier(String name) {
+        if (!modifiers.remove(name)) {
+            return false;
+        }
+        applyModifiers();
+        return true;
+    }
+
+    public List<SpeedModifier> getModifiers() {
+        return modifiers.getModifiers();
+    }
+
+    private void applyModifiers() {
+        double daySpeed;
+        double nightSpeed;
+        if (clusterClock != null) {
+            // Report the leader's speeds; local modifiers apply again once the world leaves the cluster
+            daySpeed = clusterClock.getDaySpeed();
+            nightSpeed = clusterClock.getNightSpeed();
+        } else {
+            daySpeed = modifiers.getEffectiveDaySpeed();
+            nightSpeed = modifiers.getEffectiveNightSpeed();
+        }
+        double maxSpeed = plugin.getMaxSpeed();
+        // Stacked multipliers can overflow to infinity and then meet a zero; NaN would jump whole phases
+        daySpeed = Double.isNaN(daySpeed) ? 0 : Math.min(maxSpeed, Math.max(0, daySpeed));
+        nightSpeed = Double.isNaN(nightSpeed) ? 0 : Math.min(maxSpeed, Math.max(0, nightSpeed));
+        if (daySpeed != engine.getDaySpeed() || nightSpeed != engine.getNightSpeed()) {
+            engine.setSpeeds(daySpeed, nightSpeed);
+            plugin.getInputRecorder().state(this);
+        }
+        publishSnapshot();
+    }
+
     public boolean isSkipping() {
         return skipping;
     }
@@ -187,6 +596,7 @@ public class WorldTimeManager {
     // Make setter private or package-private if only controlled internally
     private void setSkipping(boolean skipping) {
         this.skipping = skipping;
+        publishSnapshot();
         if (plugin.isDebugMode()) {
              plugin.getLogger().info(() -> String.format("Set skipping state for world '%s' to %b", world.getName(), skipping));
         }
@@ -201,10 +611,13 @@ public class WorldTimeManager {
         if (!paused) {
             // When resuming, sync accumulated time with current world time
             // to prevent jumps if time was changed externally while paused.
-            this.accumulatedTime = Time.fromWorldTime(world.getTime());
+            engine.reset(world.getFullTime());
             this.lastProcessedTime = world.getTime();
-            updateTimeCache();
+            this.lastWrittenFullTime = world.getFullTime();
         }
+        publishSnapshot();
+        recordHistory(paused ? HistoryCause.PAUSE : HistoryCause.RESUME, world.getFullTime(), 0);
+        plugin.getInputRecorder().state(this);
          if (plugin.isDebugMode()) {
               plugin.getLogger().info(() -> String.format("Set paused state for world '%s' to %b. Synced time: %d", world.getName(), paused, this.lastProcessedTime));
          }
@@ -0,0 +1,235 @@
+package me.summykai.timetuner.utils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Rate-limited, deduplicating log appender behind {@link ErrorHandler}.
+ * <p>
+ * Callers only look up their message template and queue an entry; formatting and the write
+ * happen on a background thread. Each template may log a few times per window; further
+ * repeats are only counted, and reported as one "repeated N times" line when the window ends.
+ * The queue is bounded, so a flood drops entries (and counts them) instead of growing the
+ * heap. {@link #shutdown()} drains whatever is left.
+ * <p>
+ * Templates logged with arguments come from a fixed set of call sites, while plain messages
+ * may be built at runtime. Each kind is tracked in its own table, so a flood of distinct plain
+ * messages can fill only its own table and overflow key, never the budget of a real template.
+ */
+final class AsyncLogAppender {
+    private static final int BACKLOG = 1024;
+    private static final int MAX_KEYS = 4096;
+    private static final String OVERFLOW_KEY = "(other messages)"; // Shared limit once a table tracks MAX_KEYS keys
+
+    private final Logger logger;
+    private final String prefix;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(BACKLOG);
+    private final Map<String, KeyState> templates = new ConcurrentHashMap<>();
+    private final Map<String, KeyState> messages = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile int burst = 5;
+    private volatile long windowNanos = TimeUnit.SECONDS.toNanos(60);
+    private volatile boolean running = true;
+
+    AsyncLogAppender(Logger logger, String prefix) {
+        this.logger = logger;
+        this.prefix = prefix;
+        this.thread = new Thread(this::run, "TimeTuner-Log");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @param burst        entries logged per template and window before repeats are only counted
+     * @param windowMillis length of a rate-limit window
+     */
+    void configure(int burst, long windowMillis) {
+        this.burst = Math.max(1, burst);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1000L, windowMillis));
+    }
+
+    /**
+     * Queues an entry unless its template is over the limit. Safe to call from any thread.
+     *
+     * @param template message, with {@code %s} placeholders when args are given; also the deduplication key
+     */
+    void log(Level level, String template, Object[] args, Throwable throwable) {
+        if (!running) {
+            write(level, format(template, args), throwable);
+            return;
+        }
+
+        long now = System.nanoTime();
+        Map<String, KeyState> keys = args != null ? templates : messages;
+        KeyState state = keys.get(template);
+        if (state == null) {
+            String key = keys.size() < MAX_KEYS ? template : OVERFLOW_KEY;
+            state = keys.computeIfAbsent(key, k -> new KeyState(k, level, now));
+        }
+        if (now - state.windowStart > windowNanos) {
+            summarize(state);
+            state.windowStart = now;
+            state.logged.set(0);
+        }
+        state.lastUsed = now;
+        if (state.logged.incrementAndGet() > burst) {
+            state.lastTemplate = template;
+            state.lastArgs = args;
+            state.suppressed.incrementAndGet();
+            return;
+        }
+        enqueue(new Entry(level, template, args, throwable, 0));
+    }
+
+    /**
+     * Queues the "repeated" line for a window that ended with suppressed repeats.
+     */
+    private void summarize(KeyState state) {
+        long suppressed = state.suppressed.getAndSet(0);
+        if (suppressed > 0) {
+            enqueue(new Entry(state.level, state.lastTemplate, state.lastArgs, null, suppressed));
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void run() {
+        long lastSweep = System.nanoTime();
+        while (running) {
+            try {
+                Entry entry = queue.poll(1, TimeUnit.SECONDS);
+                if (entry != null) {
+                    write(entry);
+                }
+            } catch (InterruptedException e) {
+                break; // Shutting down; the rest is drained by shutdown()
+            }
+            if (System.nanoTime() - lastSweep > windowNanos) {
+                lastSweep = System.nanoTime();
+                sweep(lastSweep);
+            }
+        }
+    }
+
+    /**
+     * Reports repeats of templates that went quiet, and forgets templates idle for a whole window.
+     */
+    private void sweep(long now) {
+        sweep(templates, now);
+        sweep(messages, now);
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            write(Level.WARNING, "Log backlog full; dropped " + lost + " messages", null);
+        }
+    }
+
+    private void sweep(Map<String, KeyState> keys, long now) {
+        for (Iterator<KeyState> iterator = keys.values().iterator(); iterator.hasNext(); ) {
+            KeyState state = iterator.next();
+            if (now - state.windowStart > windowNanos) {
+                summarize(state);
+                if (now - state.lastUsed > windowNanos) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread and writes everything still queued or counted on the calling thread.
+     * Later entries are written synchronously.
+     */
+    void shutdown() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            write(entry);
+        }
+        for (Map<String, KeyState> keys : List.of(templates, messages)) {
+            for (KeyState state : keys.values()) {
+                long suppressed = state.suppressed.getAndSet(0);
+                if (suppressed > 0) {
+                    write(new Entry(state.level, state.lastTemplate, state.lastArgs, null, suppressed));
+                }
+            }
+            keys.clear();
+        }
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            write(Level.WARNING, "Log backlog full; dropped " + lost + " messages", null);
+        }
+    }
+
+    private void write(Entry entry) {
+        if (entry.repeats > 0) {
+            write(entry.level, "Repeated " + entry.repeats + " more times, last: " + format(entry.template, entry.args), null);
+        } else {
+            write(entry.level, format(entry.template, entry.args), entry.throwable);
+        }
+    }
+
+    private void write(Level level, String message, Throwable throwable) {
+        if (throwable != null) {
+            logger.log(level, prefix + message, throwable);
+        } else {
+            logger.log(level, prefix + message);
+        }
+    }
+
+    static String format(String template, Object[] args) {
+        return args == null || args.length == 0 ? template : String.format(template, args);
+    }
+
+    private static final class KeyState {
+        private final Level level;
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+        private volatile long windowStart;
+        private volatile long lastUsed;
+        private volatile String lastTemplate; // Last suppressed message, for the summary line
+        private volatile Object[] lastArgs;
+
+        private KeyState(String key, Level level, long now) {
+            this.lastTemplate = key;
+            this.level = level;
+            this.windowStart = now;
+            this.lastUsed = now;
+        }
+    }
+
+    private static final class Entry {
+        private final Level level;
+        private final String template;
+        private final Object[] args;
+        private final Throwable throwable;
+        private final long repeats; // Above zero for a "repeated" summary
+
+        private Entry(Level level, String template, Object[] args, Throwable throwable, long repeats) {
+            this.level = level;
+            this.template = template;
+            this.args = args;
+            this.throwable = throwable;
+            this.repeats = repeats;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package me.summykai.timetuner.utils;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Replaces files through a temporary sibling, so readers and crashes never see a half-written file.
+ * <p>
+ * Callers must not write the same file from two threads at once, as both would share the temporary file.
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Writes the bytes to {@code <file>.tmp} and renames it over the file, atomically where the
+     * file system supports it.
+     */
+    public static void write(Path file, byte[] contents) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, contents);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
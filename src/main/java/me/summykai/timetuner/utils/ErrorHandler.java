@@ -7,28 +7,86 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import java.util.logging.Level;
 
+/**
+ * Plugin-wide logging. Between {@link #start()} and {@link #shutdown()} entries are
+ * deduplicated, rate-limited per message template and written on a background thread;
+ * outside that window they are written directly.
+ */
 public class ErrorHandler {
     private static final String PREFIX = "[TimeTuner] ";
+    private static volatile AsyncLogAppender appender;
+
+    /**
+     * Starts the background appender. Called first thing on enable.
+     */
+    public static synchronized void start() {
+        if (appender == null) {
+            appender = new AsyncLogAppender(Bukkit.getLogger(), PREFIX);
+        }
+    }
+
+    /**
+     * @param burst        messages logged per template and window before repeats are only counted
+     * @param windowMillis length of the rate-limit window
+     */
+    public static void configure(int burst, long windowMillis) {
+        AsyncLogAppender current = appender;
+        if (current != null) {
+            current.configure(burst, windowMillis);
+        }
+    }
+
+    /**
+     * Writes the remaining backlog and repeat counts, then logs directly again. Called last on disable.
+     */
+    public static synchronized void shutdown() {
+        if (appender != null) {
+            AsyncLogAppender current = appender;
+            appender = null;
+            current.shutdown();
+        }
+    }
 
     public static void logSevere(String message) {
-        Bukkit.getLogger().log(Level.SEVERE, PREFIX + message);
+        log(Level.SEVERE, message, null, null);
     }
 
     public static void logWarning(String message) {
-        Bukkit.getLogger().log(Level.WARNING, PREFIX + message);
+        log(Level.WARNING, message, null, null);
+    }
+
+    /**
+     * Logs a warning formatted on the background thread. Repeats are counted by template,
+     * so messages that differ only in their arguments share one rate limit.
+     *
+     * @param template message with {@code %s} placeholders
+     */
+    public static void logWarning(String template, Object... args) {
+        log(Level.WARNING, template, args, null);
     }
 
     public static void logConfigError(String key, Object defaultValue) {
-        logWarning("Invalid configuration value for " + key + 
-                  ". Using default: " + defaultValue);
+        // The config key is part of the template, so each broken setting is reported on its own
+        logWarning("Invalid configuration value for " + key.replace("%", "%%") + ". Using default: %s", defaultValue);
     }
 
     public static void logCommandError(CommandSender sender, String message) {
         sender.sendMessage(Component.text(PREFIX + message).color(NamedTextColor.RED));
-        logWarning("Command error: " + message);
+        logWarning("Command error: %s", message);
     }
 
     public static void logPluginError(String message, Throwable throwable) {
-        Bukkit.getLogger().log(Level.SEVERE, PREFIX + message, throwable);
+        log(Level.SEVERE, message, null, throwable);
+    }
+
+    private static void log(Level level, String template, Object[] args, Throwable throwable) {
+        AsyncLogAppender current = appender;
+        if (current != null) {
+            current.log(level, template, args, throwable);
+        } else if (throwable != null) {
+            Bukkit.getLogger().log(level, PREFIX + AsyncLogAppender.format(template, args), throwable);
+        } else {
+            Bukkit.getLogger().log(level, PREFIX + AsyncLogAppender.format(template, args));
+        }
     }
-}
\ No newline at end of file
+}
@@ -12,7 +12,9 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,7 +34,7 @@ public class MessageManager {
     private final Pattern placeholderPattern = Pattern.compile("\\{([\\w.-]+)\\}");
     private final LegacyComponentSerializer legacySerializer;
     private final Map<String, Component> componentCache;
-    private long lastCacheClean;
+    private volatile long lastCacheClean;
     private static final long CACHE_CLEANUP_INTERVAL = 300000; // 5 minutes
 
     public MessageManager(TimeTuner plugin) {
@@ -41,7 +43,7 @@ public class MessageManager {
             .character('&')
             .hexColors()
             .build();
-        this.componentCache = new HashMap<>();
+        this.componentCache = new ConcurrentHashMap<>(); // Status pages are sent from async tasks
         this.lastCacheClean = System.currentTimeMillis();
         loadMessages();
     }
@@ -112,7 +114,7 @@ public class MessageManager {
             while (matcher.find()) {
                 String placeholder = matcher.group(1);
                 String replacement = placeholders.getOrDefault(placeholder, matcher.group());
-                matcher.appendReplacement(buffer, replacement);
+                matcher.appendReplacement(buffer, Matcher.quoteReplacement(replacement));
             }
             matcher.appendTail(buffer);
             message = buffer.toString();
@@ -155,4 +157,33 @@ public class MessageManager {
             sender.sendMessage(component);
         }
     }
+
+    /**
+     * Formats a message without the prefix and without sending it, for output built from several lines.
+     */
+    public String format(String key, String... placeholders) {
+        if (placeholders.length % 2 != 0) {
+            throw new IllegalArgumentException("Placeholders must be in pairs");
+        }
+
+        Map<String, String> placeholderMap = new HashMap<>();
+        for (int i = 0; i < placeholders.length; i += 2) {
+            placeholderMap.put(placeholders[i], placeholders[i + 1]);
+        }
+        return getFormattedMessage(key, placeholderMap);
+    }
+
+    /**
+     * Sends formatted lines as a single chat message with one prefix. The lines are not cached.
+     */
+    public void sendLines(CommandSender sender, List<String> lines) {
+        Component component = PREFIX;
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                component = component.append(Component.newline());
+            }
+            component = component.append(legacySerializer.deserialize(lines.get(i)));
+        }
+        sender.sendMessage(component);
+    }
 }
@@ -0,0 +1,143 @@
+package me.summykai.timetuner.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Case-insensitive prefix trie of loaded world names.
+ * <p>
+ * The trie is immutable and replaced as a whole when a world loads or unloads, so
+ * lookups from async tab completion and from commands never lock. Every node keeps the
+ * sorted names below it, so completing a prefix costs one walk down the prefix.
+ */
+public final class WorldNameIndex {
+    private static final Comparator<String> ORDER = Comparator.<String, String>comparing(name -> name.toLowerCase(Locale.ROOT))
+        .thenComparing(Comparator.naturalOrder());
+
+    private final TreeSet<String> names = new TreeSet<>(ORDER);
+    private volatile Node root = Node.EMPTY;
+
+    public synchronized void add(String name) {
+        if (names.add(name)) {
+            publish();
+        }
+    }
+
+    public synchronized void remove(String name) {
+        if (names.remove(name)) {
+            publish();
+        }
+    }
+
+    public synchronized void rebuild(Collection<String> worldNames) {
+        names.clear();
+        names.addAll(worldNames);
+        publish();
+    }
+
+    private void publish() {
+        root = Node.build(new ArrayList<>(names), 0);
+    }
+
+    /**
+     * @return the names starting with the prefix, ignoring case, in sorted order
+     */
+    public List<String> complete(String prefix) {
+        Node node = find(prefix);
+        return node != null ? Collections.unmodifiableList(Arrays.asList(node.names)) : Collections.emptyList();
+    }
+
+    /**
+     * Resolves a typed world name, ignoring case. An exact-case match wins when two
+     * worlds differ only in case.
+     *
+     * @return the world's real name, or null if no world has that name
+     */
+    public String resolve(String name) {
+        Node node = find(name);
+        if (node == null || node.exact.length == 0) {
+            return null;
+        }
+        for (String candidate : node.exact) {
+            if (candidate.equals(name)) {
+                return candidate;
+            }
+        }
+        return node.exact[0];
+    }
+
+    private Node find(String prefix) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static final class Node {
+        private static final Node EMPTY = new Node(new char[0], new Node[0], new String[0], new String[0]);
+
+        private final char[] keys; // Sorted, for binary search
+        private final Node[] children;
+        private final String[] names; // Every name below this node
+        private final String[] exact; // Names ending at this node
+
+        private Node(char[] keys, Node[] children, String[] names, String[] exact) {
+            this.keys = keys;
+            this.children = children;
+            this.names = names;
+            this.exact = exact;
+        }
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        /**
+         * Builds the node for names sharing their first {@code depth} lowercase characters.
+         */
+        private static Node build(List<String> sorted, int depth) {
+            if (sorted.isEmpty()) {
+                return EMPTY;
+            }
+
+            List<String> exact = new ArrayList<>();
+            List<Character> keys = new ArrayList<>();
+            List<Node> children = new ArrayList<>();
+            int start = 0;
+            while (start < sorted.size()) {
+                String name = sorted.get(start).toLowerCase(Locale.ROOT);
+                if (name.length() == depth) {
+                    exact.add(sorted.get(start++));
+                    continue;
+                }
+                char key = name.charAt(depth);
+                int end = start + 1;
+                while (end < sorted.size()) {
+                    String next = sorted.get(end).toLowerCase(Locale.ROOT);
+                    if (next.length() == depth || next.charAt(depth) != key) {
+                        break;
+                    }
+                    end++;
+                }
+                keys.add(key);
+                children.add(build(sorted.subList(start, end), depth + 1));
+                start = end;
+            }
+
+            char[] keyArray = new char[keys.size()];
+            for (int i = 0; i < keyArray.length; i++) {
+                keyArray[i] = keys.get(i);
+            }
+            return new Node(keyArray, children.toArray(new Node[0]), sorted.toArray(new String[0]), exact.toArray(new String[0]));
+        }
+    }
+}
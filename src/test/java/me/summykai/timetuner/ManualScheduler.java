@@ -0,0 +1,99 @@
+package me.summykai.timetuner;
+
+import me.summykai.timetuner.scheduler.TaskScheduler;
+import org.bukkit.entity.Entity;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs every task on the test thread: immediate tasks at once, delayed and repeating ones on
+ * their server tick, read from the owning test server. Tasks due on the same tick run in the
+ * order they were scheduled, and running them allocates nothing.
+ */
+final class ManualScheduler implements TaskScheduler {
+    private final LongSupplier serverTick;
+    private final PriorityQueue<Scheduled> pending = new PriorityQueue<>(
+        Comparator.comparingLong((Scheduled scheduled) -> scheduled.tick).thenComparingLong(scheduled -> scheduled.order));
+    private long nextOrder;
+
+    ManualScheduler(LongSupplier serverTick) {
+        this.serverTick = serverTick;
+    }
+
+    @Override
+    public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        schedule(task, delayTicks, Math.max(1, periodTicks));
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        schedule(task, delayTicks, 0);
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return true;
+    }
+
+    @Override
+    public void runForEntity(Entity entity, Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public void runForEntityLater(Entity entity, Runnable task, long delayTicks) {
+        runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public void cancelAll() {
+        pending.clear();
+    }
+
+    /**
+     * Runs the tasks due by the given tick. A repeating task is queued again for its next run.
+     */
+    void runDue(long tick) {
+        Scheduled scheduled;
+        while ((scheduled = pending.peek()) != null && scheduled.tick <= tick) {
+            pending.poll();
+            if (scheduled.period > 0) {
+                scheduled.tick += scheduled.period;
+                scheduled.order = nextOrder++;
+                pending.add(scheduled);
+            }
+            scheduled.task.run();
+        }
+    }
+
+    private void schedule(Runnable task, long delayTicks, long period) {
+        // As on a server, a task never runs on the tick it is scheduled from
+        pending.add(new Scheduled(serverTick.getAsLong() + Math.max(1, delayTicks), nextOrder++, period, task));
+    }
+
+    private static final class Scheduled {
+        private long tick;
+        private long order;
+        private final long period; // 0 for a one-off task
+        private final Runnable task;
+
+        private Scheduled(long tick, long order, long period, Runnable task) {
+            this.tick = tick;
+            this.order = order;
+            this.period = period;
+            this.task = task;
+        }
+    }
+}
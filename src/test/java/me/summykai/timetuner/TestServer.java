@@ -0,0 +1,455 @@
+package me.summykai.timetuner;
+
+import me.summykai.timetuner.TimeTuner.WorldConfig;
+import me.summykai.timetuner.commands.CommandManager;
+import me.summykai.timetuner.control.ControlQueue;
+import me.summykai.timetuner.listeners.PlayerListener;
+import me.summykai.timetuner.replay.InputRecorder;
+import me.summykai.timetuner.state.RuntimeOverlay;
+import me.summykai.timetuner.time.OverflowStrategy;
+import me.summykai.timetuner.time.Time;
+import me.summykai.timetuner.time.WorldTimeManager;
+import me.summykai.timetuner.utils.MessageManager;
+import me.summykai.timetuner.utils.WorldNameIndex;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerBedEnterEvent;
+import org.bukkit.event.player.PlayerBedLeaveEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.PluginManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A scripted server around the real {@link WorldTimeManager}s, {@link PlayerListener},
+ * {@link CommandManager} and {@link ControlQueue}.
+ * <p>
+ * The plugin, worlds and players are Mockito mocks backed by plain fields, so a test can join
+ * players, put them to bed, move them between worlds and run commands, then advance server
+ * ticks and read back each world's full time, write count and sleep skips. Delayed tasks run
+ * on the server tick they are due, and the update task runs every {@code tick-frequency}
+ * ticks, as on a live server. {@link #record} swaps in a real {@link InputRecorder}, so a
+ * scripted session can be written to an input log and replayed.
+ */
+public final class TestServer {
+    private final TimeTuner plugin = mock(TimeTuner.class);
+    private final Server server = mock(Server.class);
+    private final MessageManager messages = mock(MessageManager.class);
+    private final FileConfiguration config = mock(FileConfiguration.class);
+    private final Map<UUID, WorldTimeManager> managers = new ConcurrentHashMap<>();
+    private final WorldNameIndex worldNames = new WorldNameIndex();
+    private final Map<String, FakeWorld> worlds = new HashMap<>();
+    private final Map<Player, FakePlayer> players = new HashMap<>();
+    private final ManualScheduler scheduler = new ManualScheduler(() -> this.serverTick);
+    private final ControlQueue controlQueue;
+    private final PlayerListener playerListener;
+    private final CommandManager commandManager;
+    private InputRecorder inputRecorder = mock(InputRecorder.class);
+
+    private long serverTick;
+    private long currentTick;
+    private int tickFrequency = 1;
+    private boolean allowSleepSkip = true;
+    private double sleepPercentage = 0.5;
+    private boolean useRequiredPlayers;
+    private int requiredPlayers = 1;
+    private boolean autoPauseEmpty;
+    private OverflowStrategy overflowStrategy = OverflowStrategy.NONE;
+    private long overflowThreshold = Long.MAX_VALUE;
+
+    public TestServer() {
+        when(plugin.getName()).thenReturn("TimeTuner");
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+        when(server.getWorld(anyString())).thenAnswer(invocation -> {
+            FakeWorld world = worlds.get(invocation.<String>getArgument(0));
+            return world != null ? world.world : null;
+        });
+
+        when(plugin.getWorldManagers()).thenReturn(managers);
+        when(plugin.getWorldNameIndex()).thenReturn(worldNames);
+        when(plugin.getTaskScheduler()).thenReturn(scheduler);
+        when(plugin.getMessageManager()).thenReturn(messages);
+        when(plugin.getInputRecorder()).thenAnswer(invocation -> inputRecorder);
+        when(plugin.getRuntimeOverlay()).thenReturn(mock(RuntimeOverlay.class));
+        when(plugin.getWorldConfig(any(World.class))).thenAnswer(invocation -> fake(invocation.<World>getArgument(0)).config);
+        when(plugin.getWorldGroups()).thenReturn(new HashMap<>());
+        when(plugin.getConfig()).thenReturn(config);
+        when(server.getWorlds()).thenAnswer(invocation -> {
+            List<World> loaded = new ArrayList<>();
+            worlds.values().forEach(world -> loaded.add(world.world));
+            return loaded;
+        });
+        when(server.getOnlinePlayers()).thenAnswer(invocation -> {
+            List<Player> online = new ArrayList<>();
+            players.values().stream().filter(player -> player.online).forEach(player -> online.add(player.player));
+            return online;
+        });
+
+        when(plugin.getCurrentTick()).thenAnswer(invocation -> currentTick);
+        when(plugin.getTickFrequency()).thenAnswer(invocation -> tickFrequency);
+        when(plugin.isAllowSleepSkip()).thenAnswer(invocation -> allowSleepSkip);
+        when(plugin.getSleepPercentage()).thenAnswer(invocation -> sleepPercentage);
+        when(plugin.isUseRequiredPlayers()).thenAnswer(invocation -> useRequiredPlayers);
+        when(plugin.getRequiredPlayers()).thenAnswer(invocation -> requiredPlayers);
+        when(plugin.isAutoPauseEmpty()).thenAnswer(invocation -> autoPauseEmpty);
+        when(plugin.getOverflowStrategy()).thenAnswer(invocation -> overflowStrategy);
+        when(plugin.getOverflowThreshold()).thenAnswer(invocation -> overflowThreshold);
+        when(plugin.getMaxSpeed()).thenReturn(1000.0);
+        when(plugin.getDaySpeed()).thenReturn(1.0);
+        when(plugin.getNightSpeed()).thenReturn(1.0);
+
+        doAnswer(invocation -> {
+            worlds.get(invocation.<World>getArgument(0).getName()).sleepSkips++;
+            return null;
+        }).when(messages).broadcast(any(World.class), eq("sleep.skipped"));
+
+        controlQueue = new ControlQueue(plugin);
+        when(plugin.getControlQueue()).thenReturn(controlQueue);
+        playerListener = new PlayerListener(plugin);
+        commandManager = new CommandManager(plugin, messages);
+    }
+
+    /**
+     * Loads a managed world at the given full time.
+     */
+    public World addWorld(String name, long fullTime, double daySpeed, double nightSpeed) {
+        World world = loadWorld(name, fullTime);
+        manage(world, daySpeed, nightSpeed);
+        return world;
+    }
+
+    /**
+     * Loads a world TimeTuner does not manage yet.
+     */
+    public World loadWorld(String name, long fullTime) {
+        FakeWorld fake = new FakeWorld(name, fullTime);
+        worlds.put(name, fake);
+        worldNames.add(name);
+        inputRecorder.worldLoaded(fake.world);
+        return fake.world;
+    }
+
+    /**
+     * Starts managing the world from its current time, replacing any previous manager.
+     */
+    public WorldTimeManager manage(World world, double daySpeed, double nightSpeed) {
+        WorldTimeManager manager = new WorldTimeManager(plugin, world, daySpeed, nightSpeed);
+        managers.put(world.getUID(), manager);
+        inputRecorder.managed(manager);
+        return manager;
+    }
+
+    public void unmanage(World world) {
+        if (managers.remove(world.getUID()) != null) {
+            inputRecorder.unmanaged(world);
+        }
+    }
+
+    public Player addPlayer(String name) {
+        return new FakePlayer(name).player;
+    }
+
+    public void join(Player player, World world) {
+        FakePlayer fake = fake(player);
+        fake.online = true;
+        fake.world = fake(world);
+        fake.world.players.add(player);
+        playerListener.onPlayerJoin(playerEvent(PlayerJoinEvent.class, player));
+    }
+
+    public void quit(Player player) {
+        FakePlayer fake = fake(player);
+        playerListener.onPlayerQuit(playerEvent(PlayerQuitEvent.class, player)); // Still in the world, as on quit
+        fake.world.players.remove(player);
+        fake.online = false;
+        fake.sleeping = false;
+    }
+
+    public void changeWorld(Player player, World to) {
+        FakePlayer fake = fake(player);
+        World from = fake.world.world;
+        fake.world.players.remove(player);
+        fake.sleeping = false;
+        fake.world = fake(to);
+        fake.world.players.add(player);
+
+        PlayerChangedWorldEvent event = playerEvent(PlayerChangedWorldEvent.class, player);
+        when(event.getFrom()).thenReturn(from);
+        playerListener.onPlayerChangeWorld(event);
+    }
+
+    /**
+     * Puts the player in a usable bed, as vanilla does even when the night cannot be skipped.
+     */
+    public void sleep(Player player) {
+        sleep(player, true);
+    }
+
+    /**
+     * @param usable false for a bed the player cannot sleep in, e.g. one that is obstructed
+     */
+    public void sleep(Player player, boolean usable) {
+        fake(player).sleeping = usable;
+        PlayerBedEnterEvent event = playerEvent(PlayerBedEnterEvent.class, player);
+        when(event.getBedEnterResult()).thenReturn(usable
+            ? PlayerBedEnterEvent.BedEnterResult.OK
+            : PlayerBedEnterEvent.BedEnterResult.OBSTRUCTED);
+        playerListener.onPlayerBedEnter(event);
+    }
+
+    public void wake(Player player) {
+        fake(player).sleeping = false;
+        playerListener.onPlayerBedLeave(playerEvent(PlayerBedLeaveEvent.class, player));
+    }
+
+    public void setIgnoresSleep(Player player, boolean ignoresSleep) {
+        fake(player).ignoresSleep = ignoresSleep;
+    }
+
+    public void setThundering(World world, boolean thundering) {
+        fake(world).thundering = thundering;
+    }
+
+    public void setAllowThunderstormSleep(World world, boolean allowThunderstormSleep) {
+        fake(world).allowThunderstormSleep = allowThunderstormSleep;
+    }
+
+    /**
+     * Sets the world's time the way vanilla {@code /time} or another plugin would.
+     */
+    public void changeTime(World world, long fullTime) {
+        fake(world).fullTime = fullTime;
+    }
+
+    /**
+     * Starts recording inputs into {@code <directory>/recordings} with a real {@link InputRecorder}.
+     */
+    public InputRecorder record(File directory, int checkpointTicks) throws IOException {
+        when(plugin.getDataFolder()).thenReturn(directory);
+        when(config.getString(eq("recording.directory"), anyString())).thenReturn("recordings");
+        when(config.getInt(eq("recording.checkpoint-ticks"), anyInt())).thenReturn(checkpointTicks);
+        inputRecorder = new InputRecorder(plugin);
+        inputRecorder.start();
+        return inputRecorder;
+    }
+
+    /**
+     * Runs {@code /timetuner <args>} as a sender holding every permission.
+     */
+    public CommandSender command(String... args) {
+        CommandSender sender = mock(CommandSender.class);
+        when(sender.getName()).thenReturn("Admin");
+        when(sender.hasPermission(anyString())).thenReturn(true);
+        commandManager.handleCommand(sender, args);
+        return sender;
+    }
+
+    /**
+     * Advances the server tick by tick: due tasks first, then the update task on every
+     * {@code tick-frequency}-th tick, which drains the control queue and updates each world.
+     */
+    public void tick(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            serverTick++;
+            scheduler.runDue(serverTick);
+            if (serverTick % tickFrequency == 0) {
+                currentTick += tickFrequency;
+                controlQueue.drain();
+                for (WorldTimeManager manager : managers.values()) {
+                    manager.updateTime();
+                }
+                inputRecorder.tick(currentTick);
+            }
+        }
+    }
+
+    /**
+     * Applies the queued control requests now rather than at the start of the next update.
+     * Tasks they schedule are timed from that update, as they would have been.
+     */
+    public void drainControlQueue() {
+        long now = serverTick;
+        serverTick = (serverTick / tickFrequency + 1) * tickFrequency;
+        try {
+            controlQueue.drain();
+        } finally {
+            serverTick = now;
+        }
+    }
+
+    /**
+     * @return the loaded world with this name, or null
+     */
+    public World getWorld(String name) {
+        FakeWorld world = worlds.get(name);
+        return world != null ? world.world : null;
+    }
+
+    public long getFullTime(World world) {
+        return fake(world).fullTime;
+    }
+
+    public long getTimeOfDay(World world) {
+        return Math.floorMod(fake(world).fullTime, Time.DAY_LENGTH);
+    }
+
+    /**
+     * @return the number of times TimeTuner wrote the world's time
+     */
+    public int getWrites(World world) {
+        return fake(world).writes;
+    }
+
+    public int getSleepSkips(World world) {
+        return fake(world).sleepSkips;
+    }
+
+    /**
+     * @return the world's manager, or null while it is not managed
+     */
+    public WorldTimeManager getManager(World world) {
+        return managers.get(world.getUID());
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public TimeTuner getPlugin() {
+        return plugin;
+    }
+
+    public MessageManager getMessages() {
+        return messages;
+    }
+
+    public PlayerListener getPlayerListener() {
+        return playerListener;
+    }
+
+    public CommandManager getCommandManager() {
+        return commandManager;
+    }
+
+    public long getServerTick() {
+        return serverTick;
+    }
+
+    public void setTickFrequency(int tickFrequency) {
+        this.tickFrequency = tickFrequency;
+    }
+
+    public void setSleepPercentage(double sleepPercentage) {
+        this.sleepPercentage = sleepPercentage;
+    }
+
+    public void setRequiredPlayers(boolean useRequiredPlayers, int requiredPlayers) {
+        this.useRequiredPlayers = useRequiredPlayers;
+        this.requiredPlayers = requiredPlayers;
+    }
+
+    public void setAllowSleepSkip(boolean allowSleepSkip) {
+        this.allowSleepSkip = allowSleepSkip;
+    }
+
+    public void setAutoPauseEmpty(boolean autoPauseEmpty) {
+        this.autoPauseEmpty = autoPauseEmpty;
+    }
+
+    public void setOverflow(OverflowStrategy overflowStrategy, long overflowThreshold) {
+        this.overflowStrategy = overflowStrategy;
+        this.overflowThreshold = overflowThreshold;
+    }
+
+    private FakeWorld fake(World world) {
+        return worlds.get(world.getName());
+    }
+
+    private FakePlayer fake(Player player) {
+        return players.get(player);
+    }
+
+    private static <T extends org.bukkit.event.player.PlayerEvent> T playerEvent(Class<T> type, Player player) {
+        T event = mock(type);
+        when(event.getPlayer()).thenReturn(player);
+        return event;
+    }
+
+    private final class FakeWorld {
+        private final World world = mock(World.class);
+        private final WorldConfig config = mock(WorldConfig.class);
+        private final List<Player> players = new ArrayList<>();
+        private long fullTime;
+        private boolean thundering;
+        private boolean allowThunderstormSleep = true;
+        private int writes;
+        private int sleepSkips;
+
+        private FakeWorld(String name, long fullTime) {
+            this.fullTime = fullTime;
+            UUID id = UUID.randomUUID();
+            when(world.getUID()).thenReturn(id);
+            when(world.getName()).thenReturn(name);
+            when(world.getEnvironment()).thenReturn(World.Environment.NORMAL);
+            when(world.getPersistentDataContainer()).thenReturn(mock(PersistentDataContainer.class));
+            when(config.isAllowThunderstormSleep()).thenAnswer(invocation -> allowThunderstormSleep);
+            when(world.getFullTime()).thenAnswer(invocation -> this.fullTime);
+            when(world.getTime()).thenAnswer(invocation -> Math.floorMod(this.fullTime, Time.DAY_LENGTH));
+            when(world.getPlayers()).thenAnswer(invocation -> new ArrayList<>(players));
+            when(world.isThundering()).thenAnswer(invocation -> thundering);
+            when(world.hasStorm()).thenAnswer(invocation -> thundering);
+            doAnswer(invocation -> {
+                this.fullTime = invocation.<Long>getArgument(0);
+                writes++;
+                return null;
+            }).when(world).setFullTime(anyLong());
+            doAnswer(invocation -> {
+                thundering = invocation.<Boolean>getArgument(0);
+                return null;
+            }).when(world).setThundering(anyBoolean());
+        }
+    }
+
+    private final class FakePlayer {
+        private final Player player = mock(Player.class);
+        private FakeWorld world;
+        private boolean online;
+        private boolean sleeping;
+        private boolean ignoresSleep;
+
+        private FakePlayer(String name) {
+            UUID id = UUID.randomUUID();
+            when(player.getUniqueId()).thenReturn(id);
+            when(player.getName()).thenReturn(name);
+            when(player.getWorld()).thenAnswer(invocation -> world != null ? world.world : null);
+            when(player.isOnline()).thenAnswer(invocation -> online);
+            when(player.isSleeping()).thenAnswer(invocation -> sleeping);
+            when(player.isSleepingIgnored()).thenAnswer(invocation -> ignoresSleep);
+            players.put(player, this);
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package me.summykai.timetuner;
+
+import me.summykai.timetuner.api.WorldTimeSnapshot;
+import me.summykai.timetuner.commands.CommandManager;
+import me.summykai.timetuner.control.ControlQueue;
+import me.summykai.timetuner.listeners.PlayerListener;
+import me.summykai.timetuner.replay.InputRecorder;
+import me.summykai.timetuner.state.RuntimeOverlay;
+import me.summykai.timetuner.time.OverflowStrategy;
+import me.summykai.timetuner.time.Time;
+import me.summykai.timetuner.time.TimeEngine;
+import me.summykai.timetuner.time.WorldTimeManager;
+import me.summykai.timetuner.utils.MessageManager;
+import me.summykai.timetuner.utils.WorldNameIndex;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerBedEnterEvent;
+import org.bukkit.event.player.PlayerBedLeaveEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.objenesis.ObjenesisStd;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Load test of the update path: many worlds driven for a long run through the real
+ * {@link WorldTimeManager}s, {@link PlayerListener}, {@link CommandManager} and {@link ControlQueue}.
+ * <p>
+ * Unlike {@link TestServer}, nothing on the per-tick path is a Mockito mock: the plugin is a
+ * real {@link TimeTuner} with its settings filled in, and worlds, players and the server are
+ * small proxies over plain fields. The update task runs on a {@link ManualScheduler} timer as it
+ * does on a server. Every round scripts joins, world changes, beds and commands, then checks
+ * each world against {@link TimeEngine#timeAfter} from where it settled the round before.
+ * Throughput, allocation and writes are printed.
+ * <p>
+ * Left out of normal builds; run it with {@code mvn test -Dgroups=load -DexcludedGroups=none},
+ * optionally sizing it with {@code -Dtimetuner.load.worlds}, {@code -Dtimetuner.load.ticks}
+ * and {@code -Dtimetuner.load.tick-frequency}.
+ */
+@Tag("load")
+class TimeTunerLoadTest {
+    private static final double[] SPEED_CHOICES = {0.25, 0.5, 1.0, 1.5, 2.0, 3.0};
+    private static final int WORLDS = Integer.getInteger("timetuner.load.worlds", 1_000);
+    private static final long TICKS = Long.getLong("timetuner.load.ticks", 1_000_000L);
+    private static final int TICK_FREQUENCY = Integer.getInteger("timetuner.load.tick-frequency", 20);
+    private static final int PLAYERS = 2 * WORLDS;
+    private static final long ROUND_TICKS = 100L * TICK_FREQUENCY;
+    // Long enough for a bed check (1 tick), the skip hold (2 ticks) and a queued command to be applied
+    private static final long SETTLE_TICKS = TICK_FREQUENCY * Math.max(2L, (4L + TICK_FREQUENCY - 1) / TICK_FREQUENCY);
+    private static final int MOVES_PER_ROUND = 40;
+    private static final int BEDS_PER_ROUND = 40;
+    private static final int COMMANDS_PER_ROUND = 10;
+    private static final double TOLERANCE = 1e-3; // Of a game tick
+
+    private final Map<UUID, WorldTimeManager> managers = new ConcurrentHashMap<>();
+    private final WorldNameIndex worldNames = new WorldNameIndex();
+    private final Map<String, FakeWorld> worlds = new HashMap<>();
+    private final List<FakeWorld> worldList = new ArrayList<>();
+    private final List<FakePlayer> players = new ArrayList<>();
+    private final ManualScheduler scheduler = new ManualScheduler(() -> this.serverTick);
+    private final MessageManager messages = mock(MessageManager.class); // Only reached by commands and skips
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final PluginManager pluginManager = proxy(PluginManager.class, TimeTunerLoadTest::defaultValue);
+    private final Server server = proxy(Server.class, (proxy, method, args) -> {
+        if (method.getName().equals("getPluginManager")) {
+            return pluginManager;
+        }
+        if (method.getName().equals("getWorld") && args[0] instanceof String) {
+            FakeWorld world = worlds.get((String) args[0]);
+            return world != null ? world.world : null;
+        }
+        return defaultValue(proxy, method, args);
+    });
+    private final CommandSender sender = proxy(CommandSender.class, (proxy, method, args) -> {
+        switch (method.getName()) {
+            case "getName":
+                return "Load";
+            case "hasPermission":
+            case "isOp":
+                return true;
+            default:
+                return defaultValue(proxy, method, args);
+        }
+    });
+
+    private TimeTuner plugin;
+    private Field currentTickField;
+    private ControlQueue controlQueue;
+    private InputRecorder inputRecorder;
+    private PlayerListener playerListener;
+    private CommandManager commandManager;
+    private long serverTick;
+    private long currentTick;
+    private long updates;
+
+    // Per world, where it settled after the last round's inputs
+    private double[] anchorTimes;
+    private long[] anchorTicks;
+    private double[] anchorDaySpeeds;
+    private double[] anchorNightSpeeds;
+    private boolean[] anchorHeld;
+    private double maxDrift;
+    private long checks;
+    private long commands;
+
+    @Test
+    void thousandsOfWorldsStayExactUnderScriptedLoad() throws ReflectiveOperationException {
+        plugin = newPlugin();
+        playerListener = new PlayerListener(plugin);
+        commandManager = new CommandManager(plugin, messages);
+
+        anchorTimes = new double[WORLDS];
+        anchorTicks = new long[WORLDS];
+        anchorDaySpeeds = new double[WORLDS];
+        anchorNightSpeeds = new double[WORLDS];
+        anchorHeld = new boolean[WORLDS];
+        for (int i = 0; i < WORLDS; i++) {
+            double daySpeed = SPEED_CHOICES[random.nextInt(SPEED_CHOICES.length)];
+            double nightSpeed = SPEED_CHOICES[random.nextInt(SPEED_CHOICES.length)];
+            FakeWorld world = new FakeWorld("world" + i, i, random.nextLong(Time.DAY_LENGTH));
+            managers.put(world.id, new WorldTimeManager(plugin, world.world, daySpeed, nightSpeed));
+            anchorTimes[i] = world.fullTime;
+            anchorTicks[i] = 1 - TICK_FREQUENCY; // The first update, on tick 1, already covers a full period
+            anchorDaySpeeds[i] = daySpeed;
+            anchorNightSpeeds[i] = nightSpeed;
+        }
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new FakePlayer("Player" + i));
+        }
+
+        // As TimeTuner.onEnable starts it; rounds run on the same tick, after the update
+        scheduler.runGlobalTimer(this::update, 0L, TICK_FREQUENCY);
+        scheduler.runGlobalTimer(this::round, 1 + ROUND_TICKS, ROUND_TICKS);
+        scheduler.runGlobalTimer(this::settle, 1 + ROUND_TICKS + SETTLE_TICKS, ROUND_TICKS);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = allocatedBytes(threads);
+        long started = System.nanoTime();
+        for (serverTick = 1; serverTick <= TICKS; serverTick++) {
+            scheduler.runDue(serverTick);
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        long allocated = allocatedBytes(threads) - allocatedBefore;
+
+        long writes = 0;
+        for (WorldTimeManager manager : managers.values()) {
+            writes += manager.getTimeWrites();
+        }
+        long skips = countSleepSkips();
+        long worldUpdates = updates * WORLDS;
+
+        System.out.printf(Locale.ROOT, "%d worlds, %d ticks at tick-frequency %d in %.2f s: %.0f ticks/s, %.0f world updates/s%n",
+            WORLDS, TICKS, TICK_FREQUENCY, seconds, TICKS / seconds, worldUpdates / seconds);
+        System.out.printf(Locale.ROOT, "Allocated %s bytes (%.1f per world update, including the fakes' boxing on writes)%n",
+            allocated >= 0 ? String.valueOf(allocated) : "n/a", allocated >= 0 ? (double) allocated / worldUpdates : Double.NaN);
+        System.out.printf(Locale.ROOT, "%d time writes, %d sleep skips, %d commands, %d checks, max drift %.3g%n",
+            writes, skips, commands, checks, maxDrift);
+
+        assertTrue(checks >= WORLDS, "no round was checked");
+        assertTrue(maxDrift < TOLERANCE, "drifted " + maxDrift + " ticks from the exact time");
+        assertTrue(writes <= worldUpdates, "at most one write per update");
+        assertTrue(skips > 0, "the scripted beds never skipped a night");
+    }
+
+    /**
+     * The update task, as TimeTuner.onEnable schedules it.
+     */
+    private void update() {
+        currentTick += TICK_FREQUENCY;
+        try {
+            currentTickField.setLong(plugin, currentTick);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        controlQueue.drain();
+        managers.values().forEach(WorldTimeManager::updateTime);
+        inputRecorder.tick(currentTick);
+        updates++;
+    }
+
+    /**
+     * Checks every world against its exact time since it last settled, then scripts this round's inputs.
+     */
+    private void round() {
+        for (int i = 0; i < WORLDS; i++) {
+            WorldTimeSnapshot snapshot = managers.get(worldList.get(i).id).getSnapshot();
+            double expected = anchorHeld[i]
+                ? anchorTimes[i]
+                : TimeEngine.timeAfter(anchorTimes[i], anchorDaySpeeds[i], anchorNightSpeeds[i], serverTick - anchorTicks[i]);
+            maxDrift = Math.max(maxDrift, Math.abs(snapshot.getFractionalTime() - expected));
+            checks++;
+        }
+
+        for (int i = 0; i < MOVES_PER_ROUND; i++) {
+            FakePlayer player = players.get(random.nextInt(PLAYERS));
+            if (!player.online) {
+                join(player, randomWorld());
+            } else if (random.nextInt(5) == 0) {
+                quit(player);
+            } else {
+                changeWorld(player, randomWorld());
+            }
+        }
+        for (int i = 0; i < BEDS_PER_ROUND; i++) {
+            FakePlayer player = players.get(random.nextInt(PLAYERS));
+            if (!player.online) {
+                continue;
+            }
+            if (player.sleeping) {
+                wake(player);
+            } else {
+                sleep(player);
+            }
+        }
+        for (int i = 0; i < COMMANDS_PER_ROUND; i++) {
+            String world = randomWorld().name;
+            String speed = String.valueOf(SPEED_CHOICES[random.nextInt(SPEED_CHOICES.length)]);
+            switch (random.nextInt(6)) {
+                case 0:
+                    command("speed", "both", speed, world);
+                    break;
+                case 1:
+                    command("speed", "day", speed, world);
+                    break;
+                case 2:
+                    command("speed", "night", speed, world);
+                    break;
+                case 3:
+                    command("pause", world);
+                    break;
+                case 4:
+                    command("resume", world);
+                    break;
+                default:
+                    command("reset", world);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Records where each world settled once this round's inputs have been applied.
+     */
+    private void settle() {
+        for (int i = 0; i < WORLDS; i++) {
+            WorldTimeSnapshot snapshot = managers.get(worldList.get(i).id).getSnapshot();
+            anchorTimes[i] = snapshot.getFractionalTime();
+            anchorTicks[i] = serverTick;
+            anchorDaySpeeds[i] = snapshot.getDaySpeed();
+            anchorNightSpeeds[i] = snapshot.getNightSpeed();
+            anchorHeld[i] = snapshot.isPaused() || snapshot.isSkipping();
+        }
+    }
+
+    private FakeWorld randomWorld() {
+        return worldList.get(random.nextInt(WORLDS));
+    }
+
+    private void join(FakePlayer player, FakeWorld world) {
+        player.online = true;
+        player.world = world;
+        world.players.add(player.player);
+        playerListener.onPlayerJoin(new PlayerJoinEvent(player.player, Component.empty()));
+    }
+
+    private void quit(FakePlayer player) {
+        playerListener.onPlayerQuit(new PlayerQuitEvent(player.player, Component.empty(), PlayerQuitEvent.QuitReason.DISCONNECTED));
+        player.world.players.remove(player.player);
+        player.online = false;
+        player.sleeping = false;
+    }
+
+    private void changeWorld(FakePlayer player, FakeWorld to) {
+        FakeWorld from = player.world;
+        from.players.remove(player.player);
+        player.sleeping = false;
+        player.world = to;
+        to.players.add(player.player);
+        playerListener.onPlayerChangeWorld(new PlayerChangedWorldEvent(player.player, from.world));
+    }
+
+    private void sleep(FakePlayer player) {
+        player.sleeping = true;
+        playerListener.onPlayerBedEnter(new PlayerBedEnterEvent(player.player, null, PlayerBedEnterEvent.BedEnterResult.OK));
+    }
+
+    private void wake(FakePlayer player) {
+        player.sleeping = false;
+        playerListener.onPlayerBedLeave(new PlayerBedLeaveEvent(player.player, null, false));
+    }
+
+    private void command(String... args) {
+        commandManager.handleCommand(sender, args);
+        commands++;
+    }
+
+    private long countSleepSkips() {
+        long skips = 0;
+        for (Invocation invocation : mockingDetails(messages).getInvocations()) {
+            if (invocation.getMethod().getName().equals("broadcast") && "sleep.skipped".equals(invocation.getArgument(1))) {
+                skips++;
+            }
+        }
+        return skips;
+    }
+
+    /**
+     * JavaPlugin refuses to be constructed outside a plugin class loader, so the plugin is
+     * allocated without running a constructor and the fields the tested classes read are set here.
+     */
+    private TimeTuner newPlugin() throws ReflectiveOperationException {
+        TimeTuner tuner = new ObjenesisStd().newInstance(TimeTuner.class);
+        PluginDescriptionFile description = new PluginDescriptionFile("TimeTuner", "load", TimeTuner.class.getName());
+        for (Field field : JavaPlugin.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            if (field.getType().isInstance(description)) {
+                field.setAccessible(true);
+                field.set(tuner, description); // The description or plugin meta, whichever the API has
+            } else if (field.getType() == Server.class) {
+                field.setAccessible(true);
+                field.set(tuner, server);
+            } else if (field.getType() == Logger.class) {
+                field.setAccessible(true);
+                field.set(tuner, Logger.getLogger("TimeTuner"));
+            }
+        }
+
+        set(tuner, "worldManagers", managers);
+        set(tuner, "worldConfigs", new ConcurrentHashMap<>());
+        set(tuner, "profiles", new ConcurrentHashMap<>());
+        set(tuner, "worldGroups", new ConcurrentHashMap<>());
+        set(tuner, "timeFormats", new ConcurrentHashMap<>());
+        set(tuner, "worldNameIndex", worldNames);
+        set(tuner, "daySpeed", 1.0);
+        set(tuner, "nightSpeed", 1.0);
+        set(tuner, "allowSleepSkip", true);
+        set(tuner, "sleepPercentage", 0.5);
+        set(tuner, "requiredPlayers", 1);
+        set(tuner, "tickFrequency", TICK_FREQUENCY);
+        set(tuner, "maxSpeed", 1000.0);
+        set(tuner, "overflowStrategy", OverflowStrategy.NONE);
+        set(tuner, "overflowThreshold", Long.MAX_VALUE);
+        set(tuner, "taskScheduler", scheduler);
+        set(tuner, "messageManager", messages);
+        set(tuner, "runtimeOverlay", mock(RuntimeOverlay.class)); // Only reached by commands
+        inputRecorder = new InputRecorder(tuner); // Not recording
+        set(tuner, "inputRecorder", inputRecorder);
+        controlQueue = new ControlQueue(tuner);
+        set(tuner, "controlQueue", controlQueue);
+        currentTickField = TimeTuner.class.getDeclaredField("currentTick");
+        currentTickField.setAccessible(true);
+        return tuner;
+    }
+
+    private static void set(TimeTuner tuner, String name, Object value) throws ReflectiveOperationException {
+        Field field = TimeTuner.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(tuner, value);
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    /**
+     * Answers the Object methods by identity and everything else with the return type's default.
+     */
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return proxy.getClass().getInterfaces()[0].getSimpleName();
+            default:
+                break;
+        }
+        Class<?> type = method.getReturnType();
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+
+    /**
+     * A world whose clock, players and weather are plain fields. The full time is kept boxed, so
+     * reading it every update allocates nothing.
+     */
+    private final class FakeWorld implements InvocationHandler {
+        private final World world = proxy(World.class, this);
+        private final PersistentDataContainer data = proxy(PersistentDataContainer.class, TimeTunerLoadTest::defaultValue);
+        private final UUID id;
+        private final String name;
+        private final List<Player> players = new ArrayList<>();
+        private final List<Player> playersView = Collections.unmodifiableList(players);
+        private long fullTime;
+        private Long boxedFullTime;
+        private boolean storm;
+
+        private FakeWorld(String name, int index, long fullTime) {
+            this.id = new UUID(0, index);
+            this.name = name;
+            this.fullTime = fullTime;
+            this.boxedFullTime = fullTime;
+            worlds.put(name, this);
+            worldList.add(this);
+            worldNames.add(name);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getFullTime":
+                    return boxedFullTime;
+                case "setFullTime":
+                    boxedFullTime = (Long) args[0];
+                    fullTime = boxedFullTime;
+                    return null;
+                case "getTime":
+                    return Math.floorMod(fullTime, Time.DAY_LENGTH);
+                case "getUID":
+                    return id;
+                case "getName":
+                case "toString":
+                    return name;
+                case "getEnvironment":
+                    return World.Environment.NORMAL;
+                case "getPlayers":
+                    return playersView;
+                case "getPersistentDataContainer":
+                    return data;
+                case "isThundering":
+                case "hasStorm":
+                    return storm;
+                case "setThundering":
+                case "setStorm":
+                    storm = (Boolean) args[0];
+                    return null;
+                default:
+                    return defaultValue(proxy, method, args);
+            }
+        }
+    }
+
+    private final class FakePlayer implements InvocationHandler {
+        private final Player player = proxy(Player.class, this);
+        private final UUID id = UUID.randomUUID();
+        private final String name;
+        private FakeWorld world;
+        private boolean online;
+        private boolean sleeping;
+
+        private FakePlayer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return id;
+                case "getName":
+                case "toString":
+                    return name;
+                case "getWorld":
+                    return world != null ? world.world : null;
+                case "isOnline":
+                    return online;
+                case "isSleeping":
+                    return sleeping;
+                default:
+                    return defaultValue(proxy, method, args);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package me.summykai.timetuner.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpeedModifierTest {
+
+    @Test
+    void rejectsValuesThatAreNotFiniteAndNonNegative() {
+        double[] invalid = {-0.5, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double value : invalid) {
+            assertThrows(IllegalArgumentException.class,
+                () -> SpeedModifier.multiply("m", 0, value, 1.0, SpeedModifier.PERMANENT));
+            assertThrows(IllegalArgumentException.class,
+                () -> SpeedModifier.override("m", 0, 1.0, value, SpeedModifier.PERMANENT));
+        }
+    }
+
+    @Test
+    void acceptsZeroAndFiniteValues() {
+        SpeedModifier modifier = SpeedModifier.multiply("m", 0, 0.0, Double.MAX_VALUE, 100);
+        assertEquals(0.0, modifier.getDayValue());
+        assertEquals(Double.MAX_VALUE, modifier.getNightValue());
+    }
+}
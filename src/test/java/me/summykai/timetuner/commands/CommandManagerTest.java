@@ -0,0 +1,120 @@
+package me.summykai.timetuner.commands;
+
+import me.summykai.timetuner.TestServer;
+import me.summykai.timetuner.time.WorldTimeManager;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CommandManagerTest {
+
+    @Test
+    void speedAppliesOnTheNextUpdateAndAnswersThen() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", 1_000, 1.0, 1.0);
+
+        CommandSender sender = server.command("speed", "both", "2", "world");
+        verify(server.getMessages(), never()).sendFeedback(eq(sender), eq("commands.speed.success"),
+            anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+
+        server.tick(10);
+
+        verify(server.getMessages()).sendFeedback(sender, "commands.speed.success",
+            "world", "world", "type", "both", "speed", "2.00");
+        assertEquals(1_020, server.getFullTime(world));
+        assertEquals(10, server.getWrites(world));
+    }
+
+    @Test
+    void singlePhaseSpeedKeepsTheWorldsOtherSpeed() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", 1_000, 0.5, 0.25);
+
+        server.command("speed", "day", "3", "world");
+        server.tick(1);
+
+        WorldTimeManager manager = server.getManager(world);
+        assertEquals(3.0, manager.getBaseDaySpeed());
+        assertEquals(0.25, manager.getBaseNightSpeed());
+        assertEquals(1_003, server.getFullTime(world));
+    }
+
+    @Test
+    void pauseHoldsTheClockUntilResumed() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", 1_000, 1.0, 1.0);
+
+        CommandSender sender = server.command("pause", "world");
+        server.tick(10);
+
+        verify(server.getMessages()).sendFeedback(sender, "commands.pause.world.success", "world", "world");
+        assertTrue(server.getManager(world).isPaused());
+        assertEquals(1_000, server.getFullTime(world));
+        assertEquals(0, server.getWrites(world));
+
+        server.command("resume", "world");
+        server.tick(10);
+
+        assertFalse(server.getManager(world).isPaused());
+        assertEquals(1_010, server.getFullTime(world));
+    }
+
+    @Test
+    void resetSkipsToTheNextMorning() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", 13_000, 1.0, 1.0);
+
+        CommandSender sender = server.command("reset", "world");
+        server.tick(1);
+
+        verify(server.getMessages()).sendFeedback(sender, "commands.reset.success", "world", "world");
+        assertEquals(24_000, server.getFullTime(world));
+        assertEquals(0, server.getSleepSkips(world)); // Only sleeping announces a skip
+
+        server.tick(4); // Held until the skip window closes on tick 3
+        assertEquals(24_003, server.getFullTime(world));
+    }
+
+    @Test
+    void selectorsChangeEveryMatchingWorld() {
+        TestServer server = new TestServer();
+        World first = server.addWorld("dungeon_1", 1_000, 1.0, 1.0);
+        World second = server.addWorld("dungeon_2", 5_000, 1.0, 1.0);
+        World lobby = server.addWorld("lobby", 1_000, 1.0, 1.0);
+
+        CommandSender sender = server.command("pause", "dungeon_*");
+        server.tick(20);
+
+        verify(server.getMessages()).sendFeedback(eq(sender), eq("commands.pause.selection.success"),
+            eq("count"), eq("2"), eq("worlds"), anyString());
+        assertEquals(1_000, server.getFullTime(first));
+        assertEquals(5_000, server.getFullTime(second));
+        assertEquals(1_020, server.getFullTime(lobby));
+    }
+
+    @Test
+    void commandsFromOneTickApplyInOrder() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", 1_000, 1.0, 1.0);
+
+        server.command("speed", "both", "4", "world");
+        server.command("pause", "world");
+        server.command("resume", "world");
+        server.command("speed", "night", "0.5", "world");
+        server.tick(1);
+
+        WorldTimeManager manager = server.getManager(world);
+        assertFalse(manager.isPaused());
+        assertEquals(4.0, manager.getBaseDaySpeed());
+        assertEquals(0.5, manager.getBaseNightSpeed());
+        assertEquals(1_004, server.getFullTime(world));
+    }
+}
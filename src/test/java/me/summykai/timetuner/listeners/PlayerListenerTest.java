@@ -0,0 +1,164 @@
+package me.summykai.timetuner.listeners;
+
+import me.summykai.timetuner.TestServer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PlayerListenerTest {
+    private static final long NIGHT = 13_000;
+    private static final long NEXT_MORNING = 24_000;
+
+    @Test
+    void skipsOnceEnoughPlayersSleep() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", NIGHT, 1.0, 1.0);
+        Player alice = server.addPlayer("Alice");
+        Player bob = server.addPlayer("Bob");
+        Player carol = server.addPlayer("Carol");
+        server.join(alice, world);
+        server.join(bob, world);
+        server.join(carol, world);
+
+        server.sleep(alice);
+        server.tick(1); // The vote is counted a tick after entering the bed: 1 of 3
+        assertEquals(0, server.getSleepSkips(world));
+        assertEquals(NIGHT + 1, server.getFullTime(world));
+
+        server.sleep(bob);
+        server.tick(1); // 2 of 3 reach 50%
+        assertEquals(1, server.getSleepSkips(world));
+        assertEquals(NEXT_MORNING, server.getFullTime(world));
+
+        // The clock holds through the two-tick skip window, then runs on
+        server.tick(10);
+        assertEquals(NEXT_MORNING + 9, server.getFullTime(world));
+        assertEquals(11, server.getWrites(world)); // One update, the skip and nine updates
+    }
+
+    @Test
+    void sleepersInTheSameTickSkipOnce() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", NIGHT, 1.0, 1.0);
+        Player alice = server.addPlayer("Alice");
+        Player bob = server.addPlayer("Bob");
+        server.join(alice, world);
+        server.join(bob, world);
+
+        server.sleep(alice);
+        server.sleep(bob);
+        server.tick(5);
+
+        assertEquals(1, server.getSleepSkips(world));
+        assertEquals(NEXT_MORNING + 3, server.getFullTime(world)); // Held on ticks 1 and 2
+    }
+
+    @Test
+    void playersIgnoringSleepDoNotCount() {
+        TestServer server = new TestServer();
+        server.setSleepPercentage(1.0);
+        World world = server.addWorld("world", NIGHT, 1.0, 1.0);
+        Player alice = server.addPlayer("Alice");
+        Player afk = server.addPlayer("Afk");
+        server.join(alice, world);
+        server.join(afk, world);
+        server.setIgnoresSleep(afk, true);
+
+        server.sleep(alice);
+        server.tick(1);
+
+        assertEquals(1, server.getSleepSkips(world));
+        assertEquals(NEXT_MORNING, server.getFullTime(world));
+    }
+
+    @Test
+    void playersLeavingTheWorldInBedNoLongerCount() {
+        TestServer server = new TestServer();
+        server.setSleepPercentage(0.6);
+        World world = server.addWorld("world", NIGHT, 1.0, 1.0);
+        World nether = server.addWorld("world_nether", 0, 1.0, 1.0);
+        Player alice = server.addPlayer("Alice");
+        Player bob = server.addPlayer("Bob");
+        Player carol = server.addPlayer("Carol");
+        server.join(alice, world);
+        server.join(bob, world);
+        server.join(carol, world);
+
+        server.sleep(alice);
+        server.tick(1);
+        server.changeWorld(alice, nether);
+        server.sleep(bob);
+        server.tick(1); // Bob alone is 1 of 2; Alice's bed no longer counts
+
+        assertEquals(0, server.getSleepSkips(world));
+
+        server.quit(carol);
+        server.sleep(alice); // In the nether, where it is day
+        server.tick(1);
+        server.wake(bob);
+        server.sleep(bob);
+        server.tick(1); // Bob is now the only player left
+
+        assertEquals(1, server.getSleepSkips(world));
+        assertEquals(0, server.getSleepSkips(nether));
+    }
+
+    @Test
+    void dayBedsOnlySkipThunderstorms() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", 1_000, 1.0, 1.0);
+        Player alice = server.addPlayer("Alice");
+        server.join(alice, world);
+
+        server.sleep(alice);
+        server.tick(1);
+        assertEquals(0, server.getSleepSkips(world));
+
+        server.wake(alice);
+        server.setThundering(world, true);
+        server.sleep(alice);
+        server.tick(1);
+
+        assertEquals(1, server.getSleepSkips(world));
+        assertEquals(NEXT_MORNING, server.getFullTime(world));
+        assertFalse(world.isThundering());
+    }
+
+    @Test
+    void requiredPlayerCountReplacesThePercentage() {
+        TestServer server = new TestServer();
+        server.setRequiredPlayers(true, 2);
+        World world = server.addWorld("world", NIGHT, 1.0, 1.0);
+        Player[] players = new Player[5];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = server.addPlayer("Player" + i);
+            server.join(players[i], world);
+        }
+
+        server.sleep(players[0]);
+        server.tick(1);
+        assertEquals(0, server.getSleepSkips(world));
+
+        server.sleep(players[1]);
+        server.tick(1);
+        assertEquals(1, server.getSleepSkips(world));
+    }
+
+    @Test
+    void disabledSleepSkipLeavesTheNight() {
+        TestServer server = new TestServer();
+        server.setAllowSleepSkip(false);
+        World world = server.addWorld("world", NIGHT, 1.0, 1.0);
+        Player alice = server.addPlayer("Alice");
+        server.join(alice, world);
+
+        server.sleep(alice);
+        server.tick(20);
+
+        assertEquals(0, server.getSleepSkips(world));
+        assertEquals(NIGHT + 20, server.getFullTime(world));
+    }
+}
@@ -0,0 +1,478 @@
+package me.summykai.timetuner.replay;
+
+import me.summykai.timetuner.TestServer;
+import me.summykai.timetuner.time.WorldTimeManager;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Replays an input log through a {@link TestServer}, so the recorded inputs run through the real
+ * {@link me.summykai.timetuner.listeners.PlayerListener}, {@link me.summykai.timetuner.commands.CommandManager}
+ * and {@link WorldTimeManager}s.
+ * <p>
+ * Inputs are fed in as recorded: settings, worlds, joins, quits, world changes, beds, time
+ * changing commands, external time changes and update ticks. Outcomes are checked rather than
+ * applied: sleep skips are counted per world and compared at every checkpoint, as are the world
+ * times. A world that drifted is set back to the recorded time, so one divergence is reported
+ * once. Speed, pause and skip records the replayed inputs did not cause, such as reloads, API
+ * calls, scheduled actions or the admin socket, are applied as they come, so only the
+ * replayed behaviour is judged.
+ * <p>
+ * Sleep checks and skip windows run on server ticks, which the log only knows to the update,
+ * so a replay is exact for recordings made with {@code tick-frequency: 1}. Worlds with a speed
+ * curve, seasons, real-time sync or a cluster clock are kept in step but left out of the drift
+ * figures, as the test server gives them plain speeds.
+ */
+public final class InputReplayer {
+    private static final Set<String> REPLAYED_COMMANDS = Set.of("pause", "resume", "speed", "reset");
+
+    private final DataInputStream in;
+    private final PrintStream trace;
+    private final TestServer server;
+    private final List<WorldState> worlds = new ArrayList<>();
+    private final List<Player> players = new ArrayList<>();
+
+    private long records;
+    private long ticks;
+    private long commands;
+    private long reloads;
+    private long bedEnters;
+    private long foreignChanges;
+    private long recordedSkips;
+    private long missedSkips;
+    private long extraSkips;
+    private long checkpoints;
+    private long driftedCheckpoints;
+    private long maxDrift;
+
+    /**
+     * @param server a fresh test server, configured by the log as it is replayed
+     * @param trace  receives a line per command, foreign change and mismatch, or null for none
+     */
+    public InputReplayer(InputStream in, TestServer server, PrintStream trace) {
+        this.in = new DataInputStream(in);
+        this.server = server;
+        this.trace = trace;
+    }
+
+    /**
+     * @throws IOException if the log cannot be read or is malformed; a log cut off mid-record,
+     *                     as after a crash, is replayed up to the cut
+     */
+    public Result run() throws IOException {
+        if (in.readInt() != InputLog.MAGIC || in.readUnsignedByte() != InputLog.VERSION) {
+            throw new IOException("Not a TimeTuner input log, or written by another version");
+        }
+        in.readLong(); // Start millis
+        server.setTickFrequency(InputLog.readVarInt(in));
+
+        boolean truncated = false;
+        try {
+            int code;
+            while ((code = in.read()) >= 0) {
+                InputType type = InputType.of(code);
+                if (type == null) {
+                    throw new IOException("Unknown record type " + code + " after " + records + " records");
+                }
+                records++;
+                apply(type);
+            }
+        } catch (EOFException e) {
+            truncated = true;
+        }
+        for (WorldState world : worlds) {
+            if (world != null) {
+                compareSkips(world);
+            }
+        }
+
+        return new Result(records, ticks, truncated, commands, reloads, bedEnters, foreignChanges,
+            recordedSkips, missedSkips, extraSkips, checkpoints, driftedCheckpoints, maxDrift);
+    }
+
+    private void apply(InputType type) throws IOException {
+        switch (type) {
+            case TICK: {
+                long delta = InputLog.readVarLong(in);
+                ticks += delta;
+                server.tick(delta);
+                break;
+            }
+            case SETTINGS: {
+                server.setAllowSleepSkip(in.readBoolean());
+                server.setSleepPercentage(in.readDouble());
+                boolean useRequiredPlayers = in.readBoolean();
+                server.setRequiredPlayers(useRequiredPlayers, InputLog.readVarInt(in));
+                server.setAutoPauseEmpty(in.readBoolean());
+                server.setTickFrequency(InputLog.readVarInt(in));
+                break;
+            }
+            case WORLD_NAME: {
+                int id = InputLog.readVarInt(in);
+                set(worlds, id, new WorldState(in.readUTF()));
+                break;
+            }
+            case PLAYER_NAME: {
+                int id = InputLog.readVarInt(in);
+                set(players, id, server.addPlayer(in.readUTF()));
+                break;
+            }
+            case WORLD_LOAD:
+                world(InputLog.readVarInt(in));
+                break;
+            case WORLD_UNLOAD:
+            case UNMANAGED:
+                server.unmanage(world(InputLog.readVarInt(in)).world);
+                break;
+            case MANAGED: {
+                WorldState world = world(InputLog.readVarInt(in));
+                server.changeTime(world.world, InputLog.readVarLong(in));
+                WorldTimeManager manager = server.manage(world.world, in.readDouble(), in.readDouble());
+                if (in.readBoolean()) {
+                    manager.setPaused(true);
+                }
+                server.setAllowThunderstormSleep(world.world, in.readBoolean());
+                world.modelled = in.readBoolean();
+                break;
+            }
+            case STATE:
+                state(world(InputLog.readVarInt(in)), InputLog.readVarLong(in), in.readDouble(), in.readDouble(), in.readBoolean());
+                break;
+            case JOIN:
+            case CHANGE_WORLD: {
+                Player player = player(InputLog.readVarInt(in));
+                World world = world(InputLog.readVarInt(in)).world;
+                server.setIgnoresSleep(player, in.readBoolean());
+                if (!player.isOnline()) {
+                    server.join(player, world);
+                } else if (player.getWorld() != world) {
+                    server.changeWorld(player, world);
+                }
+                break;
+            }
+            case QUIT: {
+                Player player = player(InputLog.readVarInt(in));
+                if (player.isOnline()) {
+                    server.quit(player);
+                }
+                break;
+            }
+            case BED_ENTER: {
+                bedEnters++;
+                Player player = player(InputLog.readVarInt(in));
+                World world = world(InputLog.readVarInt(in)).world;
+                boolean usable = in.readBoolean();
+                server.setThundering(world, in.readBoolean());
+                if (!player.isOnline()) {
+                    server.join(player, world);
+                } else if (player.getWorld() != world) {
+                    server.changeWorld(player, world);
+                }
+                server.sleep(player, usable);
+                break;
+            }
+            case BED_LEAVE: {
+                Player player = player(InputLog.readVarInt(in));
+                if (player.isOnline()) {
+                    server.wake(player);
+                }
+                break;
+            }
+            case COMMAND:
+                command(in.readUTF(), in.readUTF());
+                break;
+            case RELOAD:
+                reloads++;
+                trace("reload");
+                break;
+            case SLEEP_SKIP: {
+                WorldState world = world(InputLog.readVarInt(in));
+                world.recordedSkips++;
+                world.sleepSkipPending = true;
+                recordedSkips++;
+                break;
+            }
+            case SKIP:
+                skip(world(InputLog.readVarInt(in)), InputLog.readVarLong(in));
+                break;
+            case EXTERNAL: {
+                WorldState world = world(InputLog.readVarInt(in));
+                long fullTime = InputLog.readVarLong(in);
+                if (in.readBoolean()) {
+                    server.changeTime(world.world, fullTime); // Adopted by the next update, as it was live
+                }
+                break;
+            }
+            case REBASE:
+                world(InputLog.readVarInt(in)).rebased += InputLog.readVarLong(in); // The test server never rebases
+                break;
+            case CHECKPOINT:
+                checkpoint(world(InputLog.readVarInt(in)), InputLog.readVarLong(in));
+                break;
+            default:
+                throw new IOException("Unhandled record type " + type);
+        }
+    }
+
+    /**
+     * Replays commands that change world time; the rest only show up in the trace.
+     */
+    private void command(String sender, String line) {
+        commands++;
+        trace("%s: /timetuner %s", sender, line);
+        String[] args = line.split(" ");
+        if (!REPLAYED_COMMANDS.contains(args[0].toLowerCase())) {
+            return;
+        }
+        try {
+            server.command(args);
+        } catch (RuntimeException e) {
+            // A command rejected live is rejected here too, but logging it needs a running server
+            trace("command failed: %s", e);
+        }
+    }
+
+    /**
+     * Applies a recorded speed or pause change, unless the replayed commands already made it.
+     */
+    private void state(WorldState world, long fullTime, double daySpeed, double nightSpeed, boolean paused) {
+        server.drainControlQueue(); // The live change was made by the same update's drain
+        WorldTimeManager manager = server.getManager(world.world);
+        if (manager == null) {
+            return;
+        }
+        if (manager.getDaySpeed() != daySpeed || manager.getNightSpeed() != nightSpeed) {
+            foreignChange(world, "speeds %.2f/%.2f", daySpeed, nightSpeed);
+            manager.updateSpeeds(daySpeed, nightSpeed);
+        }
+        if (manager.isPaused() != paused) {
+            foreignChange(world, paused ? "pause" : "resume");
+            if (!paused) {
+                server.changeTime(world.world, fullTime + world.rebased); // Resuming syncs with the world
+            }
+            manager.setPaused(paused);
+        }
+    }
+
+    /**
+     * Applies a recorded skip to the next day, unless a replayed sleep vote or command makes it.
+     */
+    private void skip(WorldState world, long fullTime) {
+        if (world.sleepSkipPending) {
+            world.sleepSkipPending = false; // The replayed vote skips on its own, checked at the next checkpoint
+            return;
+        }
+        server.drainControlQueue();
+        WorldTimeManager manager = server.getManager(world.world);
+        if (manager == null || manager.isSkipping()) {
+            return;
+        }
+        foreignChange(world, "skip to %d", fullTime);
+        manager.skipToDay();
+    }
+
+    private void checkpoint(WorldState world, long fullTime) {
+        if (server.getManager(world.world) == null) {
+            return;
+        }
+        compareSkips(world);
+        long expected = fullTime + world.rebased;
+        long drift = Math.abs(server.getFullTime(world.world) - expected);
+        if (world.modelled) {
+            checkpoints++;
+            if (drift > 0) {
+                driftedCheckpoints++;
+                maxDrift = Math.max(maxDrift, drift);
+                trace("DRIFT in %s: replayed %d, recorded %d", world.name, server.getFullTime(world.world), expected);
+            }
+        }
+        if (drift > 0) {
+            server.changeTime(world.world, expected);
+        }
+    }
+
+    /**
+     * Compares the sleep skips the replay made in the world with the recorded ones, then settles the difference.
+     */
+    private void compareSkips(WorldState world) {
+        long replayed = server.getSleepSkips(world.world) - world.skipAdjustment;
+        if (replayed < world.recordedSkips) {
+            missedSkips += world.recordedSkips - replayed;
+            trace("MISSED sleep skip in %s: %d recorded, %d replayed", world.name, world.recordedSkips, replayed);
+        } else if (replayed > world.recordedSkips) {
+            extraSkips += replayed - world.recordedSkips;
+            trace("EXTRA sleep skip in %s: %d recorded, %d replayed", world.name, world.recordedSkips, replayed);
+        }
+        world.skipAdjustment += replayed - world.recordedSkips;
+    }
+
+    private void foreignChange(WorldState world, String format, Object... args) {
+        foreignChanges++;
+        trace("%s in %s from outside the replayed inputs", String.format(format, args), world.name);
+    }
+
+    private WorldState world(int id) {
+        if (id < 0 || id >= worlds.size() || worlds.get(id) == null) {
+            set(worlds, id, new WorldState("#" + id));
+        }
+        return worlds.get(id);
+    }
+
+    private Player player(int id) {
+        if (id < 0 || id >= players.size() || players.get(id) == null) {
+            set(players, id, server.addPlayer("#" + id));
+        }
+        return players.get(id);
+    }
+
+    private static <T> void set(List<T> list, int id, T value) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative id in input log: " + id);
+        }
+        while (list.size() <= id) {
+            list.add(null);
+        }
+        list.set(id, value);
+    }
+
+    private void trace(String format, Object... args) {
+        if (trace != null) {
+            trace.println("[tick " + ticks + "] " + String.format(format, args));
+        }
+    }
+
+    private final class WorldState {
+        private final String name;
+        private final World world;
+        private boolean modelled = true;
+        private long rebased; // Full time the recorded world dropped in rebases
+        private long recordedSkips;
+        private long skipAdjustment; // Differences already reported
+        private boolean sleepSkipPending; // A recorded sleep skip announced the next skip record
+
+        private WorldState(String name) {
+            this.name = name;
+            World loaded = server.getWorld(name);
+            this.world = loaded != null ? loaded : server.loadWorld(name, 0);
+        }
+    }
+
+    public static final class Result {
+        private final long records;
+        private final long ticks;
+        private final boolean truncated;
+        private final long commands;
+        private final long reloads;
+        private final long bedEnters;
+        private final long foreignChanges;
+        private final long recordedSkips;
+        private final long missedSkips;
+        private final long extraSkips;
+        private final long checkpoints;
+        private final long driftedCheckpoints;
+        private final long maxDrift;
+
+        private Result(long records, long ticks, boolean truncated, long commands, long reloads, long bedEnters,
+                       long foreignChanges, long recordedSkips, long missedSkips, long extraSkips,
+                       long checkpoints, long driftedCheckpoints, long maxDrift) {
+            this.records = records;
+            this.ticks = ticks;
+            this.truncated = truncated;
+            this.commands = commands;
+            this.reloads = reloads;
+            this.bedEnters = bedEnters;
+            this.foreignChanges = foreignChanges;
+            this.recordedSkips = recordedSkips;
+            this.missedSkips = missedSkips;
+            this.extraSkips = extraSkips;
+            this.checkpoints = checkpoints;
+            this.driftedCheckpoints = driftedCheckpoints;
+            this.maxDrift = maxDrift;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * @return server ticks covered by the log
+         */
+        public long getTicks() {
+            return ticks;
+        }
+
+        /**
+         * @return true if the log ended mid-record, as when the server stopped without closing it
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getReloads() {
+            return reloads;
+        }
+
+        public long getBedEnters() {
+            return bedEnters;
+        }
+
+        /**
+         * @return speed, pause and skip changes applied from the log because no replayed input made them
+         */
+        public long getForeignChanges() {
+            return foreignChanges;
+        }
+
+        public long getRecordedSkips() {
+            return recordedSkips;
+        }
+
+        public long getMissedSkips() {
+            return missedSkips;
+        }
+
+        public long getExtraSkips() {
+            return extraSkips;
+        }
+
+        public long getCheckpoints() {
+            return checkpoints;
+        }
+
+        public long getDriftedCheckpoints() {
+            return driftedCheckpoints;
+        }
+
+        public long getMaxDrift() {
+            return maxDrift;
+        }
+
+        /**
+         * @return true if the replay produced the recorded sleep skips and times
+         */
+        public boolean isFaithful() {
+            return missedSkips == 0 && extraSkips == 0 && driftedCheckpoints == 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d records over %d ticks%s; %d commands, %d reloads, %d bed enters, %d foreign changes; "
+                    + "sleep skips: %d recorded, %d missed, %d extra; checkpoints: %d compared, %d drifted (max %d ticks)",
+                records, ticks, truncated ? " (cut off)" : "", commands, reloads, bedEnters, foreignChanges,
+                recordedSkips, missedSkips, extraSkips, checkpoints, driftedCheckpoints, maxDrift);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package me.summykai.timetuner.replay;
+
+import me.summykai.timetuner.TestServer;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class InputReplayerTest {
+    private static final String REPLAY_PROPERTY = "timetuner.replay";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysARecordedSessionFaithfully() throws IOException {
+        TestServer live = new TestServer();
+        World world = live.addWorld("world", 12_500, 0.5, 2.0);
+        Player alice = live.addPlayer("Alice");
+        Player bob = live.addPlayer("Bob");
+        Player carol = live.addPlayer("Carol");
+        live.join(alice, world);
+        live.join(bob, world);
+        live.join(carol, world);
+        InputRecorder recorder = live.record(directory.toFile(), 20);
+
+        World nether = live.addWorld("world_nether", 0, 1.0, 1.0);
+        Player dave = live.addPlayer("Dave");
+        live.join(dave, world);
+        live.tick(100);
+        live.command("speed", "night", "3", "world");
+        live.tick(50);
+
+        live.sleep(alice);
+        live.tick(1); // 1 of 4
+        live.sleep(bob);
+        live.tick(200); // 2 of 4 skip the night
+        live.wake(alice);
+        live.wake(bob);
+
+        live.changeWorld(carol, nether);
+        live.command("pause", "world_nether");
+        live.tick(100);
+        live.command("resume", "world_nether");
+        live.tick(100);
+
+        live.changeTime(world, 30_000); // As vanilla /time would
+        live.tick(50);
+        live.getManager(world).updateSpeeds(1.5, 1.5); // As an API call would
+        live.tick(300);
+        live.command("reset", "world");
+        live.command("help");
+        live.tick(10);
+        live.quit(dave);
+        live.tick(1000);
+        recorder.stop();
+
+        TestServer replay = new TestServer();
+        InputReplayer.Result result;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(recorder.getFile()))) {
+            result = new InputReplayer(in, replay, null).run();
+        }
+
+        assertTrue(result.isFaithful(), result.toString());
+        assertEquals(1, live.getSleepSkips(world));
+        assertEquals(1, result.getRecordedSkips());
+        assertEquals(5, result.getCommands());
+        assertEquals(2, result.getBedEnters());
+        assertEquals(1, result.getForeignChanges()); // Only the API call
+        assertTrue(result.getCheckpoints() > 0);
+        assertEquals(live.getFullTime(world), replay.getFullTime(replay.getWorld("world")));
+        assertEquals(live.getFullTime(nether), replay.getFullTime(replay.getWorld("world_nether")));
+    }
+
+    @Test
+    void reportsSkipsTheReplayedVoteDoesNotMake() throws IOException {
+        TestServer live = new TestServer();
+        World world = live.addWorld("world", 13_000, 1.0, 1.0);
+        Player alice = live.addPlayer("Alice");
+        live.join(alice, world);
+        live.join(live.addPlayer("Bob"), world);
+        live.join(live.addPlayer("Carol"), world);
+        InputRecorder recorder = live.record(directory.toFile(), 20);
+
+        live.setSleepPercentage(0.3); // Changed without a reload, so the log still says 50%
+        live.sleep(alice);
+        live.tick(40);
+        recorder.stop();
+
+        TestServer replay = new TestServer();
+        InputReplayer.Result result;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(recorder.getFile()))) {
+            result = new InputReplayer(in, replay, null).run();
+        }
+
+        assertFalse(result.isFaithful());
+        assertEquals(1, result.getRecordedSkips());
+        assertEquals(1, result.getMissedSkips()); // 1 of 3 is not 50%
+        assertEquals(0, result.getExtraSkips());
+        assertTrue(result.getDriftedCheckpoints() > 0);
+        assertEquals(live.getFullTime(world), replay.getFullTime(replay.getWorld("world"))); // Kept in step
+    }
+
+    @Test
+    void replaysALogCutOffMidRecord() throws IOException {
+        TestServer live = new TestServer();
+        World world = live.addWorld("world", 1_000, 1.0, 1.0);
+        InputRecorder recorder = live.record(directory.toFile(), 20);
+        live.tick(100);
+        recorder.stop();
+
+        byte[] log = Files.readAllBytes(recorder.getFile().toPath());
+        TestServer replay = new TestServer();
+        InputReplayer.Result result = new InputReplayer(
+            new ByteArrayInputStream(Arrays.copyOf(log, log.length - 1)), replay, null).run();
+
+        assertTrue(result.isTruncated());
+        assertTrue(result.isFaithful(), result.toString());
+        assertEquals(99, result.getTicks()); // The last tick was cut off
+        assertEquals(live.getFullTime(world) - 1, replay.getFullTime(replay.getWorld("world")));
+    }
+
+    /**
+     * Replays a recording from a server: {@code mvn test -Dtest=InputReplayerTest -Dtimetuner.replay=<file>.ttr}
+     */
+    @Test
+    void replaysTheGivenRecording() throws IOException {
+        String file = System.getProperty(REPLAY_PROPERTY);
+        assumeTrue(file != null, "No recording given in -D" + REPLAY_PROPERTY);
+
+        InputReplayer.Result result;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16)) {
+            result = new InputReplayer(in, new TestServer(), System.out).run();
+        }
+        System.out.println(result);
+        assertTrue(result.isFaithful(), result.toString());
+    }
+}
@@ -0,0 +1,50 @@
+package me.summykai.timetuner.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimeEngineTest {
+    private static final SpeedCurve CURVE = SpeedCurve.compile(Map.of(0L, 2.0, 6_000L, 0.5, 12_000L, 1.0, 18_000L, 3.0));
+
+    @Test
+    void curveWithSeasonsRunsEachDayAtItsOwnLength() {
+        SeasonCycle seasons = SeasonCycle.create(4, 0.7, 0.3, 1, List.of());
+        double dayCurve = CURVE.ticksBetween(Time.DAY_START, Time.NIGHT_START);
+        double nightCurve = CURVE.ticksBetween(Time.NIGHT_START, Time.DAY_LENGTH);
+
+        // Unscaled as well as scaled: seasons rebalance both
+        for (double[] speeds : new double[][] {{1.0, 1.0}, {1.5, 0.75}}) {
+            double[] daySpeeds = new double[seasons.getCycleDays()];
+            double[] nightSpeeds = new double[seasons.getCycleDays()];
+            seasons.fillSpeeds(speeds[0], speeds[1], daySpeeds, nightSpeeds);
+
+            int days = 10;
+            double ticks = 0;
+            for (int day = 0; day < days; day++) {
+                int cycleDay = seasons.dayInCycle(day);
+                ticks += dayCurve / daySpeeds[cycleDay] + nightCurve / nightSpeeds[cycleDay];
+            }
+
+            TimeEngine bulk = curveEngine(speeds, seasons);
+            bulk.advance(ticks);
+            assertEquals(days * Time.DAY_LENGTH, bulk.getAccumulatedTime(), 1e-6);
+
+            TimeEngine stepped = curveEngine(speeds, seasons);
+            for (double done = 0; done < ticks; done += 4) {
+                stepped.advance(Math.min(4, ticks - done));
+            }
+            assertEquals(bulk.getAccumulatedTime(), stepped.getAccumulatedTime(), 1e-6);
+        }
+    }
+
+    private static TimeEngine curveEngine(double[] speeds, SeasonCycle seasons) {
+        TimeEngine engine = new TimeEngine(0, speeds[0], speeds[1]);
+        engine.setCurve(CURVE);
+        engine.setSeasons(seasons);
+        return engine;
+    }
+}
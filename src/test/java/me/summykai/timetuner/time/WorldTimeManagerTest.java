@@ -0,0 +1,145 @@
+package me.summykai.timetuner.time;
+
+import me.summykai.timetuner.TestServer;
+import me.summykai.timetuner.api.SpeedModifier;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class WorldTimeManagerTest {
+    private static final double[] SPEED_CHOICES = {0.25, 0.5, 1.0, 1.5, 2.0, 3.0};
+
+    @Test
+    void advancesByConfiguredSpeedsAndWritesOnlyWhenTheTickChanges() {
+        TestServer server = new TestServer();
+        World half = server.addWorld("half", 0, 0.5, 0.5);
+        World twice = server.addWorld("twice", 0, 2.0, 2.0);
+
+        server.tick(1000);
+
+        assertEquals(500, server.getFullTime(half));
+        assertEquals(500, server.getWrites(half)); // Every other update leaves the integer tick unchanged
+        assertEquals(2000, server.getFullTime(twice));
+        assertEquals(1000, server.getWrites(twice));
+        assertEquals(500, server.getManager(half).getTimeWrites());
+    }
+
+    @Test
+    void tickFrequencyBatchesUpdatesWithoutLosingTime() {
+        TestServer server = new TestServer();
+        server.setTickFrequency(5);
+        World world = server.addWorld("world", 100, 1.0, 1.0);
+
+        server.tick(1000);
+
+        assertEquals(1100, server.getFullTime(world));
+        assertEquals(200, server.getWrites(world));
+    }
+
+    @Test
+    void splitsStepsAtPhaseBoundaries() {
+        TestServer server = new TestServer();
+        server.setTickFrequency(4);
+        World world = server.addWorld("world", 11_000, 0.5, 2.0);
+
+        // 2000 ticks of day at 0.5 reach nightfall, the remaining 1000 run at night at 2.0
+        server.tick(3000);
+
+        assertEquals(14_000, server.getFullTime(world));
+    }
+
+    @Test
+    void manyWorldsMatchTheExactTimeForTheirSpeeds() {
+        TestServer server = new TestServer();
+        server.setTickFrequency(4);
+        SplittableRandom random = new SplittableRandom(42);
+        int worldCount = 12;
+        long ticks = 30_000;
+        World[] worlds = new World[worldCount];
+        double[][] speeds = new double[worldCount][];
+        long[] starts = new long[worldCount];
+        for (int i = 0; i < worldCount; i++) {
+            speeds[i] = new double[] {
+                SPEED_CHOICES[random.nextInt(SPEED_CHOICES.length)],
+                SPEED_CHOICES[random.nextInt(SPEED_CHOICES.length)]
+            };
+            starts[i] = random.nextLong(Time.DAY_LENGTH);
+            worlds[i] = server.addWorld("world" + i, starts[i], speeds[i][0], speeds[i][1]);
+        }
+
+        server.tick(ticks);
+
+        for (int i = 0; i < worldCount; i++) {
+            double expected = TimeEngine.timeAfter(starts[i], speeds[i][0], speeds[i][1], ticks);
+            long actual = server.getFullTime(worlds[i]);
+            assertTrue(Math.abs(actual - expected) < 1.0,
+                "world" + i + " at " + actual + ", expected " + expected);
+            assertTrue(server.getWrites(worlds[i]) <= ticks / 4, "at most one write per update");
+        }
+    }
+
+    @Test
+    void rebasesKeepTheTimeOfDayAndTheDayCounter() {
+        TestServer server = new TestServer();
+        server.setOverflow(OverflowStrategy.MOON_CYCLE, 2 * TimeAdjuster.MOON_CYCLE);
+        World world = server.addWorld("world", 2 * TimeAdjuster.MOON_CYCLE - 10, 1.0, 1.0);
+
+        server.tick(20);
+
+        assertEquals(10, server.getFullTime(world));
+        assertEquals(16, server.getManager(world).getDay());
+        assertEquals(16, server.getManager(world).getDayOffset());
+    }
+
+    @Test
+    void overflowingModifiersStopTheClockInsteadOfJumpingPhases() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", 1_000, 1.0, 1.0);
+        WorldTimeManager manager = server.getManager(world);
+
+        // Two huge factors overflow to infinity, and the zero after them makes it NaN
+        manager.addModifier(SpeedModifier.multiply("boost", 0, Double.MAX_VALUE, 1.0, SpeedModifier.PERMANENT));
+        manager.addModifier(SpeedModifier.multiply("boost-again", 1, Double.MAX_VALUE, 1.0, SpeedModifier.PERMANENT));
+        manager.addModifier(SpeedModifier.multiply("stop", 2, 0.0, 1.0, SpeedModifier.PERMANENT));
+        server.tick(10);
+
+        assertEquals(0.0, manager.getDaySpeed());
+        assertEquals(1_000, server.getFullTime(world));
+    }
+
+    @Test
+    void realTimeStepsBackWhenDaylightSavingEnds() {
+        TestServer server = new TestServer();
+        World world = server.addWorld("world", 12_000, 1.0, 1.0);
+        WorldTimeManager manager = server.getManager(world);
+        long fallBack = Instant.parse("2026-11-01T06:00:00Z").toEpochMilli(); // 02:00 EDT becomes 01:00 EST
+        AtomicLong clock = new AtomicLong(fallBack - 36_000); // 01:59:24 EDT
+        manager.setWallClock(clock::get);
+        manager.setRealTimeZone(ZoneId.of("America/New_York"));
+
+        server.tick(1);
+        assertEquals(19_990, server.getFullTime(world)); // 06:00 is tick 0, so 01:59:24 is tick 19 990
+
+        clearInvocations(server.getPlugin().getServer().getPluginManager());
+        clock.set(fallBack);
+        server.tick(1);
+
+        assertEquals(19_000, server.getFullTime(world)); // Back an hour, not 23 hours ahead
+        verify(server.getPlugin().getServer().getPluginManager(), never()).callEvent(any());
+
+        clock.addAndGet(3_600);
+        server.tick(1);
+        assertEquals(19_001, server.getFullTime(world));
+    }
+}